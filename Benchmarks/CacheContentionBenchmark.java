@@ -0,0 +1,86 @@
+package RegexApplication.Benchmarks;
+
+import RegexApplication.src.ValidationCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of ValidationCache hits when every core looks up the same few hot
+ * keys, all in one shard. Lookups take no lock, so the total should grow with
+ * the thread count instead of flattening where a shared lock would serialize
+ * them. Run with -t 1 and then the default to compare.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(Threads.MAX)
+@Fork(1)
+public class CacheContentionBenchmark {
+
+    /** The hot keys. */
+    private static final String[] KEYS = {
+        "dustin.ray@uw.edu", "a@b.cd", "x@y.zz", "someone@example.com"
+    };
+
+    /** The shared cache, small enough to be a single shard. */
+    private ValidationCache myCache;
+
+    /** Fills the cache with the hot keys. */
+    @Setup
+    public void setUp() {
+        myCache = new ValidationCache(64);
+        for (String key : KEYS) {
+            myCache.put(key, true);
+        }
+    }
+
+    /** Per thread position in KEYS. */
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        /** Index of the next key. */
+        private int myNext;
+
+        /** @return the next hot key. */
+        String next() {
+            final String key = KEYS[myNext];
+            myNext = (myNext + 1) & (KEYS.length - 1);
+            return key;
+        }
+    }
+
+    /**
+     * Looks up the next hot key.
+     * @param theCursor this thread's position in the keys.
+     * @return the cached result, returned so JMH keeps the call alive.
+     */
+    @Benchmark
+    public int hit(final Cursor theCursor) {
+        return myCache.lookup(theCursor.next());
+    }
+
+    /** Runs this benchmark. */
+    public static void main(final String[] theArgs) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CacheContentionBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,118 @@
+package RegexApplication.Benchmarks;
+
+import RegexApplication.src.CandidateLocator;
+import RegexApplication.src.ChannelWriter;
+import RegexApplication.src.PiiScanner;
+import RegexApplication.src.ScalarCandidateLocator;
+import RegexApplication.src.VectorCandidateLocator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scalar against vector CandidateLocator, over 16 MB of log lines with a
+ * time stamp, short ids or a value on most lines: locating every window
+ * alone, and a whole PiiScanner scan of the same text as a file.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class CandidateLocatorBenchmark {
+
+    /** Size of the text, in bytes. */
+    private static final int SIZE = 16 << 20;
+
+    /** Lines the text is made of. */
+    private static final String[] LINES = {
+        "INFO  request served from cache, no upstream call was made\n",
+        "WARN  slow response for customer record, retrying with backup host\n",
+        "INFO  user updated profile settings and notification preferences\n",
+        "DEBUG session renewed for account holder, phone (253)555-1212 on file\n",
+        "ERROR payment declined for order, see billing team@accounts.example.museum\n",
+        "2021-07-14 12:00:01 INFO  batch 4711 of 09-22-1992 settled, $1,000.00 paid in 3 parts\n",
+        "2021-07-14 12:00:02 DEBUG worker 12 took 35 ms for request 881, queue 2\n"};
+
+    /** Which locator to use. */
+    @Param({"scalar", "vector"})
+    public String myLocatorName;
+
+    /** The locator selected by myLocatorName. */
+    private CandidateLocator myLocator;
+
+    /** The text, in direct memory as a mapped file would be. */
+    private ByteBuffer myText;
+
+    /** The text as a file. */
+    private Path myFile;
+
+    /** Builds the text and picks the locator. */
+    @Setup
+    public void setUp() throws IOException {
+        myLocator = myLocatorName.equals("vector") ? new VectorCandidateLocator() : new ScalarCandidateLocator();
+        final Random random = new Random(25);
+        final StringBuilder text = new StringBuilder(SIZE + 100);
+        while (text.length() < SIZE) {
+            text.append(LINES[random.nextInt(LINES.length)]);
+        }
+        final byte[] bytes = text.toString().getBytes(StandardCharsets.US_ASCII);
+        myText = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+        myFile = Files.createTempFile("candidates", ".log");
+        Files.write(myFile, bytes);
+    }
+
+    /** Deletes the text file. */
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(myFile);
+    }
+
+    /**
+     * Finds every window of the text.
+     * @return the number found, returned so JMH keeps the calls alive.
+     */
+    @Benchmark
+    public int locate() {
+        final int length = myText.capacity();
+        int count = 0;
+        long window = myLocator.next(myText, 0, length);
+        while (window != CandidateLocator.NONE) {
+            count++;
+            window = myLocator.next(myText, CandidateLocator.end(window), length);
+        }
+        return count;
+    }
+
+    /**
+     * Scans the text file for personal data, discarding the findings.
+     * @return the number of findings.
+     */
+    @Benchmark
+    public long scan() throws IOException {
+        final ChannelWriter discard = new ChannelWriter(Channels.newChannel(OutputStream.nullOutputStream()));
+        return new PiiScanner(myLocator).scan(myFile, discard);
+    }
+}
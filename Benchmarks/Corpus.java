@@ -0,0 +1,139 @@
+package RegexApplication.Benchmarks;
+
+import RegexApplication.src.ValidatorType;
+
+/**
+ * Benchmark inputs for each validator, in three flavours:
+ *      VALID       - well formed values as they appear in real feeds
+ *      NEAR_MISS   - values that fail late, after most of the input has been read
+ *      ADVERSARIAL - long inputs built to make a backtracking engine work hard
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public enum Corpus {
+
+    VALID,
+    NEAR_MISS,
+    ADVERSARIAL;
+
+    /** Length of the repeated part of an adversarial input. */
+    private static final int ADVERSARIAL_LENGTH = 28;
+
+    /**
+     * @param theType the validator being measured.
+     * @return the inputs of this flavour for theType.
+     */
+    public String[] inputs(final ValidatorType theType) {
+        return switch (this) {
+            case VALID -> valid(theType);
+            case NEAR_MISS -> nearMiss(theType);
+            case ADVERSARIAL -> adversarial(theType, ADVERSARIAL_LENGTH);
+        };
+    }
+
+    /** @return well formed values for theType. */
+    private static String[] valid(final ValidatorType theType) {
+        return switch (theType) {
+            case SOCIAL_SECURITY_NUMBER -> new String[] {
+                    "555-55-5555", "123456789", "078-05-1120", "219 09 9999", "457-55-5462"};
+            case US_PHONE_NUMBER -> new String[] {
+                    "(234)5555555", "(253)555-1212", "(206)-555-0100", "425-555-0199", "3605550123"};
+            case EMAIL_ADDRESS -> new String[] {
+                    "a@a.com", "dustin.ray@example.edu", "first-last@mail.example.org",
+                    "support@company.co", "billing.team@accounts.example.museum"};
+            case LAST_NAME_FIRST_NAME_MIDDLE_INITIAL -> new String[] {
+                    "Smith, John", "o'malley-Smith, Jones", "Smith, Jones J.", "Smith, Jones J. R.",
+                    "Müller, Jürgen K"};
+            case MM_DD_YYYY -> new String[] {
+                    "09-22-1992", "02-29-2016", "12-31-1999", "01-01-2000", "07-04-1776"};
+            case HOUSE_ADDRESS -> new String[] {
+                    "123 StreetName blvd", "4500 Pacific ave", "101 Main st", "9876 Broadway street",
+                    "1600 Pennsylvania avenue"};
+            case CITY_STATE_ZIP -> new String[] {
+                    "Lakewood, WA 98498", "Seattle, WA 98101-1234", "New York, NY 10001",
+                    "Tacoma, WA 98402", "Portland, OR 97201"};
+            case MILITARY_TIME_WITH_SECONDS -> new String[] {
+                    "23:23:23", "00:00:00", "01:01:01", "9:30", "17.45.10"};
+            case US_CURRENCY_TO_PENNY -> new String[] {
+                    "$123,456,789.23", "$123,456,789", "$0.00", "$1000", "$5,000.99"};
+            case URL_WITH_HTTP -> new String[] {
+                    "https://www.a.com", "HTTP://www.a.co.za", "http://example.org:8080/path",
+                    "https://docs.example.com/guide/index.html", "ftp://files.example.net"};
+            case PASSWORD -> new String[] {
+                    "48as4tAaa1!", "48as4tA1!!!", "48as4tAa1!48as4tAa1!", "9Xy!pQ2#rT", "1Password!"};
+            case ODD_CHARACTERS_ENDING_ION -> new String[] {
+                    "ion", "llion", "imagination", "information", "celebration"};
+        };
+    }
+
+    /** @return values for theType that fail near the end. */
+    private static String[] nearMiss(final ValidatorType theType) {
+        return switch (theType) {
+            case SOCIAL_SECURITY_NUMBER -> new String[] {
+                    "555-55-555", "555-55-0000", "666-55-5555", "555-55-5555A", "555--55-5555"};
+            case US_PHONE_NUMBER -> new String[] {
+                    "(234)555555", "(199)5555555", "(234)555A5555", "234-555-55555", "(234)555 555"};
+            case EMAIL_ADDRESS -> new String[] {
+                    "a@a.3", "dustin.ray@example", "first..last@example.org", "support@company.c",
+                    "billing@accounts.example.technology"};
+            case LAST_NAME_FIRST_NAME_MIDDLE_INITIAL -> new String[] {
+                    "o'malley, Smith-Jones", "Smith, Jones J. R", "Smith, John Jones", "Smith. Jones J.",
+                    "Smith Smith Smith"};
+            case MM_DD_YYYY -> new String[] {
+                    "09-31-2016", "02-29-2017", "13-01-2000", "01-00-2016", "01-01-200"};
+            case HOUSE_ADDRESS -> new String[] {
+                    "123 StreetName street, lakewood WA 98498", "streetName street", "12 Main st",
+                    "123 Main", "123 Main st, apt 12"};
+            case CITY_STATE_ZIP -> new String[] {
+                    "Lakewood, ZZ 98498", "Lakewood, WA", "Lakewood, WA, 98498",
+                    "Lakewood, Washington 98498", "Seattle, WA 98101-12"};
+            case MILITARY_TIME_WITH_SECONDS -> new String[] {
+                    "24:00:00", "23:60:00", "00:00", "1:1:1", "12:30:6"};
+            case US_CURRENCY_TO_PENNY -> new String[] {
+                    "-$123,456,789.00", "$-123,456,789", "123,456,789.00", "$1,2345", "$12,345,6"};
+            case URL_WITH_HTTP -> new String[] {
+                    "https://www.a.", "HTTPS:/www.a.com", "HTTPS//www.0.com", "https:www.0.com",
+                    "http://example.c"};
+            case PASSWORD -> new String[] {
+                    "8as4tAa1!", "48as4tAaaa1!", "48as4tAa1", "48as4tAa1a", "48AS4TAA1!"};
+            case ODD_CHARACTERS_ENDING_ION -> new String[] {
+                    "ionn", "lion", "imagiation", "ionion", "informations"};
+        };
+    }
+
+    /**
+     * @param theType the validator being measured.
+     * @param theLength length of the repeated part of each input.
+     * @return long inputs for theType that force heavy backtracking.
+     */
+    public static String[] adversarial(final ValidatorType theType, final int theLength) {
+        return switch (theType) {
+            case SOCIAL_SECURITY_NUMBER -> new String[] {
+                    "5".repeat(theLength), "555-55-" + "5".repeat(theLength)};
+            case US_PHONE_NUMBER -> new String[] {
+                    "(" + "2".repeat(theLength), "234-555-" + "5".repeat(theLength)};
+            case EMAIL_ADDRESS -> new String[] {
+                    "a".repeat(theLength) + "!", "a@" + "a.".repeat(theLength) + "!"};
+            case LAST_NAME_FIRST_NAME_MIDDLE_INITIAL -> new String[] {
+                    "Smith, " + "a".repeat(theLength) + "1",
+                    "Smith, John" + " J".repeat(theLength) + "."};
+            case MM_DD_YYYY -> new String[] {
+                    "09-22-" + "1".repeat(theLength), "0".repeat(theLength)};
+            case HOUSE_ADDRESS -> new String[] {
+                    "1".repeat(theLength) + " a", "123 " + "a".repeat(theLength) + " 1"};
+            case CITY_STATE_ZIP -> new String[] {
+                    "a ".repeat(theLength) + "!", "Lakewood" + " a".repeat(theLength) + ", WA"};
+            case MILITARY_TIME_WITH_SECONDS -> new String[] {
+                    "0".repeat(theLength), "1:" + "5".repeat(theLength)};
+            case US_CURRENCY_TO_PENNY -> new String[] {
+                    "$" + "123,".repeat(theLength) + "!", "$" + "1".repeat(theLength) + ",0"};
+            case URL_WITH_HTTP -> new String[] {
+                    "http://" + "a.".repeat(theLength) + "!",
+                    "http://www.a.com" + "/a".repeat(theLength) + " "};
+            case PASSWORD -> new String[] {
+                    "1" + "ab".repeat(theLength * 4), "1A!" + "abc".repeat(theLength) + "zzz"};
+            case ODD_CHARACTERS_ENDING_ION -> new String[] {
+                    "x".repeat(theLength * 10) + "io", "x".repeat(theLength * 10 + 1) + "ion"};
+        };
+    }
+}
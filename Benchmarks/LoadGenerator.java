@@ -0,0 +1,170 @@
+package RegexApplication.Benchmarks;
+
+import RegexApplication.src.ValidationServer;
+import RegexApplication.src.ValidatorType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Load generator for ValidationServer. Opens the given number of connections,
+ * waits until all of them are up, then has every connection send requests back
+ * to back for the given time, each request waiting for its reply. Requests are
+ * either single values or, with a batch size above 1, BATCH requests; values
+ * are taken from Corpus.VALID and Corpus.NEAR_MISS for all twelve validators.
+ *
+ * Usage: LoadGenerator [connections] [seconds] [batch size] [host:port]
+ * Without host:port a server is started in this process on a free port.
+ * Prints values and requests per second, with request latency percentiles.
+ *
+ * Tens of thousands of connections need a matching open file limit
+ * (ulimit -n) for both processes. The client side blocks a thread per
+ * connection, so on a JDK without virtual threads it is the client, not a
+ * server using its selector loops, that runs out of threads first.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class LoadGenerator {
+
+    /** Latencies kept per connection for the percentiles. */
+    private static final int SAMPLES_PER_CONNECTION = 4096;
+
+    /** Static entry point only. */
+    private LoadGenerator() {}
+
+    /**
+     * Runs the load test.
+     * @param theArgs connections, seconds, batch size and host:port, all optional.
+     */
+    public static void main(final String[] theArgs) throws IOException, InterruptedException {
+        final int connections = theArgs.length > 0 ? Integer.parseInt(theArgs[0]) : 1000;
+        final int seconds = theArgs.length > 1 ? Integer.parseInt(theArgs[1]) : 10;
+        final int batch = theArgs.length > 2 ? Integer.parseInt(theArgs[2]) : 1;
+        ValidationServer server = null;
+        final InetSocketAddress address;
+        if (theArgs.length > 3) {
+            final int colon = theArgs[3].lastIndexOf(':');
+            address = new InetSocketAddress(theArgs[3].substring(0, colon),
+                    Integer.parseInt(theArgs[3].substring(colon + 1)));
+        } else {
+            server = new ValidationServer(0);
+            address = new InetSocketAddress("localhost", server.getPort());
+        }
+
+        final byte[][] requests = requests(batch);
+        final CountDownLatch connected = new CountDownLatch(connections);
+        final CountDownLatch go = new CountDownLatch(1);
+        final AtomicLong deadline = new AtomicLong();
+        final LongAdder requestCount = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final long[][] latencies = new long[connections][];
+        final ExecutorService executor = ValidationServer.newConnectionExecutor();
+        for (int c = 0; c < connections; c++) {
+            final int id = c;
+            executor.execute(() -> {
+                final long[] samples = new long[SAMPLES_PER_CONNECTION];
+                int sampled = 0;
+                try (Socket socket = new Socket()) {
+                    socket.connect(address);
+                    socket.setTcpNoDelay(true);
+                    final OutputStream out = new BufferedOutputStream(socket.getOutputStream());
+                    final InputStream in = new BufferedInputStream(socket.getInputStream());
+                    connected.countDown();
+                    go.await();
+                    int next = id % requests.length;
+                    long count = 0;
+                    while (System.nanoTime() < deadline.get()) {
+                        final long start = System.nanoTime();
+                        out.write(requests[next]);
+                        out.flush();
+                        awaitReply(in);
+                        samples[sampled++ % SAMPLES_PER_CONNECTION] = System.nanoTime() - start;
+                        next = next + 1 == requests.length ? 0 : next + 1;
+                        count++;
+                    }
+                    requestCount.add(count);
+                } catch (IOException e) {
+                    failures.increment();
+                    connected.countDown();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                latencies[id] = Arrays.copyOf(samples, Math.min(sampled, SAMPLES_PER_CONNECTION));
+            });
+        }
+        connected.await();
+        if (server != null) {
+            System.out.println("Server connections open: " + server.getConnections()
+                    + (server.isSelector() ? " (selector loops)" : " (thread per connection)"));
+        }
+        deadline.set(System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds));
+        go.countDown();
+        executor.shutdown();
+        executor.awaitTermination(seconds + 60L, TimeUnit.SECONDS);
+
+        final long total = requestCount.sum();
+        System.out.println("Connections: " + connections + " (" + failures.sum() + " failed)");
+        System.out.println("Batch size: " + batch);
+        System.out.println("Requests per second: " + total / seconds);
+        System.out.println("Values per second: " + total * batch / seconds);
+        final long[] all = Arrays.stream(latencies).filter(a -> a != null).flatMapToLong(Arrays::stream).sorted()
+                .toArray();
+        if (all.length > 0) {
+            System.out.println("Latency us p50: " + all[all.length / 2] / 1000
+                    + " p99: " + all[(int) (all.length * 0.99)] / 1000
+                    + " p99.9: " + all[(int) (all.length * 0.999)] / 1000
+                    + " max: " + all[all.length - 1] / 1000);
+        }
+        if (server != null) {
+            server.close();
+        }
+    }
+
+    /**
+     * Builds the requests sent in turn, each as the bytes to write.
+     * @param theBatch values per request; 1 for single value requests.
+     * @return the requests.
+     */
+    private static byte[][] requests(final int theBatch) {
+        final StringBuilder values = new StringBuilder();
+        final ValidatorType[] types = ValidatorType.values();
+        final byte[][] requests = new byte[types.length * 2][];
+        for (int r = 0; r < requests.length; r++) {
+            final ValidatorType type = types[r % types.length];
+            final String[] inputs = (r < types.length ? Corpus.VALID : Corpus.NEAR_MISS).inputs(type);
+            values.setLength(0);
+            if (theBatch == 1) {
+                values.append(type.getOption()).append(' ').append(inputs[r % inputs.length]).append('\n');
+            } else {
+                values.append("BATCH ").append(type.getOption()).append(' ').append(theBatch).append('\n');
+                for (int i = 0; i < theBatch; i++) {
+                    values.append(inputs[i % inputs.length]).append('\n');
+                }
+            }
+            requests[r] = values.toString().getBytes(StandardCharsets.UTF_8);
+        }
+        return requests;
+    }
+
+    /** Reads one reply line. */
+    private static void awaitReply(final InputStream theIn) throws IOException {
+        int b;
+        while ((b = theIn.read()) != '\n') {
+            if (b < 0) {
+                throw new IOException("Server closed the connection");
+            }
+        }
+    }
+}
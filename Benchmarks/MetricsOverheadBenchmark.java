@@ -0,0 +1,121 @@
+package RegexApplication.Benchmarks;
+
+import RegexApplication.src.ValidatorMetrics;
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileNotFoundException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of ValidatorMetrics: Validators.validate with metrics off and on, over the
+ * valid and near miss inputs of a scanner validator, the linear time engine
+ * and a java.util.regex validator.
+ * main runs the benchmark and checks that turning metrics on adds no more
+ * than BUDGET_NANOS per call to any validator, exiting with status 1 if it
+ * does, so the check can gate a build.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    /** Most time metrics may add to one call, in nanoseconds. */
+    public static final double BUDGET_NANOS = 50;
+
+    /** Option letter of the validator to measure. */
+    @Param({"A", "C", "I"})
+    public String myOption;
+
+    /** Whether metrics are recorded. */
+    @Param({"off", "on"})
+    public String myMetrics;
+
+    /** The validator selected by myOption. */
+    private ValidatorType myType;
+
+    /** Inputs cycled through, one per call. */
+    private String[] myInputs;
+
+    /** Index of the next input. */
+    private int myNext;
+
+    /** Resolves the validator, builds its inputs and turns metrics on or off. */
+    @Setup
+    public void setUp() {
+        myType = ValidatorType.forOption(myOption);
+        final String[] valid = Corpus.VALID.inputs(myType);
+        final String[] nearMiss = Corpus.NEAR_MISS.inputs(myType);
+        myInputs = Arrays.copyOf(valid, valid.length + nearMiss.length);
+        System.arraycopy(nearMiss, 0, myInputs, valid.length, nearMiss.length);
+        if (myMetrics.equals("on")) {
+            ValidatorMetrics.enable();
+        } else {
+            ValidatorMetrics.disable();
+        }
+    }
+
+    /** Turns metrics off for the next trial. */
+    @TearDown
+    public void tearDown() {
+        ValidatorMetrics.disable();
+    }
+
+    /**
+     * Validates the next input.
+     * @return the result, returned so JMH keeps the call alive.
+     */
+    @Benchmark
+    public boolean validate() throws FileNotFoundException {
+        final String input = myInputs[myNext];
+        myNext = myNext + 1 == myInputs.length ? 0 : myNext + 1;
+        return Validators.validate(myType, input);
+    }
+
+    /** Runs this benchmark and checks the overhead against BUDGET_NANOS. */
+    public static void main(final String[] theArgs) throws RunnerException {
+        final Map<String, Double> off = new HashMap<>();
+        final Map<String, Double> on = new HashMap<>();
+        for (RunResult result : new Runner(new OptionsBuilder()
+                .include(MetricsOverheadBenchmark.class.getSimpleName())
+                .build()).run()) {
+            final String option = result.getParams().getParam("myOption");
+            final double score = result.getPrimaryResult().getScore();
+            (result.getParams().getParam("myMetrics").equals("on") ? on : off).put(option, score);
+        }
+        boolean withinBudget = true;
+        for (Map.Entry<String, Double> entry : on.entrySet()) {
+            final double overhead = entry.getValue() - off.getOrDefault(entry.getKey(), entry.getValue());
+            System.out.printf("%s: metrics add %.1f ns per call%n", entry.getKey(), overhead);
+            withinBudget &= overhead <= BUDGET_NANOS;
+        }
+        if (!withinBudget) {
+            System.out.println("Metrics overhead is over the budget of " + BUDGET_NANOS + " ns per call");
+            System.exit(1);
+        }
+    }
+}
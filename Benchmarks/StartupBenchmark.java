@@ -0,0 +1,67 @@
+package RegexApplication.Benchmarks;
+
+import RegexApplication.src.DfaTables;
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first validation: one call to every validator in a fresh JVM, as a
+ * short batch job makes it, with the DfaTables automata on and off. Each fork
+ * measures one cold call, so the score is the cost of loading the tables or
+ * compiling the expressions plus the first match.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(30)
+public class StartupBenchmark {
+
+    /** Whether the prebuilt automata are used. */
+    @Param({"on", "off"})
+    public String myTables;
+
+    /** One valid input per validator, by ordinal. */
+    private String[] myInputs;
+
+    /** Turns the tables on or off before any validator is loaded. */
+    @Setup
+    public void setUp() {
+        System.setProperty(DfaTables.ENABLE_PROPERTY, String.valueOf(myTables.equals("on")));
+        myInputs = new String[] {"555-55-5555", "(253)555-1212", "dustin.ray@example.edu", "Smith, Jones J.",
+            "09-22-1992", "1600 Pennsylvania avenue", "Seattle, WA 98101-1234", "23:23:23",
+            "$123,456,789.23", "http://example.org:8080/path", "1Password!", "imagination"};
+    }
+
+    /**
+     * Validates one input of every validator.
+     * @return the number that passed, returned so JMH keeps the calls alive.
+     */
+    @Benchmark
+    public int firstValidation() throws FileNotFoundException {
+        int passed = 0;
+        for (ValidatorType type : ValidatorType.values()) {
+            if (Validators.validate(type, myInputs[type.ordinal()])) {
+                passed++;
+            }
+        }
+        return passed;
+    }
+}
@@ -0,0 +1,94 @@
+package RegexApplication.Benchmarks;
+
+import RegexApplication.src.ValidatorType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tail latency of the backtracking prone validators, C, D and J, on adversarial
+ * input of growing length, with java.util.regex against the linear time
+ * engine. Sample time mode reports the p50, p99 and p99.9 latencies per call;
+ * the backtracking figures grow with the length of the input much faster than
+ * the linear ones, which grow in proportion to it. Lengths stop at 256
+ * because java.util.regex overflows the stack on the longer J inputs.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TailLatencyBenchmark {
+
+    /** Option letter of the validator to measure. */
+    @Param({"C", "D", "J"})
+    public String myOption;
+
+    /** Length of the repeated part of each adversarial input. */
+    @Param({"16", "64", "256"})
+    public int myLength;
+
+    /** The validator selected by myOption. */
+    private ValidatorType myType;
+
+    /** Inputs cycled through, one per call. */
+    private String[] myInputs;
+
+    /** Index of the next input. */
+    private int myNext;
+
+    /** Resolves the validator and builds its inputs. */
+    @Setup
+    public void setUp() {
+        myType = ValidatorType.forOption(myOption);
+        myInputs = Corpus.adversarial(myType, myLength);
+    }
+
+    /** @return the next input of the corpus. */
+    private String next() {
+        final String input = myInputs[myNext];
+        myNext = myNext + 1 == myInputs.length ? 0 : myNext + 1;
+        return input;
+    }
+
+    /**
+     * Matches the next input with java.util.regex.
+     * @return the result, returned so JMH keeps the call alive.
+     */
+    @Benchmark
+    public boolean backtracking() {
+        return myType.getPattern().matcher(next()).matches();
+    }
+
+    /**
+     * Matches the next input with the linear time engine.
+     * @return the result, returned so JMH keeps the call alive.
+     */
+    @Benchmark
+    public boolean linear() {
+        return myType.getBoundedPattern().matches(next());
+    }
+
+    /** Runs this benchmark. */
+    public static void main(final String[] theArgs) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TailLatencyBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,92 @@
+package RegexApplication.Benchmarks;
+
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * JMH benchmark of the twelve validators. Each option A through L is measured
+ * against each Corpus flavour, reporting throughput and average time per call.
+ * Run main to add the GC profiler, which reports the allocation rate per call
+ * (gc.alloc.rate.norm) alongside the timings.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+@State(Scope.Thread)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    /** Option letter of the validator to measure. */
+    @Param({"A", "B", "C", "D", "E", "F", "G", "H", "I", "J", "K", "L"})
+    public String myOption;
+
+    /** Which inputs to feed it. */
+    @Param({"VALID", "NEAR_MISS", "ADVERSARIAL"})
+    public Corpus myCorpus;
+
+    /** The validator selected by myOption. */
+    private ValidatorType myType;
+
+    /** Inputs cycled through, one per call. */
+    private String[] myInputs;
+
+    /** Index of the next input. */
+    private int myNext;
+
+    /** Resolves the validator and its inputs, and loads the area code table. */
+    @Setup
+    public void setUp() throws FileNotFoundException {
+        myType = ValidatorType.forOption(myOption);
+        myInputs = myCorpus.inputs(myType);
+        for (String input : myInputs) {
+            Validators.validate(myType, input);
+        }
+    }
+
+    /**
+     * Validates the next input of the corpus.
+     * @return the result, returned so JMH keeps the call alive.
+     */
+    @Benchmark
+    public boolean validate() throws FileNotFoundException {
+        final String input = myInputs[myNext];
+        myNext = myNext + 1 == myInputs.length ? 0 : myNext + 1;
+        return Validators.validate(myType, input);
+    }
+
+    /**
+     * Runs every benchmark in this package with the GC profiler attached. A
+     * first argument replaces the package with its own include filter, a
+     * regular expression matched against the benchmark names, e.g.
+     * "ValidatorBenchmark" for this class alone.
+     */
+    public static void main(final String[] theArgs) throws RunnerException {
+        final String everything = Pattern.quote(ValidatorBenchmark.class.getPackageName() + ".");
+        new Runner(new OptionsBuilder()
+                .include(theArgs.length > 0 ? theArgs[0] : everything)
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,149 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.CandidateLocator;
+import RegexApplication.src.ChannelWriter;
+import RegexApplication.src.PiiScanner;
+import RegexApplication.src.ScalarCandidateLocator;
+import RegexApplication.src.VectorCandidateLocator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Tests for the CandidateLocators. Each must return exactly the windows of a
+ * plain reading of the rules in CandidateLocator, at any offset and with any
+ * tail, and PiiScanner must report the same findings with either. The vector
+ * tests are skipped, not passed, when the JVM lacks jdk.incubator.vector.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class CandidateLocatorTests {
+
+    /** Bytes random text is built from, weighted towards runs. */
+    private static final String ALPHABET = "0123456789012345678901234567890123456789()-,.$$   @:abcXYZ\n/é";
+
+    /** Fixed seed so failures can be reproduced. */
+    private final Random myRandom = new Random(25);
+
+    /** The scalar locator finds the windows the rules describe. */
+    @Test
+    public void testScalar() {
+        check(new ScalarCandidateLocator());
+    }
+
+    /** The vector locator finds the windows the rules describe. */
+    @Test
+    public void testVector() {
+        assumeTrue(vectorAvailable(), "jdk.incubator.vector is not in this JVM");
+        check(new VectorCandidateLocator());
+    }
+
+    /** Short runs, runs of separators and runs split by triggers are passed over. */
+    @Test
+    public void testRules() {
+        final CandidateLocator locator = new ScalarCandidateLocator();
+        assertEquals(CandidateLocator.NONE, next(locator, "at 12 00 01 id 4711 - (123) ok"));
+        assertEquals(CandidateLocator.window(2, 16), next(locator, "no 1234 5678, 9 x"));
+        assertEquals(CandidateLocator.window(4, 10), next(locator, "cost $1.50!"));
+        assertEquals(CandidateLocator.NONE, next(locator, "cost $ 1 and 1$"));
+        assertEquals(CandidateLocator.window(6, 7), next(locator, "a 1234@5678"));
+    }
+
+    /** PiiScanner finds the same values with either locator. */
+    @Test
+    public void testScan() throws IOException {
+        assumeTrue(vectorAvailable(), "jdk.incubator.vector is not in this JVM");
+        final String[] words = {"user", "login", "from", "(253)555-1212", "555-55-5555", "a@a.com",
+            "http://example.org:8080/path", "12:00:01", "id=4711", "$1,000.00", "09-22-1992", "ok", "\n"};
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            text.append(words[myRandom.nextInt(words.length)]).append(' ');
+        }
+        final Path input = Files.createTempFile("scan", ".txt");
+        try {
+            Files.writeString(input, text, StandardCharsets.US_ASCII);
+            final String scalar = scan(new PiiScanner(new ScalarCandidateLocator()), input);
+            assertEquals(scalar, scan(new PiiScanner(new VectorCandidateLocator()), input));
+            assertEquals(true, scalar.contains("\tE\t09-22-1992\n"));
+            assertEquals(true, scalar.contains("\tI\t$1,000.00\n"));
+        } finally {
+            Files.delete(input);
+        }
+    }
+
+    /** Checks every window theLocator returns over random heap and direct buffers. */
+    private void check(final CandidateLocator theLocator) {
+        for (int n = 0; n < 3_000; n++) {
+            final byte[] bytes = new byte[myRandom.nextInt(400)];
+            final int density = 1 + myRandom.nextInt(8);
+            for (int i = 0; i < bytes.length; i++) {
+                bytes[i] = myRandom.nextInt(density) == 0 ? (byte) ALPHABET.charAt(myRandom.nextInt(ALPHABET.length()))
+                        : (byte) "the quick brown fox".charAt(myRandom.nextInt(19));
+            }
+            final ByteBuffer heap = ByteBuffer.wrap(bytes);
+            final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+            final int from = bytes.length == 0 ? 0 : myRandom.nextInt(bytes.length);
+            final int to = from + myRandom.nextInt(bytes.length - from + 1);
+            for (int i = from; i <= to; ) {
+                final long expected = reference(bytes, i, to);
+                assertEquals(expected, theLocator.next(heap, i, to), "from " + i + " to " + to);
+                assertEquals(expected, theLocator.next(direct, i, to), "from " + i + " to " + to);
+                if (expected == CandidateLocator.NONE) {
+                    break;
+                }
+                i = CandidateLocator.end(expected);
+            }
+        }
+    }
+
+    /** The rules of CandidateLocator, read as plainly as possible. */
+    private static long reference(final byte[] theBytes, final int theFrom, final int theTo) {
+        int i = theFrom;
+        while (i < theTo) {
+            if (theBytes[i] == '@' || theBytes[i] == ':') {
+                return CandidateLocator.window(i, i + 1);
+            }
+            if (!CandidateLocator.isRunByte(theBytes[i])) {
+                i++;
+                continue;
+            }
+            final int start = i;
+            while (i < theTo && CandidateLocator.isRunByte(theBytes[i])) {
+                i++;
+            }
+            final String run = new String(theBytes, start, i - start, StandardCharsets.US_ASCII);
+            if (run.replaceAll("[^0-9]", "").length() >= CandidateLocator.MIN_DIGITS || run.matches(".*\\$[0-9].*")) {
+                return CandidateLocator.window(start, i);
+            }
+        }
+        return CandidateLocator.NONE;
+    }
+
+    /** @return the first window theLocator finds in theText. */
+    private static long next(final CandidateLocator theLocator, final String theText) {
+        final byte[] bytes = theText.getBytes(StandardCharsets.US_ASCII);
+        return theLocator.next(ByteBuffer.wrap(bytes), 0, bytes.length);
+    }
+
+    /** @return true if the Vector API can be used. */
+    private static boolean vectorAvailable() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+
+    /** Runs theScanner on theInput and returns its output. */
+    private static String scan(final PiiScanner theScanner, final Path theInput) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        theScanner.scan(theInput, new ChannelWriter(Channels.newChannel(bytes)));
+        return bytes.toString(StandardCharsets.US_ASCII);
+    }
+}
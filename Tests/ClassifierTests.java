@@ -0,0 +1,65 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.Classifier;
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.EnumSet;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for Classifier. Its answer must always equal trying every validator in turn.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class ClassifierTests {
+
+    /** Sample values of every type, plus a few that match more than one. */
+    private static final String[] SAMPLES = {
+            "555-55-5555", "555555555", "(234)555-5555", "2345555555", "a@a.com",
+            "Smith, Jones J. R.", "o'malley-Smith, Jones", "09-22-1992", "02-29-1900",
+            "123 StreetName blvd", "Lakewood, WA 98498", "Lake? wood, WA 98498", "23:23:23", "9:30",
+            "$123,456,789.23", "$1000", "https://www.a.com", "www.example.org", "48as4tAa1!",
+            "imagination", "a.b.com", "1.2.3.4", "1234567890", "12.34.56", "", " ", "ion", "Müller, Jürgen K"};
+
+    /**
+     * Brute force reference: every validator in turn.
+     * @param theInput the value to classify.
+     * @return the validators that accept theInput.
+     */
+    private static EnumSet<ValidatorType> everyValidator(final String theInput) throws FileNotFoundException {
+        final EnumSet<ValidatorType> types = EnumSet.noneOf(ValidatorType.class);
+        for (ValidatorType type : ValidatorType.values()) {
+            if (Validators.validate(type, theInput)) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    /** Classify agrees with trying every validator on the samples and on random edits of them. */
+    @Test
+    public void testClassifyMatchesEveryValidator() throws FileNotFoundException {
+        final Random random = new Random(2021);
+        final String alphabet = "0123456789-( ).,:@$'_?aZéion/";
+        for (String sample : SAMPLES) {
+            assertEquals(everyValidator(sample), Classifier.classify(sample), sample);
+            for (int n = 0; n < 2_000; n++) {
+                final StringBuilder input = new StringBuilder(sample);
+                final char c = alphabet.charAt(random.nextInt(alphabet.length()));
+                final int at = random.nextInt(input.length() + 1);
+                if (random.nextBoolean() || at == input.length()) {
+                    input.insert(at, c);
+                } else {
+                    input.setCharAt(at, c);
+                }
+                final String s = input.toString();
+                assertEquals(everyValidator(s), Classifier.classify(s), s);
+            }
+        }
+    }
+}
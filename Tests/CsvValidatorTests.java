@@ -0,0 +1,99 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.ChannelWriter;
+import RegexApplication.src.CsvValidator;
+import RegexApplication.src.ValidatorType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for CsvValidator.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class CsvValidatorTests {
+
+    /**
+     * Quoting, CRLF, blank lines, skipped and missing columns, and the header.
+     * Cells are reported by the line their record starts on, and the header is
+     * not counted as a row.
+     */
+    @Test
+    public void testCells() throws IOException {
+        final String csv = "ssn,note,time\r\n"
+                + "555-55-5555,\"a, \"\"quoted\"\"\r\nnote\",23:59:59\r\n"
+                + "\r\n"
+                + "666-55-5555,x,\"24:00:00\"\r\n"
+                + "457-55-5462\n"
+                + "123456789,,12:00:00";
+        final String report = run(csv, "A,-,H", 2, true);
+        assertTrue(report.startsWith("5\t1\tA\t666-55-5555\n"
+                + "5\t3\tH\t24:00:00\n"
+                + "6\t3\tH\t\n"
+                + "Rows: 4\nCells: 8\nRejected: 3\n"
+                + "Column 1 (A) rejected: 1 of 4\n"
+                + "Column 3 (H) rejected: 2 of 4\n"), report);
+    }
+
+    /** Column lists with unknown options or nothing to validate are refused. */
+    @Test
+    public void testParseColumns() {
+        assertEquals(3, CsvValidator.parseColumns("A,-,L").length);
+        assertNull(CsvValidator.parseColumns("A,Z"));
+        assertNull(CsvValidator.parseColumns("-,-"));
+    }
+
+    /** Results come out in file order across many batches and threads, and around oversized records. */
+    @Test
+    public void testBatches() throws IOException {
+        final StringBuilder csv = new StringBuilder();
+        final StringBuilder expected = new StringBuilder();
+        final int rows = 50_000;
+        for (int row = 1; row <= rows; row++) {
+            final boolean bad = row % 7 == 0;
+            csv.append(bad ? "000-12-3456" : "555-55-5555").append(",$").append(row).append(".00\n");
+            if (bad) {
+                expected.append(row + (row > 30_000 ? 1 : 0) + (row > 30_001 ? 1 : 0))
+                        .append("\t1\tA\t000-12-3456\n");
+            }
+            if (row == 30_000 || row == 30_001) {
+                csv.append("\"").append("x".repeat(row == 30_000 ? 900_000 : 400_000)).append("\",$1\n");
+            }
+        }
+        final String report = run(csv.toString(), "A,I", 4, false);
+        final String cells = report.substring(0, report.indexOf("Rows: "));
+        final String[] lines = cells.split("\n");
+        assertEquals(rows / 7 + 2, lines.length);
+        assertTrue(lines[30_000 / 7].startsWith("30001\t1\tA\txxx"), lines[30_000 / 7].substring(0, 20));
+        assertTrue(lines[30_000 / 7 + 1].startsWith("30003\t1\tA\txxx"), lines[30_000 / 7 + 1].substring(0, 20));
+        assertEquals(expected.toString(), cells.replaceAll("\\d+\t1\tA\tx+\n", ""));
+        assertTrue(report.contains("Rows: " + (rows + 2) + "\n"), report);
+    }
+
+    /** Runs the validator on theCsv and returns its report. */
+    private static String run(final String theCsv, final String theColumns, final int theThreads,
+                              final boolean theHeader) throws IOException {
+        final Path input = Files.createTempFile("csv", ".csv");
+        try {
+            Files.writeString(input, theCsv, StandardCharsets.UTF_8);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final ChannelWriter writer = new ChannelWriter(Channels.newChannel(bytes));
+            new CsvValidator(CsvValidator.parseColumns(theColumns), theThreads, theHeader, false)
+                    .run(input, writer);
+            writer.flush();
+            return bytes.toString(StandardCharsets.UTF_8);
+        } finally {
+            Files.delete(input);
+        }
+    }
+}
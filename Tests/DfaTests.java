@@ -0,0 +1,137 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.Dfa;
+import RegexApplication.src.DfaCompiler;
+import RegexApplication.src.DfaTables;
+import RegexApplication.src.ValidatorType;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for Dfa, DfaCompiler and DfaTables. Every table must give the same
+ * answer as java.util.regex for random mutations of valid input, line
+ * terminators and characters outside the BMP included.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class DfaTests {
+
+    /** Number of random strings tried per validator. */
+    private static final int SAMPLES = 50_000;
+
+    /** Characters mixed into every alphabet: line terminators, non ASCII, a surrogate pair half. */
+    private static final String EXTRA = "\n\r\u0085  .,-é😀";
+
+    /** Fixed seed so failures can be reproduced. */
+    private final Random myRandom = new Random(24);
+
+    /** Every table agrees with its expression. */
+    @Test
+    public void testDifferential() {
+        final String[][] seeds = {
+            {"(253)555-1212", "425-555-0199"},
+            {"dustin.ray@example.edu", "a@a.com"},
+            {"o'malley-Smith, Jones", "Smith, Jones J. R."},
+            {"09-22-1992", "02-29-2016"},
+            {"1600 Pennsylvania avenue", "123 StreetName blvd"},
+            {"Seattle, WA 98101-1234", "New York, NY 10001"},
+            {"23:23:23", "9:30"},
+            {"$123,456,789.23", "$0.00"},
+            {"http://example.org:8080/path", "HTTP://www.a.co.za"},
+            {"imagination", "ion"}};
+        final ValidatorType[] types = {ValidatorType.US_PHONE_NUMBER, ValidatorType.EMAIL_ADDRESS,
+            ValidatorType.LAST_NAME_FIRST_NAME_MIDDLE_INITIAL, ValidatorType.MM_DD_YYYY,
+            ValidatorType.HOUSE_ADDRESS, ValidatorType.CITY_STATE_ZIP, ValidatorType.MILITARY_TIME_WITH_SECONDS,
+            ValidatorType.US_CURRENCY_TO_PENNY, ValidatorType.URL_WITH_HTTP,
+            ValidatorType.ODD_CHARACTERS_ENDING_ION};
+        for (int t = 0; t < types.length; t++) {
+            final Dfa dfa = DfaCompiler.compile(types[t].getRegex(), DfaCompiler.MAX_STATES);
+            assertNotNull(dfa, types[t].toString());
+            final String alphabet = String.join("", seeds[t]) + EXTRA;
+            for (String seed : seeds[t]) {
+                agree(types[t], dfa, seed);
+                agree(types[t], dfa, seed + "\n");
+            }
+            for (int n = 0; n < SAMPLES; n++) {
+                final StringBuilder input = new StringBuilder(seeds[t][myRandom.nextInt(seeds[t].length)]);
+                final int edits = 1 + myRandom.nextInt(3);
+                for (int e = 0; e < edits; e++) {
+                    final int at = input.length() == 0 ? 0 : myRandom.nextInt(input.length());
+                    final char c = alphabet.charAt(myRandom.nextInt(alphabet.length()));
+                    switch (myRandom.nextInt(3)) {
+                        case 0 -> input.insert(at, c);
+                        case 1 -> {
+                            if (input.length() > 0) {
+                                input.deleteCharAt(at);
+                            }
+                        }
+                        default -> {
+                            if (input.length() > 0) {
+                                input.setCharAt(at, c);
+                            }
+                        }
+                    }
+                }
+                agree(types[t], dfa, input.toString());
+            }
+        }
+    }
+
+    /** Expressions outside the supported subset, or with input after '$', get no table. */
+    @Test
+    public void testUnsupported() {
+        assertNull(DfaCompiler.compile(ValidatorType.PASSWORD.getRegex(), DfaCompiler.MAX_STATES));
+        assertNull(DfaCompiler.compile(ValidatorType.SOCIAL_SECURITY_NUMBER.getRegex(), DfaCompiler.MAX_STATES));
+        assertNull(DfaCompiler.compile("a$\\s", DfaCompiler.MAX_STATES));
+        assertNull(DfaCompiler.compile("[ab]*a[ab]{10}", 64));
+        assertNotNull(DfaCompiler.compile("[ab]*a[ab]{10}", DfaCompiler.MAX_STATES));
+    }
+
+    /** Written tables load back, and tables of an old expression are ignored. */
+    @Test
+    public void testTableFile() throws IOException {
+        final Path file = Files.createTempFile("dfa", ".bin");
+        try {
+            DfaCompiler.write(DfaCompiler.compileAll(), file);
+            DfaTables.reload(file);
+            final Dfa date = DfaTables.get(ValidatorType.MM_DD_YYYY);
+            assertNotNull(date);
+            assertEquals(ValidatorType.MM_DD_YYYY.getRegex(), date.getRegex());
+            assertEquals(true, date.matches("09-22-1992"));
+            assertEquals(false, date.matches("09-22-1992\n"));
+            assertNull(DfaTables.get(ValidatorType.PASSWORD));
+
+            final byte[] bytes = Files.readAllBytes(file);
+            final String regex = ValidatorType.MM_DD_YYYY.getRegex();
+            final byte[] stale = new String(bytes, "ISO-8859-1")
+                    .replace(regex, regex.replace("1[0-2]", "1[0-1]")).getBytes("ISO-8859-1");
+            Files.write(file, stale);
+            DfaTables.reload(file);
+            assertNull(DfaTables.get(ValidatorType.MM_DD_YYYY));
+            assertNotNull(DfaTables.get(ValidatorType.HOUSE_ADDRESS));
+
+            Files.write(file, new byte[] {1, 2, 3, 4});
+            assertThrows(IOException.class, () -> DfaTables.reload(file));
+            DfaTables.reload();
+            assertNull(DfaTables.getLoadFailure());
+        } finally {
+            Files.delete(file);
+            DfaTables.reload();
+        }
+    }
+
+    /** Checks theDfa against theType's expression on theInput. */
+    private static void agree(final ValidatorType theType, final Dfa theDfa, final String theInput) {
+        assertEquals(theType.getPattern().matcher(theInput).matches(), theDfa.matches(theInput),
+                theType + " disagrees on \"" + theInput + "\"");
+    }
+}
@@ -0,0 +1,152 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.FormatScanners;
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Differential tests for FormatScanners. Every scanner must give the same answer
+ * as the expression it replaces, for hand picked edge cases, for random
+ * mutations of valid input and for random strings over the format's alphabet.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class FormatScannerTests {
+
+    /** Number of random strings tried per validator. */
+    private static final int SAMPLES = 200_000;
+
+    /** Fixed seed so failures can be reproduced. */
+    private final Random myRandom = new Random(2021);
+
+    /**
+     * Checks theScanner against theType's expression on theInput.
+     * @param theType the validator whose expression is the reference.
+     * @param theScanner the scanner under test.
+     * @param theInput the string to check.
+     */
+    private static void agree(final ValidatorType theType, final Predicate<CharSequence> theScanner,
+                              final String theInput) {
+        assertEquals(theType.getPattern().matcher(theInput).matches(), theScanner.test(theInput),
+                theType + " disagrees on \"" + theInput + "\"");
+    }
+
+    /**
+     * Runs the edge cases, then random mutations of theSeeds, then random strings
+     * built from theAlphabet.
+     * @param theType the validator whose expression is the reference.
+     * @param theScanner the scanner under test.
+     * @param theAlphabet characters the random strings are built from.
+     * @param theSeeds valid and near miss inputs.
+     */
+    private void differential(final ValidatorType theType, final Predicate<CharSequence> theScanner,
+                              final String theAlphabet, final String... theSeeds) {
+        for (String seed : theSeeds) {
+            agree(theType, theScanner, seed);
+        }
+        for (int n = 0; n < SAMPLES; n++) {
+            final StringBuilder input = new StringBuilder(theSeeds[myRandom.nextInt(theSeeds.length)]);
+            final int edits = 1 + myRandom.nextInt(3);
+            for (int e = 0; e < edits; e++) {
+                final int at = input.length() == 0 ? 0 : myRandom.nextInt(input.length());
+                final char c = theAlphabet.charAt(myRandom.nextInt(theAlphabet.length()));
+                switch (myRandom.nextInt(3)) {
+                    case 0 -> input.insert(at, c);
+                    case 1 -> { if (input.length() > 0) { input.deleteCharAt(at); } }
+                    default -> { if (input.length() > 0) { input.setCharAt(at, c); } }
+                }
+            }
+            agree(theType, theScanner, input.toString());
+        }
+        for (int n = 0; n < SAMPLES; n++) {
+            final char[] input = new char[myRandom.nextInt(15)];
+            for (int i = 0; i < input.length; i++) {
+                input[i] = theAlphabet.charAt(myRandom.nextInt(theAlphabet.length()));
+            }
+            agree(theType, theScanner, new String(input));
+        }
+    }
+
+    /** SSN scanner against ValidatorType.SOCIAL_SECURITY_NUMBER. */
+    @Test
+    public void testSocialSecurityNumber() {
+        differential(ValidatorType.SOCIAL_SECURITY_NUMBER, FormatScanners::socialSecurityNumber,
+                "0123456789069- \tA",
+                "555-55-5555", "555555555", "555 55 5555", "555-555555", "55555-5555",
+                "000-12-3456", "666-12-3456", "900-12-3456", "899-12-3456", "001-00-0001",
+                "123-45-0000", "123-00-4567", "123--45-6789", "123-45-67890", "", " ");
+    }
+
+    /** Phone shape scanner against ValidatorType.US_PHONE_NUMBER. */
+    @Test
+    public void testUsPhoneNumber() {
+        differential(ValidatorType.US_PHONE_NUMBER, FormatScanners::usPhoneNumber,
+                "0123456789()- 1A",
+                "(234)5555555", "(234)555-5555", "(234)-555-5555", "234-555-5555", "2345555555",
+                "(234555-5555", "234)5555555", "(134)5555555", "(234) 555 5555", "234--555-5555",
+                "(234)55555555", "", " ");
+    }
+
+    /** Date shape scanner against ValidatorType.MM_DD_YYYY. */
+    @Test
+    public void testMMDDYYYY() {
+        differential(ValidatorType.MM_DD_YYYY, FormatScanners::mmDDYYYY,
+                "0123456789-/ ",
+                "09-22-1992", "00-00-0000", "12-31-9999", "13-01-2000", "10-32-2000",
+                "02-29-2016", "1-01-2000", "01-1-2000", "01/01/2000", "", " ");
+    }
+
+    /** Military time scanner against ValidatorType.MILITARY_TIME_WITH_SECONDS. */
+    @Test
+    public void testMilitaryTimeWithSeconds() {
+        differential(ValidatorType.MILITARY_TIME_WITH_SECONDS, FormatScanners::militaryTimeWithSeconds,
+                "0123456789:.:.",
+                "23:23:23", "00:00:00", "01:01:01", "1:1:1", "24:00:00", "00:00", "09:59",
+                "9:59", "0:59", "0:59:59", "19:00", "19.00.00", "23:60:00", "1:00.00", "", " ");
+    }
+
+    /** Currency parser against ValidatorType.US_CURRENCY_TO_PENNY. */
+    @Test
+    public void testUsCurrencyToPenny() {
+        differential(ValidatorType.US_CURRENCY_TO_PENNY,
+                theInput -> FormatScanners.parseUsCurrencyCents(theInput) != FormatScanners.INVALID,
+                "0123456789,.$x\n\uD83D\uDE00",
+                "$123,456,789.23", "$123,456,789", "$0.00", "$1000", "$5,000.99", "$1,000,12", "$1,000123",
+                "$1,00", "$1234,567", "$,100", "$1.0", "$1\n00", "$1\uD83D\uDE0000", "$", "", " ");
+    }
+
+    /** The parse methods give the value of what they accept. */
+    @Test
+    public void testParsedValues() throws FileNotFoundException {
+        assertEquals(555_55_5555, FormatScanners.parseSocialSecurityNumber("555-55-5555"));
+        assertEquals(1_01_0001, FormatScanners.parseSocialSecurityNumber("001 01 0001"));
+        assertEquals(FormatScanners.INVALID, FormatScanners.parseSocialSecurityNumber("666-55-5555"));
+        assertEquals(253_555_1212L, FormatScanners.parseUsPhoneNumber("(253)555-1212"));
+        assertEquals(206_555_0100L, FormatScanners.parseUsPhoneNumber("206 555 0100"));
+        assertEquals(FormatScanners.INVALID, FormatScanners.parseUsPhoneNumber("(199)555-1212"));
+        assertEquals(86_399, FormatScanners.parseMilitaryTimeWithSeconds("23:59:59"));
+        assertEquals(9 * 3600 + 30 * 60, FormatScanners.parseMilitaryTimeWithSeconds("9:30"));
+        assertEquals(0, FormatScanners.parseMilitaryTimeWithSeconds("00.00.00"));
+        assertEquals(FormatScanners.INVALID, FormatScanners.parseMilitaryTimeWithSeconds("00:30"));
+        assertEquals(12_345_678_923L, FormatScanners.parseUsCurrencyCents("$123,456,789.23"));
+        assertEquals(100_025, FormatScanners.parseUsCurrencyCents("$1,000,25"));
+        assertEquals(1_234_500, FormatScanners.parseUsCurrencyCents("$12345"));
+        assertEquals(0, FormatScanners.parseUsCurrencyCents("$0.00"));
+        assertEquals(Long.MAX_VALUE, FormatScanners.parseUsCurrencyCents("$92233720368547758.07"));
+        assertEquals(FormatScanners.OVERFLOW, FormatScanners.parseUsCurrencyCents("$92233720368547758.08"));
+        assertEquals(FormatScanners.OVERFLOW, FormatScanners.parseUsCurrencyCents("$92233720368547759"));
+        assertEquals(FormatScanners.OVERFLOW, FormatScanners.parseUsCurrencyCents("$" + "9".repeat(40) + ".00"));
+        assertEquals(FormatScanners.INVALID, FormatScanners.parseUsCurrencyCents("$1.0"));
+        for (String phone : new String[] {"(253)555-1212", "(199)555-1212", "253-555-121", "(253)-555 1212"}) {
+            assertEquals(Validators.validate(ValidatorType.US_PHONE_NUMBER, phone),
+                    FormatScanners.parseUsPhoneNumber(phone) != FormatScanners.INVALID, phone);
+        }
+    }
+}
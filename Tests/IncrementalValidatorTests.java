@@ -0,0 +1,115 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.IncrementalValidator;
+import RegexApplication.src.IncrementalValidator.State;
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for IncrementalValidator. Typing any text one character at a time must
+ * report VALID exactly when Validators.validate accepts the text so far, and
+ * must never report DEAD for text that some continuation makes valid.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class IncrementalValidatorTests {
+
+    /** The validators with an incremental form. */
+    private static final ValidatorType[] TYPES = {
+        ValidatorType.SOCIAL_SECURITY_NUMBER, ValidatorType.US_PHONE_NUMBER, ValidatorType.MM_DD_YYYY,
+        ValidatorType.MILITARY_TIME_WITH_SECONDS, ValidatorType.US_CURRENCY_TO_PENNY
+    };
+
+    /** Values of every supported kind, valid and invalid. */
+    private static final String[] SAMPLES = {
+        "", "555-55-5555", "555 55 5555", "555555555", "555-555555", "090-12-3456", "666-55-5555",
+        "000-55-5555", "900-55-5555", "555-00-5555", "555-55-0000", "555--55-5555", "555-55-55555",
+        "(253)555-1212", "253)555-1212", "(253555-1212", "(253) 555 1212", "2535551212", "(206)-555-0100",
+        "(253)-(555-1212", "153-555-1212", "999-555-1212", "253-555-12123", "02-29-2000", "02-29-1900",
+        "02-30-2000", "04-31-2021", "12-31-9999", "00-01-2000", "13-01-2000", "01-00-2000", "1-01-2000",
+        "23:59:59", "9:30", "09:30", "0:30", "0:30:00", "00:30", "00:30:00", "10:30", "10.30.59",
+        "23:60:00", "24:00:00", "7:3", "$123,456,789.23", "$1.00", "$1", "$1,000", "$1,00", "$12345.6",
+        "$1x99", "$1😀99", "1.00", "$", "$,100"
+    };
+
+    /** Characters the random texts are built from. */
+    private static final String ALPHABET = "0123456789012345678901234567890123456789-- ().:,$x";
+
+    /** Every prefix of every sample is VALID exactly when validate accepts it. */
+    @Test
+    public void testPrefixesAgreeWithValidate() throws FileNotFoundException {
+        for (ValidatorType type : TYPES) {
+            for (String sample : SAMPLES) {
+                final IncrementalValidator field = new IncrementalValidator(type);
+                final boolean valid = Validators.validate(type, sample);
+                for (int i = 1; i <= sample.length(); i++) {
+                    final State state = field.append(sample.charAt(i - 1));
+                    final String prefix = sample.substring(0, i);
+                    assertEquals(Validators.validate(type, prefix), state == State.VALID, type + " \"" + prefix + "\"");
+                    if (valid) {
+                        assertNotEquals(State.DEAD, state, type + " \"" + prefix + "\" of \"" + sample + "\"");
+                    }
+                }
+                assertEquals(field.getState(), new IncrementalValidator(type).set(sample), type + " " + sample);
+            }
+        }
+    }
+
+    /** Random texts: VALID agrees with validate, and nothing valid follows DEAD. */
+    @Test
+    public void testRandomTexts() throws FileNotFoundException {
+        final Random random = new Random(20);
+        for (ValidatorType type : TYPES) {
+            final IncrementalValidator field = new IncrementalValidator(type);
+            for (int n = 0; n < 20_000; n++) {
+                final StringBuilder text = new StringBuilder();
+                if (type == ValidatorType.US_CURRENCY_TO_PENNY) {
+                    text.append('$');
+                }
+                final int length = random.nextInt(15);
+                for (int i = 0; i < length; i++) {
+                    text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+                }
+                field.reset();
+                boolean dead = false;
+                for (int i = 0; i < text.length(); i++) {
+                    final State state = field.append(text.charAt(i));
+                    final String prefix = text.substring(0, i + 1);
+                    final boolean valid = Validators.validate(type, prefix);
+                    assertEquals(valid, state == State.VALID, type + " \"" + prefix + "\"");
+                    assertFalse(dead && valid, type + " valid after DEAD: \"" + prefix + "\"");
+                    dead = state == State.DEAD;
+                }
+            }
+        }
+    }
+
+    /** A field can be corrected by setting its whole text again. */
+    @Test
+    public void testSetAfterDead() {
+        final IncrementalValidator field = new IncrementalValidator(ValidatorType.MM_DD_YYYY);
+        assertEquals(State.DEAD, field.append("02-3"));
+        assertEquals(State.DEAD, field.append('0'));
+        assertEquals(State.PARTIAL, field.set("02-2"));
+        assertEquals(State.VALID, field.append("9-2024"));
+        assertEquals(State.DEAD, field.append('1'));
+    }
+
+    /** Validators without an incremental form are refused. */
+    @Test
+    public void testUnsupported() {
+        assertTrue(IncrementalValidator.supports(ValidatorType.US_CURRENCY_TO_PENNY));
+        assertFalse(IncrementalValidator.supports(ValidatorType.PASSWORD));
+        assertThrows(IllegalArgumentException.class, () -> new IncrementalValidator(ValidatorType.EMAIL_ADDRESS));
+    }
+}
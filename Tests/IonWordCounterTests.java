@@ -0,0 +1,83 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.ChannelWriter;
+import RegexApplication.src.IonWordCounter;
+import RegexApplication.src.ValidatorType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for IonWordCounter.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class IonWordCounterTests {
+
+    /** Words of odd and even length, other suffixes, punctuation and non ASCII text. */
+    @Test
+    public void testWords() throws IOException {
+        final String text = "The nation's imagination: an ion, a lion, a million\r\n"
+                + "nations; NATION Nation information-imagination nación ionion llion";
+        final IonWordCounter counter = new IonWordCounter(2, 5);
+        assertEquals("imagination\t2\nion\t1\nmillion\t1\ninformation\t1\nllion\t1\n",
+                run(counter, text));
+        assertEquals(2, counter.getCount("imagination"));
+        assertEquals(0, counter.getCount("lion"));
+        assertEquals(0, counter.getCount("nation"));
+        assertEquals(0, counter.getCount("nación"));
+        assertEquals(5, counter.getDistinctWords());
+    }
+
+    /** Any chunk size and thread count gives the counts of a plain word split. */
+    @Test
+    public void testChunks() throws IOException {
+        final String[] vocabulary = {"ion", "lion", "nation", "station", "imagination", "opinion", "region",
+            "onion", "xion", "abcdefghijklmnopqrstuvwxion", "Ion", "natIon", "naçion", "the", "a"};
+        final String[] separators = {" ", "\n", ", ", "--", "\t", "1", ". "};
+        final Random random = new Random(22);
+        final StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 20_000; i++) {
+            text.append(vocabulary[random.nextInt(vocabulary.length)])
+                    .append(separators[random.nextInt(separators.length)]);
+        }
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        for (String word : text.toString().split("[^A-Za-z\\u0080-\\uFFFF]+")) {
+            if (word.chars().allMatch(c -> c < 0x80)
+                    && ValidatorType.ODD_CHARACTERS_ENDING_ION.getPattern().matcher(word).matches()) {
+                counts.merge(word, 1L, Long::sum);
+            }
+        }
+        final StringBuilder expected = new StringBuilder();
+        counts.forEach((word, count) -> expected.append(word).append('\t').append(count).append('\n'));
+        for (int chunk : new int[] {1, 13, 4096, IonWordCounter.DEFAULT_CHUNK_SIZE}) {
+            for (int threads : new int[] {1, 3}) {
+                assertEquals(expected.toString(), run(new IonWordCounter(threads, chunk), text.toString()),
+                        chunk + " bytes, " + threads + " threads");
+            }
+        }
+    }
+
+    /** Runs theCounter on theText and returns its output. */
+    private static String run(final IonWordCounter theCounter, final String theText) throws IOException {
+        final Path input = Files.createTempFile("words", ".txt");
+        try {
+            Files.writeString(input, theText, StandardCharsets.UTF_8);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            theCounter.run(input, new ChannelWriter(Channels.newChannel(bytes)));
+            return bytes.toString(StandardCharsets.UTF_8);
+        } finally {
+            Files.delete(input);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.BoundedPattern;
+import RegexApplication.src.LinearPattern;
+import RegexApplication.src.ValidatorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for the linear time engine and the bounded fallback. LinearPattern must
+ * agree with java.util.regex on every expression it accepts, and a bounded match
+ * must finish quickly on input that makes the backtracking engine explode.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class LinearPatternTests {
+
+    /** Number of random strings tried per validator. */
+    private static final int SAMPLES = 50_000;
+
+    /** Characters the random edits are drawn from, including line terminators and non ASCII. */
+    private static final String ALPHABET = "aZz09 -.,:;/@$()'?_\t\n\r éŽ∂";
+
+    /** Fixed seed so failures can be reproduced. */
+    private final Random myRandom = new Random(2021);
+
+    /**
+     * Checks LinearPattern against java.util.regex on theInput.
+     * @param theRegex the expression.
+     * @param theLinear theRegex compiled by LinearPattern.
+     * @param theInput the string to check.
+     */
+    private static void agree(final Pattern theRegex, final LinearPattern theLinear, final String theInput) {
+        assertEquals(theRegex.matcher(theInput).matches(), theLinear.matches(theInput),
+                theRegex.pattern() + " disagrees on \"" + theInput + "\"");
+    }
+
+    /**
+     * Checks theRegex on theSeeds and on random edits of them.
+     * @param theRegex the expression, which must be in the supported subset.
+     * @param theSeeds valid and near miss inputs.
+     */
+    private void differential(final String theRegex, final String... theSeeds) {
+        final Pattern pattern = Pattern.compile(theRegex);
+        final LinearPattern linear = LinearPattern.tryCompile(theRegex);
+        assertNotNull(linear, theRegex);
+        for (String seed : theSeeds) {
+            agree(pattern, linear, seed);
+        }
+        for (int n = 0; n < SAMPLES; n++) {
+            final StringBuilder input = new StringBuilder(theSeeds[myRandom.nextInt(theSeeds.length)]);
+            final int edits = 1 + myRandom.nextInt(3);
+            for (int e = 0; e < edits; e++) {
+                final int at = input.length() == 0 ? 0 : myRandom.nextInt(input.length() + 1);
+                final char c = ALPHABET.charAt(myRandom.nextInt(ALPHABET.length()));
+                switch (myRandom.nextInt(3)) {
+                    case 0 -> input.insert(at, c);
+                    case 1 -> { if (at < input.length()) { input.deleteCharAt(at); } }
+                    default -> { if (at < input.length()) { input.setCharAt(at, c); } }
+                }
+            }
+            agree(pattern, linear, input.toString());
+        }
+    }
+
+    /** Every validator without lookaround or backreferences runs in linear time. */
+    @Test
+    public void testValidatorsInSubset() {
+        for (ValidatorType type : ValidatorType.values()) {
+            final boolean linear = type != ValidatorType.SOCIAL_SECURITY_NUMBER
+                    && type != ValidatorType.PASSWORD;
+            assertEquals(linear, type.getBoundedPattern().isLinear(), type.toString());
+        }
+        assertNull(LinearPattern.tryCompile("(a)\\1"));
+        assertNull(LinearPattern.tryCompile("a*?"));
+        assertNull(LinearPattern.tryCompile("[a-z&&[^b]]"));
+    }
+
+    /** The validator expressions agree with java.util.regex. */
+    @Test
+    public void testValidatorExpressions() {
+        differential(ValidatorType.US_PHONE_NUMBER.getRegex(), "(253)-555-5555", "253 555 5555", "2535555555");
+        differential(ValidatorType.EMAIL_ADDRESS.getRegex(), "dustin.ray@uw.edu", "a-b.c@d-e.fg", "a@b.c");
+        differential(ValidatorType.LAST_NAME_FIRST_NAME_MIDDLE_INITIAL.getRegex(),
+                "Ray, Dustin R", "Ray, Dustin R.", "O'Neil-Žák, Éva R. M.", "Ray, Dustin R M S");
+        differential(ValidatorType.MM_DD_YYYY.getRegex(), "02-29-2000", "12-31-1999");
+        differential(ValidatorType.HOUSE_ADDRESS.getRegex(), "123 Main St", "1234 N Pine Ave. 5");
+        differential(ValidatorType.CITY_STATE_ZIP.getRegex(), "Tacoma, WA 98402", "New York?, NY 10001-1234");
+        differential(ValidatorType.MILITARY_TIME_WITH_SECONDS.getRegex(), "23:59:59", "9:30", "09.30.00");
+        differential(ValidatorType.US_CURRENCY_TO_PENNY.getRegex(), "$123,456,789.23", "$1", "$1000.00");
+        differential(ValidatorType.URL_WITH_HTTP.getRegex(),
+                "http://www.uw.edu", "HTTPS://a.bc.de:8080/x/y?z=1", "ftp://ab.cd/", "www.ab.cd/", "x.y.zz/");
+        differential(ValidatorType.ODD_CHARACTERS_ENDING_ION.getRegex(), "nation", "lion", "ion", "onion");
+    }
+
+    /** Anchors, line terminators and supplementary characters follow java.util.regex. */
+    @Test
+    public void testEdgeCases() {
+        differential("a$", "a", "a\n", "a\r\n", "a\r", "a ", "\n");
+        differential("(a|$)+b?", "a", "aab", "a\n");
+        differential("^(..)*x", "x", "😀x", "ab😀x", "\uD83Dx");
+        differential("[^a]+[\\w[\\s]?]*\\.{2,3}", "b..", "😀?a...", "b a_....");
+    }
+
+    /** Adversarial inputs finish quickly on the linear engine and time out on the fallback. */
+    @Test
+    public void testBoundedLatency() {
+        final String adversarial = "a".repeat(5_000) + "!";
+        final long start = System.nanoTime();
+        assertEquals(BoundedPattern.Outcome.NO_MATCH,
+                new BoundedPattern(Pattern.compile("(a+)+b")).match(adversarial));
+        assertEquals(BoundedPattern.Outcome.NO_MATCH,
+                ValidatorType.EMAIL_ADDRESS.getBoundedPattern().match(adversarial));
+        final BoundedPattern backreference = new BoundedPattern(Pattern.compile("(?=a)(a|a)*\\1b"));
+        assertEquals(BoundedPattern.Outcome.TIMEOUT, backreference.match("a".repeat(30)));
+        assertEquals(BoundedPattern.Outcome.MATCH, backreference.match("aab"));
+        final BoundedPattern deep = new BoundedPattern(Pattern.compile("(?=a)(a|aa)+b"), Integer.MAX_VALUE);
+        assertEquals(BoundedPattern.Outcome.TIMEOUT, deep.match("a".repeat(100_000)));
+        assertEquals(BoundedPattern.Outcome.MATCH, deep.match("aaab"));
+        assertTrue(System.nanoTime() - start < 5_000_000_000L, "bounded matches took too long");
+    }
+}
@@ -0,0 +1,86 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.PasswordRules;
+import RegexApplication.src.ValidatorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for PasswordRules: it accepts exactly what the PASSWORD expression
+ * accepts and names each rule a rejected password breaks.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class PasswordRulesTests {
+
+    /** Characters the random passwords are built from. */
+    private static final String ALPHABET = "aaabbbzAAZZ0099!# \né😀";
+
+    /** Passwords that are valid, including ones with no leading digit. */
+    @Test
+    public void testValid() {
+        for (String s : new String[] {"48as4tAaa1!", "48as4tA1!!!", "48as4tAa1!48as4tAa1!", "48as4tAa1[",
+                "Password1!", "aB!defghi9", "aB cdefgh9", "aBcdefghé9"}) {
+            assertTrue(PasswordRules.isValid(s), s);
+            assertEquals(0, PasswordRules.failures(PasswordRules.check(s)), s);
+        }
+    }
+
+    /** Each rule is reported on its own. */
+    @Test
+    public void testFailures() {
+        assertEquals(PasswordRules.TOO_SHORT, failures("8as4tAa1!"));
+        assertEquals(PasswordRules.NO_DIGIT, failures("Password!!"));
+        assertEquals(PasswordRules.NO_LOWER_CASE, failures("PASSWORD1!"));
+        assertEquals(PasswordRules.NO_UPPER_CASE, failures("password1!"));
+        assertEquals(PasswordRules.NO_SYMBOL, failures("Password12"));
+        assertEquals(PasswordRules.REPEATED_LOWER_CASE, failures("48as4tAaaa1!"));
+        assertEquals(PasswordRules.LINE_BREAK, failures("Password1!\n"));
+        assertEquals(PasswordRules.TOO_SHORT | PasswordRules.NO_LOWER_CASE | PasswordRules.NO_UPPER_CASE
+                | PasswordRules.NO_SYMBOL, failures("12345"));
+        assertEquals(PasswordRules.TOO_SHORT, failures("Pass1!😀😀😀"));
+        assertEquals(List.of("must contain a digit", "must contain an upper case letter"),
+                PasswordRules.describe(PasswordRules.check("password!!")));
+        assertTrue(PasswordRules.describe(PasswordRules.check("Password1!")).isEmpty());
+    }
+
+    /** Longer and more varied passwords score higher, within 0 to 100. */
+    @Test
+    public void testScore() {
+        final int weak = PasswordRules.score(PasswordRules.check("aaaaaaaaaa"));
+        final int fair = PasswordRules.score(PasswordRules.check("Password1!"));
+        final int strong = PasswordRules.score(PasswordRules.check("7hG!q2#Lr9&mX4^vB8"));
+        assertEquals(0, PasswordRules.score(PasswordRules.check("")));
+        assertTrue(weak < fair && fair < strong, weak + " " + fair + " " + strong);
+        assertTrue(strong <= 100);
+        assertEquals(100, PasswordRules.score(PasswordRules.check("7hG!q2#Lr9&mX4^vB8zK")));
+    }
+
+    /** Random passwords get the same answer from the rules and the expression. */
+    @Test
+    public void testAgreesWithExpression() {
+        final Random random = new Random(21);
+        final StringBuilder password = new StringBuilder();
+        for (int n = 0; n < 50_000; n++) {
+            password.setLength(0);
+            final int length = random.nextInt(16);
+            for (int i = 0; i < length; i++) {
+                password.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+            }
+            assertEquals(ValidatorType.PASSWORD.getPattern().matcher(password).matches(),
+                    PasswordRules.isValid(password), password.toString());
+        }
+        assertFalse(PasswordRules.isValid(""));
+    }
+
+    /** @return the rules theInput breaks. */
+    private static int failures(final String theInput) {
+        return PasswordRules.failures(PasswordRules.check(theInput));
+    }
+}
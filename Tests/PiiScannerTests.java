@@ -0,0 +1,99 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.ChannelWriter;
+import RegexApplication.src.PiiScanner;
+import RegexApplication.src.ScalarCandidateLocator;
+import RegexApplication.src.ValidatorType;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests for PiiScanner: exact findings for each format, values that are not
+ * findings, and windows cut at every possible place in the text.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class PiiScannerTests {
+
+    /** One finding of each kind, in each form, with trailing punctuation. */
+    private static final String TEXT = "call (253)555-1212 or 425-555-0199\n"
+            + "ssn 555-55-5555, alt 219 09 9999\n"
+            + "mail dustin.ray@example.edu.\n"
+            + "see https://docs.example.com/guide, ok\n"
+            + "on 09-22-1992 paid $1,000.00.\n";
+
+    /** The findings in TEXT. */
+    private static final String FINDINGS = "5\tB\t(253)555-1212\n"
+            + "22\tB\t425-555-0199\n"
+            + "39\tA\t555-55-5555\n"
+            + "56\tA\t219 09 9999\n"
+            + "73\tC\tdustin.ray@example.edu\n"
+            + "101\tJ\thttps://docs.example.com/guide\n"
+            + "139\tE\t09-22-1992\n"
+            + "155\tI\t$1,000.00\n";
+
+    /** Every kind of value is found at its byte offset. */
+    @Test
+    public void testFindings() throws IOException {
+        final PiiScanner scanner = new PiiScanner(new ScalarCandidateLocator());
+        assertEquals(FINDINGS, scan(scanner, TEXT));
+        assertEquals(2, scanner.getCount(ValidatorType.US_PHONE_NUMBER));
+        assertEquals(2, scanner.getCount(ValidatorType.SOCIAL_SECURITY_NUMBER));
+        assertEquals(1, scanner.getCount(ValidatorType.EMAIL_ADDRESS));
+        assertEquals(1, scanner.getCount(ValidatorType.URL_WITH_HTTP));
+        assertEquals(1, scanner.getCount(ValidatorType.MM_DD_YYYY));
+        assertEquals(1, scanner.getCount(ValidatorType.US_CURRENCY_TO_PENNY));
+    }
+
+    /** Values that are too long, invalid, part of a word or incomplete are not findings. */
+    @Test
+    public void testNonFindings() throws IOException {
+        final String text = "id 1234567890123\n000-12-3456\nx555-55-5555\n555-55-5555x\n"
+                + "(999)555-1212\n@alone a@ b@.c\nftp:/x ://x\n"
+                + "13-22-1992 02-30-2021 09-22-19921 $1,00.00 x$5.00 $5.00x\n";
+        assertEquals("", scan(new PiiScanner(new ScalarCandidateLocator()), text));
+    }
+
+    /** Findings are the same wherever the windows are cut, and offsets stay file offsets. */
+    @Test
+    public void testWindows() throws IOException {
+        for (int window = 40; window <= TEXT.length() + 1; window++) {
+            assertEquals(FINDINGS, scan(new PiiScanner(new ScalarCandidateLocator(), window), TEXT),
+                    window + " byte windows");
+        }
+        final String nonAscii = "é555-55-5555\té(253)555-1212é";
+        for (int window = 14; window <= nonAscii.length() + 4; window++) {
+            assertEquals("2\tA\t555-55-5555\n16\tB\t(253)555-1212\n",
+                    scan(new PiiScanner(new ScalarCandidateLocator(), window), nonAscii), window + " byte windows");
+        }
+    }
+
+    /** A window with nowhere to cut is an error rather than a split value. */
+    @Test
+    public void testNoSeparator() {
+        assertThrows(IOException.class, () -> scan(new PiiScanner(new ScalarCandidateLocator(), 16), TEXT));
+        assertThrows(IllegalArgumentException.class, () -> new PiiScanner(new ScalarCandidateLocator(), 0));
+    }
+
+    /** Runs theScanner on theText and returns its output. */
+    private static String scan(final PiiScanner theScanner, final String theText) throws IOException {
+        final Path input = Files.createTempFile("pii", ".txt");
+        try {
+            Files.writeString(input, theText, StandardCharsets.UTF_8);
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            theScanner.scan(input, new ChannelWriter(Channels.newChannel(bytes)));
+            return bytes.toString(StandardCharsets.UTF_8);
+        } finally {
+            Files.delete(input);
+        }
+    }
+}
@@ -208,6 +208,7 @@ public class RegexTests extends Testable {
         myTestList.add("09-22-0000");
         myTestList.add("09-22-9999");
         myTestList.add("02-29-2016");
+        myTestList.add("02-29-2000");
         for (String s : myTestList) {assertTrue(validator(s) && checkValidDate(s));}
 
         myTestList.clear();
@@ -218,6 +219,9 @@ public class RegexTests extends Testable {
         myTestList.add("02-29-2017");
         myTestList.add("01-00-2016");
         myTestList.add("00-00-0000");
+        myTestList.add("02-29-1900");
+        myTestList.add("02-30-2016");
+        myTestList.add("04-31-2016");
         for (String s : myTestList) {assertFalse(validator(s) && checkValidDate(s));}
 
     }
@@ -390,13 +394,15 @@ public class RegexTests extends Testable {
     @Test
     public void testPassword() {
 
-        myRegEx = "^(?=.{10,}$)(?=\\d)(?=.*[a-z])(?=.*[A-Z])(?=.*[^a-zA-Z0-9])(?!.*([a-z])\\1{2}).*$";
+        myRegEx = "^(?=.{10,}$)(?=.*\\d)(?=.*[a-z])(?=.*[A-Z])(?=.*[^a-zA-Z0-9])(?!.*([a-z])\\1{2}).*$";
 
         myTestList.add("48as4tAaa1!");
         myTestList.add("48as4tA1!!!");
         myTestList.add("48as4tAa1!48as4tAa1!");
         myTestList.add("48as4tAa1[");
         myTestList.add("48as4tAa1!");
+        myTestList.add("Password1!");
+        myTestList.add("!xY9abcdefg");
 
         for (String s : myTestList) {assertTrue(validator(s));}
 
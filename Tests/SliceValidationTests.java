@@ -0,0 +1,76 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Validating a UTF-8 slice of a byte array or ByteBuffer must give the same
+ * answer as validating the decoded String, for every validator, for ASCII and
+ * non ASCII text, wherever the slice sits in the buffer.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class SliceValidationTests {
+
+    /** Values of every kind, valid and invalid, some of them non ASCII. */
+    private static final String[] SAMPLES = {
+        "", "555-55-5555", "666-55-5555", "(253)555-1212", "(206)-555-0100", "dustin.ray@uw.edu",
+        "dustín@uw.edu", "Ray, Dustin R.", "Müller, Jürgen K", "02-29-2000", "02-29-1900", "123 Main St",
+        "123 Máin St", "Tacoma, WA 98402", "Tacomá, WA 98402", "23:59:59", "9:30", "$123,456,789.23",
+        "$1é00", "$1.00", "http://www.uw.edu/a", "http://www.u.é/", "wwwé.ab.cd", "48as4tAa1!", "48as4tAé1!",
+        "nation", "natión", "ñation", "€5-55-5555"
+    };
+
+    /** Each sample, placed between other bytes, gives the String answer. */
+    @Test
+    public void testSlicesAgreeWithStrings() throws FileNotFoundException {
+        for (ValidatorType type : ValidatorType.values()) {
+            for (String sample : SAMPLES) {
+                final boolean expected = Validators.validate(type, sample);
+                final byte[] value = sample.getBytes(StandardCharsets.UTF_8);
+                final byte[] framed = new byte[value.length + 7];
+                framed[0] = 'x';
+                framed[1] = (byte) 0xC3;
+                System.arraycopy(value, 0, framed, 3, value.length);
+                framed[framed.length - 1] = '\n';
+                assertEquals(expected, Validators.validate(type, framed, 3, value.length),
+                        type + " byte[] \"" + sample + "\"");
+                assertEquals(expected, Validators.validate(type, ByteBuffer.wrap(framed).asReadOnlyBuffer(), 3,
+                        value.length), type + " ByteBuffer \"" + sample + "\"");
+                final ByteBuffer direct = ByteBuffer.allocateDirect(framed.length);
+                direct.put(framed);
+                assertEquals(expected, Validators.validate(type, direct, 3, value.length),
+                        type + " direct \"" + sample + "\"");
+            }
+        }
+    }
+
+    /** Once a call returns, nothing this thread keeps for the next one still reaches the caller's bytes. */
+    @Test
+    public void testBytesNotRetained() throws FileNotFoundException, InterruptedException {
+        final WeakReference<byte[]> array = validateAll("(253)555-1212 48as4tAa1!".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 50 && array.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertNull(array.get(), "the last validated array is still reachable");
+    }
+
+    /** Validates slices of theBytes with every validator and returns a weak reference to them. */
+    private static WeakReference<byte[]> validateAll(final byte[] theBytes) throws FileNotFoundException {
+        for (ValidatorType type : ValidatorType.values()) {
+            Validators.validate(type, theBytes, 0, 13);
+            Validators.validate(type, theBytes, 14, 10);
+        }
+        return new WeakReference<>(theBytes);
+    }
+}
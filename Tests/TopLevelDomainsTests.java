@@ -0,0 +1,89 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.TopLevelDomains;
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for TopLevelDomains and strict e-mail validation.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class TopLevelDomainsTests {
+
+    /** Every listed domain is found, in any case, and near misses are not. */
+    @Test
+    public void testLookup() throws IOException {
+        int listed = 0;
+        try (BufferedReader reader = openList()) {
+            String domain;
+            while ((domain = reader.readLine()) != null) {
+                listed++;
+                assertTrue(TopLevelDomains.contains(domain), domain);
+                assertTrue(TopLevelDomains.contains(domain.toUpperCase()), domain);
+                assertFalse(TopLevelDomains.contains(domain + "0"), domain + "0");
+                final String changed = domain.substring(0, domain.length() - 1) + "0";
+                assertFalse(TopLevelDomains.contains(changed), changed);
+            }
+        }
+        assertEquals(listed, TopLevelDomains.size());
+        assertFalse(TopLevelDomains.contains(""));
+        assertFalse(TopLevelDomains.contains("cöm"));
+        assertTrue(TopLevelDomains.contains("mail.example.Com", 13, 16));
+    }
+
+    /**
+     * Opens the bundled list the way TopLevelDomains finds it: on the classpath
+     * first, then in RegexApplication/res or res, so the test runs from either
+     * the repository or the folder above it.
+     * @return a reader over tlds.txt.
+     * @throws IOException if no copy of the list can be found.
+     */
+    private static BufferedReader openList() throws IOException {
+        final InputStream resource = TopLevelDomains.class.getResourceAsStream("/tlds.txt");
+        if (resource != null) {
+            return new BufferedReader(new InputStreamReader(resource, StandardCharsets.US_ASCII));
+        }
+        for (String folder : new String[] {"RegexApplication/res", "res"}) {
+            final Path file = Path.of(folder, "tlds.txt");
+            if (Files.isRegularFile(file)) {
+                return Files.newBufferedReader(file, StandardCharsets.US_ASCII);
+            }
+        }
+        throw new FileNotFoundException("tlds.txt");
+    }
+
+    /** Strict mode rejects unknown domains and accepts long real ones. */
+    @Test
+    public void testStrictEmail() throws FileNotFoundException {
+        final ValidatorType type = ValidatorType.EMAIL_ADDRESS;
+        assertTrue(type.test("dustin.ray@uw.zzzz"));
+        assertFalse(type.test("dustin.ray@uw.photography"));
+        Validators.setStrictEmail(true);
+        try {
+            assertTrue(type.test("dustin.ray@uw.edu"));
+            assertTrue(type.test("dustin.ray@UW.EDU"));
+            assertFalse(type.test("dustin.ray@uw.zzzz"));
+            assertTrue(type.test("dustin.ray@studio.photography"));
+            assertTrue(type.test("a@b.travelersinsurance"));
+            assertFalse(type.test("dustin.ray@uw"));
+            assertFalse(type.test("dustin.ray@uw.edu."));
+        } finally {
+            Validators.setStrictEmail(false);
+        }
+    }
+}
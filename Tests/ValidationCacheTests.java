@@ -0,0 +1,210 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.AsciiSequence;
+import RegexApplication.src.ValidationCache;
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ValidationCache and the optional caches of Validators.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class ValidationCacheTests {
+
+    /** Lookups see what was put, by content, for any CharSequence. */
+    @Test
+    public void testLookup() {
+        final ValidationCache cache = new ValidationCache(10);
+        assertEquals(ValidationCache.MISS, cache.lookup("a@b.cd"));
+        cache.put("a@b.cd", true);
+        cache.put("a@b", false);
+        assertEquals(1, cache.lookup(new StringBuilder("a@b.cd")));
+        final ByteBuffer bytes = ByteBuffer.wrap("xa@by".getBytes(StandardCharsets.US_ASCII));
+        assertEquals(0, cache.lookup(new AsciiSequence(bytes, 1, 3)));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    /** The size stays within the bound and values hit twice survive a scan of one-off values. */
+    @Test
+    public void testSegmentedEviction() {
+        final ValidationCache cache = new ValidationCache(100);
+        for (int i = 0; i < 50; i++) {
+            cache.put("hot" + i, true);
+            cache.lookup("hot" + i);
+        }
+        for (int i = 0; i < 10_000; i++) {
+            cache.put("cold" + i, false);
+            assertTrue(cache.size() <= 100);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(1, cache.lookup("hot" + i), "hot" + i);
+        }
+        assertTrue(cache.getEvictions() >= 10_000 - 50);
+    }
+
+    /** Concurrent callers always get correct results and the bound holds. */
+    @Test
+    public void testConcurrentUse() throws InterruptedException {
+        final ValidationCache cache = new ValidationCache(1000);
+        final List<Thread> threads = new ArrayList<>();
+        final List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            final int seed = t;
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < 100_000; i++) {
+                    final int key = (i * 31 + seed) % 3000;
+                    final int cached = cache.lookup("k" + key);
+                    if (cached == ValidationCache.MISS) {
+                        cache.put("k" + key, key % 3 == 0);
+                    } else if ((cached == 1) != (key % 3 == 0)) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("wrong result for k" + key));
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty(), failures.toString());
+        assertTrue(cache.size() <= 1000);
+        assertEquals(400_000, cache.getHits() + cache.getMisses());
+    }
+
+    /**
+     * Lookups on a shard never wait for its writer: while a put is held inside
+     * the shard's lock, hits on the same shard still return, from several
+     * threads at once, and the hot entry survives the writers' evictions.
+     */
+    @Test
+    public void testHotKeyContention() throws InterruptedException {
+        final ValidationCache cache = new ValidationCache(100);
+        cache.put("hot", true);
+        final CountDownLatch locked = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        // put copies its key to a String while it holds the shard lock.
+        final CharSequence slow = new CharSequence() {
+            @Override
+            public int length() {
+                return 4;
+            }
+
+            @Override
+            public char charAt(final int theIndex) {
+                return "slow".charAt(theIndex);
+            }
+
+            @Override
+            public CharSequence subSequence(final int theStart, final int theEnd) {
+                return "slow".subSequence(theStart, theEnd);
+            }
+
+            @Override
+            public String toString() {
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "slow";
+            }
+        };
+        final Thread writer = new Thread(() -> {
+            cache.put(slow, false);
+            for (int i = 0; i < 100_000; i++) {
+                cache.put("cold" + i, false);
+            }
+        });
+        writer.start();
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        final int readers = 4;
+        final int lookups = 100_000;
+        final AtomicInteger wrong = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(readers);
+        final List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < readers; t++) {
+            final Thread thread = new Thread(() -> {
+                for (int i = 0; i < lookups; i++) {
+                    if (cache.lookup("hot") != 1) {
+                        wrong.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        final boolean finished = done.await(30, TimeUnit.SECONDS);
+        release.countDown();
+        writer.join();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(finished, "lookups blocked behind the shard lock");
+        assertEquals(0, wrong.get());
+        assertEquals((long) readers * lookups, cache.getHits());
+        assertEquals(1, cache.lookup("hot"));
+        assertTrue(cache.getEvictions() >= 100_000 - 100);
+    }
+
+    /** Validators answers the same with a cache on and counts its hits. */
+    @Test
+    public void testRegExCache() throws FileNotFoundException {
+        final String[] inputs = {"dustin.ray@uw.edu", "a@b", "dustin.ray@uw.edu", "x@y.zz", "a@b"};
+        final ValidationCache cache = Validators.enableCache(ValidatorType.EMAIL_ADDRESS, 16);
+        try {
+            for (String input : inputs) {
+                assertEquals(ValidatorType.EMAIL_ADDRESS.getPattern().matcher(input).matches(),
+                        Validators.validate(ValidatorType.EMAIL_ADDRESS, input), input);
+            }
+            assertEquals(2, cache.getHits());
+            assertEquals(3, cache.getMisses());
+        } finally {
+            Validators.disableCache(ValidatorType.EMAIL_ADDRESS);
+        }
+        assertEquals(null, Validators.getCache(ValidatorType.EMAIL_ADDRESS));
+    }
+
+    /** A result put under the old mode after a mode change is never served. */
+    @Test
+    public void testModeChange() throws FileNotFoundException {
+        final ValidationCache email = Validators.enableCache(ValidatorType.EMAIL_ADDRESS, 16);
+        final ValidationCache zip = Validators.enableCache(ValidatorType.CITY_STATE_ZIP, 32);
+        Validators.setStrictEmail(true);
+        Validators.setZipStateCheck(true);
+        try {
+            // Validations that started before the change and finish after it.
+            email.put("dustin.ray@uw.zzzz", true);
+            zip.put("Seattle, FL 98101", true);
+            assertFalse(Validators.validate(ValidatorType.EMAIL_ADDRESS, "dustin.ray@uw.zzzz"));
+            assertFalse(Validators.validate(ValidatorType.CITY_STATE_ZIP, "Seattle, FL 98101"));
+            assertEquals(16, Validators.getCache(ValidatorType.EMAIL_ADDRESS).getCapacity());
+            assertEquals(32, Validators.getCache(ValidatorType.CITY_STATE_ZIP).getCapacity());
+        } finally {
+            Validators.setStrictEmail(false);
+            Validators.setZipStateCheck(false);
+            Validators.disableCache(ValidatorType.EMAIL_ADDRESS);
+            Validators.disableCache(ValidatorType.CITY_STATE_ZIP);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.ValidationServer;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests for the line protocol of ValidationServer.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class ValidationServerTests {
+
+    /**
+     * Sends theRequest on a new connection, then ends its side, and reads
+     * theReplies lines.
+     * @return the reply lines joined with '|'.
+     */
+    private static String exchange(final int thePort, final String theRequest, final int theReplies)
+            throws IOException {
+        try (Socket socket = new Socket("localhost", thePort)) {
+            final OutputStream out = socket.getOutputStream();
+            // Written from another thread, so that replies are read while a long request is still being sent.
+            final Thread writer = new Thread(() -> {
+                try {
+                    out.write(theRequest.getBytes(StandardCharsets.UTF_8));
+                    out.flush();
+                    socket.shutdownOutput();
+                } catch (IOException e) {
+                    // The server closed the connection, e.g. after QUIT.
+                }
+            });
+            writer.start();
+            final BufferedReader in = new BufferedReader(
+                    new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            final StringBuilder replies = new StringBuilder();
+            for (int i = 0; i < theReplies; i++) {
+                replies.append(i == 0 ? "" : "|").append(in.readLine());
+            }
+            return replies.toString();
+        }
+    }
+
+    /** Single, pipelined, batched and malformed requests, with a thread per connection and with selector loops. */
+    @Test
+    public void testProtocol() throws IOException {
+        for (String selector : new String[] {"false", "true"}) {
+            System.setProperty(ValidationServer.SELECTOR_PROPERTY, selector);
+            try (ValidationServer server = new ValidationServer(0)) {
+                assertEquals(Boolean.parseBoolean(selector), server.isSelector());
+                final int port = server.getPort();
+                assertEquals("true", exchange(port, "A 555-55-5555\n", 1));
+                assertEquals("false|true|true",
+                        exchange(port, "A 666-55-5555\r\nD Müller, Jürgen K\nF 123 Main St\n", 3));
+                assertEquals("101|true",
+                        exchange(port, "BATCH E 3\n02-29-2000\n02-29-1900\r\n12-31-1999\nL onion\n", 2));
+                assertEquals("|true", exchange(port, "BATCH E 0\nL onion\n", 2));
+                assertEquals("ERROR", exchange(port, "Z 1\n", 1).substring(0, 5));
+                assertEquals("ERROR", exchange(port, "BATCH A x\n", 1).substring(0, 5));
+                assertEquals("ERROR|true", exchange(port, "BATCH A " + (ValidationServer.MAX_BATCH + 1)
+                        + "\nL onion\n", 2).substring(0, 5) + "|true");
+                assertEquals("true|null", exchange(port, "L onion\nQUIT\nA 555-55-5555\n", 2));
+                assertEquals("true|true", exchange(port, "L onion\nA 555-55-5555", 2));
+            } finally {
+                System.clearProperty(ValidationServer.SELECTOR_PROPERTY);
+            }
+        }
+    }
+
+    /** Pipelined requests whose replies outgrow the socket buffers are all answered, in order. */
+    @Test
+    public void testLargePipeline() throws IOException {
+        for (String selector : new String[] {"false", "true"}) {
+            System.setProperty(ValidationServer.SELECTOR_PROPERTY, selector);
+            try (ValidationServer server = new ValidationServer(0)) {
+                final StringBuilder request = new StringBuilder("BATCH L 100000\n");
+                final StringBuilder expected = new StringBuilder();
+                for (int i = 0; i < 100_000; i++) {
+                    request.append(i % 3 == 0 ? "onion\n" : "onions\n");
+                    expected.append(i % 3 == 0 ? '1' : '0');
+                }
+                for (int i = 0; i < 20_000; i++) {
+                    request.append(i % 2 == 0 ? "A 555-55-5555\n" : "A 555-55-555\n");
+                    expected.append(i % 2 == 0 ? "|true" : "|false");
+                }
+                assertEquals(expected.toString(), exchange(server.getPort(), request.toString(), 20_001));
+                assertEquals(120_000, server.getValues());
+            } finally {
+                System.clearProperty(ValidationServer.SELECTOR_PROPERTY);
+            }
+        }
+    }
+
+    /** Many clients at once each get their own answers. */
+    @Test
+    public void testConcurrentConnections() throws Exception {
+        try (ValidationServer server = new ValidationServer(0)) {
+            final ExecutorService clients = ValidationServer.newConnectionExecutor();
+            final List<Future<String>> replies = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                final String value = i % 2 == 0 ? "555-55-5555" : "555-55-555";
+                replies.add(clients.submit(() -> exchange(server.getPort(), "A " + value + "\n", 1)));
+            }
+            for (int i = 0; i < replies.size(); i++) {
+                assertEquals(i % 2 == 0 ? "true" : "false", replies.get(i).get());
+            }
+            clients.shutdown();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.LatencyHistogram;
+import RegexApplication.src.ValidatorMetrics;
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for LatencyHistogram and ValidatorMetrics.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class ValidatorMetricsTests {
+
+    /** Percentiles are within one bucket, 12.5%, above the exact value. */
+    @Test
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        for (long nanos = 1; nanos <= 100_000; nanos++) {
+            histogram.record(nanos);
+        }
+        assertEquals(100_000, histogram.getCount());
+        assertWithinBucket(50_000, histogram.getPercentile(0.5));
+        assertWithinBucket(99_000, histogram.getPercentile(0.99));
+        assertWithinBucket(99_900, histogram.getPercentile(0.999));
+        assertWithinBucket(100_000, histogram.getMax());
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(0.5));
+    }
+
+    /** Small values are exact and huge ones do not overflow. */
+    @Test
+    public void testRange() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(3);
+        assertEquals(0, histogram.getPercentile(0.5));
+        assertEquals(3, histogram.getMax());
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getMax());
+    }
+
+    /** Validation is counted only while metrics are enabled, and shows through JMX. */
+    @Test
+    public void testValidatorMetrics() throws FileNotFoundException, JMException {
+        final ValidatorMetrics metrics = ValidatorMetrics.of(ValidatorType.MILITARY_TIME_WITH_SECONDS);
+        ValidatorMetrics.enable();
+        try {
+            metrics.reset();
+            assertTrue(Validators.validate(ValidatorType.MILITARY_TIME_WITH_SECONDS, "23:59:59"));
+            Validators.validate(ValidatorType.MILITARY_TIME_WITH_SECONDS, "24:00:00");
+            Validators.validate(ValidatorType.MILITARY_TIME_WITH_SECONDS, new byte[] {(byte) 0xC3, (byte) 0xA9}, 0, 2);
+            assertEquals(3, metrics.getCalls());
+            assertEquals(1, metrics.getAccepted());
+            assertEquals(2, metrics.getRejected());
+            assertTrue(metrics.getMaxMicros() >= metrics.getP50Micros());
+            assertTrue(ValidatorMetrics.report().contains(metrics.getValidator()));
+
+            final ObjectName name = new ObjectName(ValidatorMetrics.DOMAIN + ":type=Validator,name=H");
+            assertEquals(3L, ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Calls"));
+        } finally {
+            ValidatorMetrics.disable();
+        }
+        Validators.validate(ValidatorType.MILITARY_TIME_WITH_SECONDS, "12:00:00");
+        assertEquals(3, metrics.getCalls());
+    }
+
+    /** A non ASCII slice rejected before any validator runs is still timed, not recorded as 0 ns. */
+    @Test
+    public void testEarlyRejectionTimed() throws FileNotFoundException {
+        final ValidatorMetrics metrics = ValidatorMetrics.of(ValidatorType.SOCIAL_SECURITY_NUMBER);
+        final byte[] value = "555-55-555\u00e9".getBytes(StandardCharsets.UTF_8);
+        ValidatorMetrics.enable();
+        try {
+            metrics.reset();
+            for (int i = 0; i < 1000; i++) {
+                Validators.validate(ValidatorType.SOCIAL_SECURITY_NUMBER, value, 0, value.length);
+            }
+            assertEquals(1000, metrics.getRejected());
+            assertTrue(metrics.getP50Micros() > 0, "p50 " + metrics.getP50Micros());
+        } finally {
+            ValidatorMetrics.disable();
+        }
+    }
+
+    /** Asserts theEstimate is at least theExact and less than 12.5% above it. */
+    private static void assertWithinBucket(final long theExact, final long theEstimate) {
+        assertTrue(theEstimate >= theExact && theEstimate <= theExact + theExact / 8,
+                theExact + " estimated as " + theEstimate);
+    }
+}
@@ -0,0 +1,68 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.ValidatorType;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ValidatorType as a library predicate, without the console.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class ValidatorTypeTests {
+
+    /** test answers like the console would, and works as a stream filter. */
+    @Test
+    public void testPredicate() {
+        assertTrue(ValidatorType.SOCIAL_SECURITY_NUMBER.test("555-55-5555"));
+        assertFalse(ValidatorType.SOCIAL_SECURITY_NUMBER.test("666-55-5555"));
+        assertTrue(ValidatorType.EMAIL_ADDRESS.test(new StringBuilder("dustin.ray@uw.edu")));
+        assertEquals(List.of("23:59:59"), Stream.of("23:59:59", "24:00:00", "23:60:00")
+                .filter(ValidatorType.MILITARY_TIME_WITH_SECONDS).collect(Collectors.toList()));
+    }
+
+    /** Threads sharing the validators each get the answer a single thread gets. */
+    @Test
+    public void testConcurrentCalls() throws Exception {
+        final String[] inputs = {"555-55-5555", "(253)555-1212", "Ray, Dustin R.", "02-29-2000",
+            "123 Main St", "Tacoma, WA 98402", "$123,456,789.23", "http://www.uw.edu/a", "48as4tAa1!", "onion"};
+        final boolean[][] expected = new boolean[ValidatorType.values().length][inputs.length];
+        for (ValidatorType type : ValidatorType.values()) {
+            for (int i = 0; i < inputs.length; i++) {
+                expected[type.ordinal()][i] = type.test(inputs[i]);
+            }
+        }
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final Future<?>[] futures = new Future<?>[8];
+            for (int t = 0; t < futures.length; t++) {
+                futures[t] = executor.submit(() -> {
+                    for (int round = 0; round < 200; round++) {
+                        for (ValidatorType type : ValidatorType.values()) {
+                            for (int i = 0; i < inputs.length; i++) {
+                                assertEquals(expected[type.ordinal()][i], type.test(inputs[i]),
+                                        type + " \"" + inputs[i] + "\"");
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
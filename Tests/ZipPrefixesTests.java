@@ -0,0 +1,63 @@
+package RegexApplication.Tests;
+
+import RegexApplication.src.ValidatorType;
+import RegexApplication.src.Validators;
+import RegexApplication.src.ZipPrefixes;
+import org.junit.jupiter.api.Test;
+
+import java.io.FileNotFoundException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests for ZipPrefixes and the ZIP state check of the city, state and zip validator.
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public class ZipPrefixesTests {
+
+    /** Ranges, single prefixes and gaps of the bundled list. */
+    @Test
+    public void testStateFor() throws FileNotFoundException {
+        assertEquals("WA", ZipPrefixes.stateFor(981));
+        assertEquals("NY", ZipPrefixes.stateFor(5));
+        assertEquals("VI", ZipPrefixes.stateFor(8));
+        assertEquals("PR", ZipPrefixes.stateFor(9));
+        assertEquals("TX", ZipPrefixes.stateFor(733));
+        assertEquals("OK", ZipPrefixes.stateFor(734));
+        assertEquals("AK", ZipPrefixes.stateFor(999));
+        assertNull(ZipPrefixes.stateFor(0));
+        assertNull(ZipPrefixes.stateFor(962));
+        assertNull(ZipPrefixes.stateFor(1000));
+    }
+
+    /** Matching reads the state and prefix in place and rejects anything else. */
+    @Test
+    public void testMatches() throws FileNotFoundException {
+        assertTrue(ZipPrefixes.matches("Tacoma, WA 98402", 8, 11));
+        assertFalse(ZipPrefixes.matches("Tacoma, OR 98402", 8, 11));
+        assertFalse(ZipPrefixes.matches("Tacoma, WA 9x402", 8, 11));
+        assertFalse(ZipPrefixes.matches("WA 98", 0, 3));
+    }
+
+    /** The validator only checks the state when asked to. */
+    @Test
+    public void testZipStateCheck() {
+        final ValidatorType type = ValidatorType.CITY_STATE_ZIP;
+        assertTrue(type.test("Seattle, FL 98101"));
+        Validators.setZipStateCheck(true);
+        try {
+            assertFalse(type.test("Seattle, FL 98101"));
+            assertTrue(type.test("Seattle, WA 98101"));
+            assertTrue(type.test("Seattle, WA 98101-1234"));
+            assertFalse(type.test("Miami, WA 33101-1234"));
+            assertTrue(type.test("San Juan, PR 00901"));
+            assertFalse(type.test("Seattle, WA 9810"));
+        } finally {
+            Validators.setZipStateCheck(false);
+        }
+    }
+}
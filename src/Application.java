@@ -1,17 +1,310 @@
 package RegexApplication.src;
 
-import java.io.FileNotFoundException;
-import java.util.Scanner;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Driver class for Regex program.
+ * With no arguments the interactive console is started. Batch mode validates
+ * every line of a file, on every core unless -threads says otherwise:
+ *      -batch (option A-L) (input file) [-out (output file)] [-summary]
+ *             [-threads (count)] [-chunk (bytes)] [-cache (entries)] [-zipstate]
+ *             [-stricttld]
+ * Scan mode reports every SSN, phone number, e-mail address, URL, date and
+ * dollar amount found in a text file, with its byte offset:
+ *      -scan (input file) [-out (output file)]
+ * Words mode counts every alphabetic word of odd length ending in "ion" in a
+ * text file, option L applied to each word of a document:
+ *      -words (input file) [-out (output file)] [-threads (count)] [-chunk (bytes)]
+ * CSV mode validates each column of a CSV file with its own validator, given
+ * as a list of option letters with "-" for a column to skip, e.g. "A,B,-,C":
+ *      -csv (columns) (input file) [-out (output file)] [-summary]
+ *           [-threads (count)] [-header]
+ * Serve mode answers validation requests from other processes on a local
+ * socket until the process is stopped; see ValidationServer for the protocol:
+ *      -serve [port] [-cache (entries)]
+ * -cache keeps the results of recently seen values, for the batch validator or
+ * for the e-mail, name and URL validators of the server. The console and the
+ * server publish per validator metrics through JMX; see ValidatorMetrics.
+ * -zipstate also checks that each ZIP code belongs to its state for option G,
+ * and -stricttld checks each top level domain against a list for option C.
  * @author Dustin Ray
  * @version Summer 2021
  */
 public class Application {
 
-    public static void main(final String[] theArgs) throws FileNotFoundException {
+    /** Usage text printed when the batch arguments cannot be parsed. */
+    private static final String USAGE =
+            "Usage: Application -batch <option A-L> <input file> [-out <output file>] [-summary]"
+                    + " [-threads <count>] [-chunk <bytes>] [-cache <entries>] [-zipstate] [-stricttld]\n"
+                    + "       Application -csv <columns, e.g. A,B,-,C> <input file> [-out <output file>]"
+                    + " [-summary] [-threads <count>] [-header]\n"
+                    + "       Application -scan <input file> [-out <output file>]\n"
+                    + "       Application -words <input file> [-out <output file>] [-threads <count>]"
+                    + " [-chunk <bytes>]\n"
+                    + "       Application -serve [port] [-cache <entries>]";
 
-        new RegEx();
+    public static void main(final String[] theArgs) throws IOException {
+        final IOException tables = DfaTables.getLoadFailure();
+        if (tables != null) {
+            System.err.println("Ignoring the prebuilt validator tables: " + tables.getMessage());
+        }
+
+        if (theArgs.length == 0) {
+            new RegEx();
+        } else if (theArgs[0].equals("-batch")) {
+            runBatch(theArgs);
+        } else if (theArgs[0].equals("-csv")) {
+            runCsv(theArgs);
+        } else if (theArgs[0].equals("-scan")) {
+            runScan(theArgs);
+        } else if (theArgs[0].equals("-words")) {
+            runWords(theArgs);
+        } else if (theArgs[0].equals("-serve")) {
+            runServer(theArgs);
+        } else {
+            System.err.println(USAGE);
+        }
+    }
+
+    /**
+     * Parses the batch arguments and validates the input file.
+     * @param theArgs the command line arguments, starting with -batch.
+     * @throws IOException if the input cannot be read or the output cannot be written.
+     */
+    private static void runBatch(final String[] theArgs) throws IOException {
+        if (theArgs.length < 3 || ValidatorType.forOption(theArgs[1]) == null) {
+            System.err.println(USAGE);
+            return;
+        }
+        final ValidatorType type = ValidatorType.forOption(theArgs[1]);
+        final Path input = Path.of(theArgs[2]);
+        Path output = null;
+        boolean summaryOnly = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = ParallelBatchValidator.DEFAULT_CHUNK_SIZE;
+        int cacheSize = 0;
+        for (int i = 3; i < theArgs.length; i++) {
+            switch (theArgs[i]) {
+                case "-summary" -> summaryOnly = true;
+                case "-zipstate" -> Validators.setZipStateCheck(true);
+                case "-stricttld" -> Validators.setStrictEmail(true);
+                case "-out" -> {
+                    if (++i == theArgs.length) {
+                        System.err.println(USAGE);
+                        return;
+                    }
+                    output = Path.of(theArgs[i]);
+                }
+                case "-threads", "-chunk", "-cache" -> {
+                    final int value = ++i == theArgs.length ? 0 : parsePositive(theArgs[i]);
+                    if (value == 0) {
+                        System.err.println(USAGE);
+                        return;
+                    }
+                    switch (theArgs[i - 1]) {
+                        case "-threads" -> threads = value;
+                        case "-chunk" -> chunkSize = value;
+                        default -> cacheSize = value;
+                    }
+                }
+                default -> {
+                    System.err.println(USAGE);
+                    return;
+                }
+            }
+        }
+
+        final ValidationCache cache = cacheSize > 0 ? Validators.enableCache(type, cacheSize) : null;
+        try (WritableByteChannel channel = openOutput(output)) {
+            final ChannelWriter writer = new ChannelWriter(channel);
+            final ResultSink sink = summaryOnly ? ResultSink.NONE : new ChannelSink(writer);
+            final BatchSummary summary;
+            if (threads == 1) {
+                summary = new BatchValidator(type, sink).run(input);
+            } else {
+                summary = new ParallelBatchValidator(type, sink, threads, chunkSize).run(input);
+            }
+            summary.writeTo(writer);
+            if (cache != null) {
+                writer.writeAscii("Cache: " + cache + "\n");
+            }
+            writer.flush();
+        }
+    }
+
+    /**
+     * Parses the CSV arguments and validates the input file.
+     * @param theArgs the command line arguments, starting with -csv.
+     * @throws IOException if the input cannot be read or the output cannot be written.
+     */
+    private static void runCsv(final String[] theArgs) throws IOException {
+        final ValidatorType[] columns = theArgs.length < 3 ? null : CsvValidator.parseColumns(theArgs[1]);
+        if (columns == null) {
+            System.err.println(USAGE);
+            return;
+        }
+        final Path input = Path.of(theArgs[2]);
+        Path output = null;
+        boolean summaryOnly = false;
+        boolean header = false;
+        int threads = Runtime.getRuntime().availableProcessors();
+        for (int i = 3; i < theArgs.length; i++) {
+            switch (theArgs[i]) {
+                case "-summary" -> summaryOnly = true;
+                case "-header" -> header = true;
+                case "-out" -> {
+                    if (++i == theArgs.length) {
+                        System.err.println(USAGE);
+                        return;
+                    }
+                    output = Path.of(theArgs[i]);
+                }
+                case "-threads" -> {
+                    threads = ++i == theArgs.length ? 0 : parsePositive(theArgs[i]);
+                    if (threads == 0) {
+                        System.err.println(USAGE);
+                        return;
+                    }
+                }
+                default -> {
+                    System.err.println(USAGE);
+                    return;
+                }
+            }
+        }
+
+        try (WritableByteChannel channel = openOutput(output)) {
+            final ChannelWriter writer = new ChannelWriter(channel);
+            new CsvValidator(columns, threads, header, summaryOnly).run(input, writer);
+            writer.flush();
+        }
+    }
+
+    /**
+     * Parses the scan arguments and scans the input file.
+     * @param theArgs the command line arguments, starting with -scan.
+     * @throws IOException if the input cannot be read or the output cannot be written.
+     */
+    private static void runScan(final String[] theArgs) throws IOException {
+        final Path output;
+        if (theArgs.length == 2) {
+            output = null;
+        } else if (theArgs.length == 4 && theArgs[2].equals("-out")) {
+            output = Path.of(theArgs[3]);
+        } else {
+            System.err.println(USAGE);
+            return;
+        }
+        try (WritableByteChannel channel = openOutput(output)) {
+            new PiiScanner().scan(Path.of(theArgs[1]), new ChannelWriter(channel));
+        }
+    }
+
+    /**
+     * Parses the words arguments and counts the words of the input file.
+     * @param theArgs the command line arguments, starting with -words.
+     * @throws IOException if the input cannot be read or the output cannot be written.
+     */
+    private static void runWords(final String[] theArgs) throws IOException {
+        if (theArgs.length < 2) {
+            System.err.println(USAGE);
+            return;
+        }
+        Path output = null;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int chunkSize = IonWordCounter.DEFAULT_CHUNK_SIZE;
+        for (int i = 2; i < theArgs.length; i++) {
+            switch (theArgs[i]) {
+                case "-out" -> {
+                    if (++i == theArgs.length) {
+                        System.err.println(USAGE);
+                        return;
+                    }
+                    output = Path.of(theArgs[i]);
+                }
+                case "-threads", "-chunk" -> {
+                    final int value = ++i == theArgs.length ? 0 : parsePositive(theArgs[i]);
+                    if (value == 0) {
+                        System.err.println(USAGE);
+                        return;
+                    }
+                    switch (theArgs[i - 1]) {
+                        case "-threads" -> threads = value;
+                        default -> chunkSize = value;
+                    }
+                }
+                default -> {
+                    System.err.println(USAGE);
+                    return;
+                }
+            }
+        }
+
+        try (WritableByteChannel channel = openOutput(output)) {
+            new IonWordCounter(threads, chunkSize).run(Path.of(theArgs[1]), new ChannelWriter(channel));
+        }
+    }
+
+    /**
+     * Parses the serve arguments and serves requests until the process is stopped.
+     * @param theArgs the command line arguments, starting with -serve.
+     * @throws IOException if the port cannot be bound.
+     */
+    private static void runServer(final String[] theArgs) throws IOException {
+        int port = ValidationServer.DEFAULT_PORT;
+        int next = 1;
+        if (next < theArgs.length && !theArgs[next].equals("-cache")) {
+            port = parsePositive(theArgs[next++]);
+        }
+        int cacheSize = 0;
+        if (next + 1 < theArgs.length && theArgs[next].equals("-cache")) {
+            cacheSize = parsePositive(theArgs[next + 1]);
+            next += cacheSize == 0 ? 0 : 2;
+        }
+        if (next != theArgs.length || port == 0 || port > 65535) {
+            System.err.println(USAGE);
+            return;
+        }
+        if (cacheSize > 0) {
+            Validators.enableCache(ValidatorType.EMAIL_ADDRESS, cacheSize);
+            Validators.enableCache(ValidatorType.LAST_NAME_FIRST_NAME_MIDDLE_INITIAL, cacheSize);
+            Validators.enableCache(ValidatorType.URL_WITH_HTTP, cacheSize);
+        }
+        ValidatorMetrics.enable();
+        final ValidationServer server = new ValidationServer(port);
+        System.out.println("Serving validators on localhost:" + server.getPort());
+    }
+
+    /**
+     * Parses a positive int argument.
+     * @param theValue the argument.
+     * @return the value, or 0 if theValue is not a positive int.
+     */
+    private static int parsePositive(final String theValue) {
+        try {
+            return Math.max(Integer.parseInt(theValue), 0);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * Opens the batch output, standard out when no file is given.
+     * @param theOutput the output file, or null.
+     * @return the channel to write results to.
+     * @throws IOException if the output file cannot be created.
+     */
+    private static WritableByteChannel openOutput(final Path theOutput) throws IOException {
+        if (theOutput == null) {
+            return new FileOutputStream(FileDescriptor.out).getChannel();
+        }
+        return FileChannel.open(theOutput, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
     }
 }
@@ -0,0 +1,145 @@
+package RegexApplication.src;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Table of valid US area codes, loaded once from res/areaCodes.txt.
+ * List of valid area codes obtained from:
+ * https://textlists.info/geography/list-of-u-s-area-codes-and-states/
+ *
+ * The codes are held as a 1000 bit set indexed directly by the three digit code,
+ * so a lookup is a single array read and allocates nothing. The set is never
+ * modified after it is built; reload builds a new set and publishes it through a
+ * volatile field, so threads validating during a reload see either the old or the
+ * new table in full.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class AreaCodes {
+
+    /** Name of the bundled area code list. */
+    private static final String FILE_NAME = "areaCodes.txt";
+
+    /** Number of possible three digit codes. */
+    private static final int CODE_COUNT = 1000;
+
+    /** Bit set of valid codes, null until first use. */
+    private static volatile long[] myCodes;
+
+    /** Static helpers only. */
+    private AreaCodes() {}
+
+    /**
+     * Checks whether a three digit area code is valid.
+     * @param theCode the area code, 0 through 999.
+     * @return true if theCode is in the table.
+     * @throws FileNotFoundException if the table has not been loaded and the list cannot be found.
+     */
+    public static boolean contains(final int theCode) throws FileNotFoundException {
+        final long[] codes = table();
+        return theCode >= 0 && theCode < CODE_COUNT && (codes[theCode >>> 6] & (1L << theCode)) != 0;
+    }
+
+    /**
+     * Checks whether the three characters at theOffset spell a valid area code.
+     * @param theInput the text holding the code.
+     * @param theOffset index of the first digit.
+     * @return true if the three characters are digits forming a valid code.
+     * @throws FileNotFoundException if the table has not been loaded and the list cannot be found.
+     */
+    public static boolean contains(final CharSequence theInput, final int theOffset)
+            throws FileNotFoundException {
+        if (theOffset < 0 || theOffset + 3 > theInput.length()) {
+            return false;
+        }
+        int code = 0;
+        for (int i = theOffset; i < theOffset + 3; i++) {
+            final int digit = theInput.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            code = code * 10 + digit;
+        }
+        return contains(code);
+    }
+
+    /**
+     * Reloads the bundled list. Lookups running concurrently keep using the
+     * previous table until the new one is complete.
+     * @throws IOException if the list cannot be read.
+     */
+    public static void reload() throws IOException {
+        try (InputStream in = Resources.open(FILE_NAME)) {
+            myCodes = parse(in);
+        }
+    }
+
+    /**
+     * Replaces the table with the codes listed in theFile, one code per line.
+     * @param theFile the list to load.
+     * @throws IOException if theFile cannot be read.
+     */
+    public static void reload(final Path theFile) throws IOException {
+        try (InputStream in = Files.newInputStream(theFile)) {
+            myCodes = parse(in);
+        }
+    }
+
+    /**
+     * @return the current table, loading the bundled list on first use.
+     * @throws FileNotFoundException if the bundled list cannot be found.
+     */
+    private static long[] table() throws FileNotFoundException {
+        long[] codes = myCodes;
+        if (codes == null) {
+            synchronized (AreaCodes.class) {
+                codes = myCodes;
+                if (codes == null) {
+                    try (InputStream in = Resources.open(FILE_NAME)) {
+                        codes = parse(in);
+                    } catch (FileNotFoundException e) {
+                        throw e;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    myCodes = codes;
+                }
+            }
+        }
+        return codes;
+    }
+
+    /**
+     * Builds a new bit set from a list of codes, one per line. Blank lines and
+     * lines that are not a three digit code are skipped.
+     * @param theInput the list to read.
+     * @return the populated bit set.
+     * @throws IOException if theInput cannot be read.
+     */
+    private static long[] parse(final InputStream theInput) throws IOException {
+        final long[] codes = new long[(CODE_COUNT + 63) >>> 6];
+        final BufferedReader reader =
+                new BufferedReader(new InputStreamReader(theInput, StandardCharsets.US_ASCII));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.length() == 3
+                    && Character.isDigit(line.charAt(0))
+                    && Character.isDigit(line.charAt(1))
+                    && Character.isDigit(line.charAt(2))) {
+                final int code = Integer.parseInt(line);
+                codes[code >>> 6] |= 1L << code;
+            }
+        }
+        return codes;
+    }
+}
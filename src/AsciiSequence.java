@@ -0,0 +1,110 @@
+package RegexApplication.src;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * CharSequence view of a slice of a ByteBuffer, one char per byte (ISO-8859-1).
+ * Nothing is copied or decoded: charAt reads the byte in place, so a matcher or
+ * scanner can run over mapped file contents directly and every char index is
+ * also a byte offset. ASCII input reads exactly as it would as a String.
+ *
+ * A view is mutable so one instance can be pointed at record after record
+ * without allocating.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class AsciiSequence implements CharSequence {
+
+    /** The viewed bytes. */
+    private ByteBuffer myBuffer;
+
+    /** Absolute index in myBuffer of char 0. */
+    private int myOffset;
+
+    /** Number of chars in the view. */
+    private int myLength;
+
+    /** Creates an empty view. */
+    public AsciiSequence() {
+        this(ByteBuffer.allocate(0), 0, 0);
+    }
+
+    /**
+     * Creates a view.
+     * @param theBuffer the bytes to view.
+     * @param theOffset absolute index of the first byte.
+     * @param theLength number of bytes.
+     */
+    public AsciiSequence(final ByteBuffer theBuffer, final int theOffset, final int theLength) {
+        reset(theBuffer, theOffset, theLength);
+    }
+
+    /**
+     * Points this view at another slice.
+     * @param theBuffer the bytes to view.
+     * @param theOffset absolute index of the first byte.
+     * @param theLength number of bytes.
+     * @return this view.
+     */
+    public AsciiSequence reset(final ByteBuffer theBuffer, final int theOffset, final int theLength) {
+        if (theOffset < 0 || theLength < 0 || theOffset + theLength > theBuffer.limit()) {
+            throw new IndexOutOfBoundsException("Slice " + theOffset + "+" + theLength
+                    + " outside buffer of " + theBuffer.limit());
+        }
+        myBuffer = theBuffer;
+        myOffset = theOffset;
+        myLength = theLength;
+        return this;
+    }
+
+    /**
+     * Points this view at a slice of another view's buffer.
+     * @param theOther the view whose buffer to share.
+     * @param theStart index in theOther of the first char.
+     * @param theEnd index in theOther one past the last char.
+     * @return this view.
+     */
+    public AsciiSequence reset(final AsciiSequence theOther, final int theStart, final int theEnd) {
+        return reset(theOther.myBuffer, theOther.myOffset + theStart, theEnd - theStart);
+    }
+
+    /** @return the viewed buffer. */
+    public ByteBuffer buffer() {
+        return myBuffer;
+    }
+
+    /** @return absolute index in the buffer of char 0. */
+    public int offset() {
+        return myOffset;
+    }
+
+    @Override
+    public int length() {
+        return myLength;
+    }
+
+    @Override
+    public char charAt(final int theIndex) {
+        if (theIndex < 0 || theIndex >= myLength) {
+            throw new IndexOutOfBoundsException(theIndex);
+        }
+        return (char) (myBuffer.get(myOffset + theIndex) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(final int theStart, final int theEnd) {
+        if (theStart < 0 || theEnd > myLength || theStart > theEnd) {
+            throw new IndexOutOfBoundsException(theStart + ".." + theEnd);
+        }
+        return new AsciiSequence(myBuffer, myOffset + theStart, theEnd - theStart);
+    }
+
+    @Override
+    public String toString() {
+        final byte[] bytes = new byte[myLength];
+        myBuffer.get(myOffset, bytes, 0, myLength);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+}
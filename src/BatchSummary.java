@@ -0,0 +1,90 @@
+package RegexApplication.src;
+
+import java.io.IOException;
+
+/**
+ * Totals from a batch validation run.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class BatchSummary {
+
+    /** The validator that was run. */
+    private final ValidatorType myType;
+
+    /** Number of lines validated. */
+    private final long myLines;
+
+    /** Number of lines that passed validation. */
+    private final long myMatches;
+
+    /** Wall clock time of the run in nanoseconds. */
+    private final long myElapsedNanos;
+
+    /**
+     * Creates a summary.
+     * @param theType the validator that was run.
+     * @param theLines number of lines validated.
+     * @param theMatches number of lines that passed validation.
+     * @param theElapsedNanos wall clock time of the run in nanoseconds.
+     */
+    public BatchSummary(final ValidatorType theType, final long theLines,
+                        final long theMatches, final long theElapsedNanos) {
+        myType = theType;
+        myLines = theLines;
+        myMatches = theMatches;
+        myElapsedNanos = theElapsedNanos;
+    }
+
+    /** @return the validator that was run. */
+    public ValidatorType getType() {
+        return myType;
+    }
+
+    /** @return number of lines validated. */
+    public long getLines() {
+        return myLines;
+    }
+
+    /** @return number of lines that passed validation. */
+    public long getMatches() {
+        return myMatches;
+    }
+
+    /** @return number of lines that failed validation. */
+    public long getRejects() {
+        return myLines - myMatches;
+    }
+
+    /** @return wall clock time of the run in nanoseconds. */
+    public long getElapsedNanos() {
+        return myElapsedNanos;
+    }
+
+    /** @return validation throughput over the whole run. */
+    public long getLinesPerSecond() {
+        return myElapsedNanos == 0 ? 0 : (long) (myLines * 1_000_000_000.0 / myElapsedNanos);
+    }
+
+    /**
+     * Writes the totals, one per line.
+     * @param theWriter destination of the report.
+     * @throws IOException if theWriter cannot be written.
+     */
+    public void writeTo(final ChannelWriter theWriter) throws IOException {
+        theWriter.writeAscii("Validator: ");
+        theWriter.writeAscii(myType.getOption());
+        theWriter.writeAscii("\nLines: ");
+        theWriter.writeLong(myLines);
+        theWriter.writeAscii("\nMatched: ");
+        theWriter.writeLong(myMatches);
+        theWriter.writeAscii("\nRejected: ");
+        theWriter.writeLong(getRejects());
+        theWriter.writeAscii("\nElapsed ms: ");
+        theWriter.writeLong(myElapsedNanos / 1_000_000L);
+        theWriter.writeAscii("\nLines per second: ");
+        theWriter.writeLong(getLinesPerSecond());
+        theWriter.write('\n');
+    }
+}
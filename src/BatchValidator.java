@@ -0,0 +1,106 @@
+package RegexApplication.src;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Validates every line of a file against one validator. The file is memory
+ * mapped a window at a time, so only the window being scanned is resident and
+ * the file is never copied onto the heap as a whole. Lines may end in LF or CRLF.
+ * Each line is validated in place in the mapped window; no String is built for
+ * it unless it holds non ASCII text.
+ *
+ * Each result is handed to a ResultSink along with its line number; the
+ * totals are returned as a BatchSummary.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class BatchValidator {
+
+    /** Largest region of the input mapped at once. */
+    static final long MAP_WINDOW = 64L << 20;
+
+    /** The validator to run on each line. */
+    private final ValidatorType myType;
+
+    /** Destination of the per line results. */
+    private final ResultSink mySink;
+
+    /**
+     * Creates a batch validator.
+     * @param theType the validator to run on each line.
+     * @param theSink destination of the per line results, ResultSink.NONE for totals only.
+     */
+    public BatchValidator(final ValidatorType theType, final ResultSink theSink) {
+        myType = theType;
+        mySink = theSink;
+    }
+
+    /**
+     * Validates every line of theInput, passing each result to the sink.
+     * @param theInput the file to validate.
+     * @return the totals of the run.
+     * @throws IOException if theInput cannot be read or the sink cannot be written.
+     */
+    public BatchSummary run(final Path theInput) throws IOException {
+        final long start = System.nanoTime();
+        long lines = 0;
+        long matches = 0;
+        try (FileChannel channel = FileChannel.open(theInput, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                final int length = (int) Math.min(MAP_WINDOW, size - position);
+                final ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                final boolean lastWindow = position + length == size;
+                int lineStart = 0;
+                for (int i = 0; i < length; i++) {
+                    if (region.get(i) == '\n') {
+                        lines++;
+                        if (validateLine(region, lineStart, i, lines)) {
+                            matches++;
+                        }
+                        lineStart = i + 1;
+                    }
+                }
+                if (lastWindow && lineStart < length) {
+                    lines++;
+                    if (validateLine(region, lineStart, length, lines)) {
+                        matches++;
+                    }
+                    lineStart = length;
+                } else if (lineStart == 0) {
+                    throw new IOException("Line longer than " + MAP_WINDOW + " bytes at offset " + position);
+                }
+                // The next window starts with the line that did not fit in this one.
+                position += lineStart;
+            }
+        }
+        mySink.flush();
+        return new BatchSummary(myType, lines, matches, System.nanoTime() - start);
+    }
+
+    /**
+     * Validates one line and passes its result to the sink.
+     * @param theRegion the mapped window holding the line.
+     * @param theStart index of the first byte of the line.
+     * @param theEnd index of the line terminator, or the end of the file.
+     * @param theLineNumber one based number of the line.
+     * @return true if the line is valid.
+     * @throws IOException if the sink cannot be written.
+     */
+    private boolean validateLine(final ByteBuffer theRegion, final int theStart, final int theEnd,
+                                 final long theLineNumber) throws IOException {
+        int end = theEnd;
+        if (end > theStart && theRegion.get(end - 1) == '\r') {
+            end--;
+        }
+        final boolean valid = Validators.validate(myType, theRegion, theStart, end - theStart);
+        mySink.accept(myType, theLineNumber, valid);
+        return valid;
+    }
+}
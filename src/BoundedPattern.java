@@ -0,0 +1,169 @@
+package RegexApplication.src;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A regular expression whose match time is bounded, whatever the input.
+ *
+ * Expressions in the lookaround free subset run on LinearPattern, whose cost
+ * is linear in the input length, so they always finish and never time out.
+ * Any other expression runs on java.util.regex with a step budget: the input
+ * is read through a view that counts the characters the matcher reads, and a
+ * match that reads more than its budget is abandoned and reported as TIMEOUT
+ * instead of backtracking for seconds or years. A match that recurses too
+ * deeply for the thread's stack, which java.util.regex does on long inputs to
+ * some repeated groups, is reported as TIMEOUT as well.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class BoundedPattern {
+
+    /** Result of a bounded match. */
+    public enum Outcome {
+        /** The whole input matched. */
+        MATCH,
+        /** The input did not match. */
+        NO_MATCH,
+        /** The step budget or the stack ran out before the matcher decided. */
+        TIMEOUT
+    }
+
+    /** Default budget per input char for the backtracking fallback. */
+    public static final int DEFAULT_STEPS_PER_CHAR = 256;
+
+    /** Budget every input gets on top of its per char budget. */
+    private static final int BASE_STEPS = 4096;
+
+    /** The expression as java.util.regex compiled it. */
+    private final Pattern myPattern;
+
+    /** The linear time program, or null if the expression is outside its subset. */
+    private final LinearPattern myLinear;
+
+    /** Fallback budget per input char. */
+    private final int myStepsPerChar;
+
+    /** Per thread fallback matcher and counting view. */
+    private final ThreadLocal<Budgeted> myFallback;
+
+    /**
+     * Creates a bounded form of thePattern.
+     * @param thePattern the expression.
+     * @param theStepsPerChar budget per input char when the fallback is used, at least 1.
+     */
+    public BoundedPattern(final Pattern thePattern, final int theStepsPerChar) {
+        if (theStepsPerChar < 1) {
+            throw new IllegalArgumentException("Step budget must be positive");
+        }
+        myPattern = thePattern;
+        myLinear = LinearPattern.tryCompile(thePattern.pattern());
+        myStepsPerChar = theStepsPerChar;
+        myFallback = ThreadLocal.withInitial(() -> new Budgeted(myPattern));
+    }
+
+    /**
+     * Creates a bounded form of thePattern with the default budget.
+     * @param thePattern the expression.
+     */
+    public BoundedPattern(final Pattern thePattern) {
+        this(thePattern, DEFAULT_STEPS_PER_CHAR);
+    }
+
+    /** @return true if matches run in linear time, false if they use the budgeted fallback. */
+    public boolean isLinear() {
+        return myLinear != null;
+    }
+
+    /**
+     * Matches the whole of theInput, like Matcher.matches, within the budget.
+     * Safe to call from any number of threads.
+     * @param theInput the text to match.
+     * @return MATCH, NO_MATCH, or TIMEOUT if the fallback ran out of budget.
+     */
+    public Outcome match(final CharSequence theInput) {
+        if (myLinear != null) {
+            return myLinear.matches(theInput) ? Outcome.MATCH : Outcome.NO_MATCH;
+        }
+        final long budget = BASE_STEPS + (long) myStepsPerChar * theInput.length();
+        return myFallback.get().match(theInput, budget);
+    }
+
+    /**
+     * Matches the whole of theInput; a timeout counts as no match.
+     * @param theInput the text to match.
+     * @return true if theInput matched within the budget.
+     */
+    public boolean matches(final CharSequence theInput) {
+        return match(theInput) == Outcome.MATCH;
+    }
+
+    /** Counting view of the input plus the matcher reading it, for one thread. */
+    private static final class Budgeted implements CharSequence {
+
+        /** Thrown to abandon a match; carries no stack trace so it costs nothing to create. */
+        private static final RuntimeException EXHAUSTED = new RuntimeException("Step budget exhausted", null,
+                false, false) { };
+
+        /** The matcher, reset onto this view for each match. */
+        private final Matcher myMatcher;
+
+        /** The real input. */
+        private CharSequence myInput;
+
+        /** Reads left before the match is abandoned. */
+        private long myRemaining;
+
+        /** @param thePattern the expression to match. */
+        Budgeted(final Pattern thePattern) {
+            myMatcher = thePattern.matcher("");
+        }
+
+        /**
+         * @param theInput the text to match.
+         * @param theBudget number of char reads allowed.
+         * @return the outcome.
+         */
+        Outcome match(final CharSequence theInput, final long theBudget) {
+            myInput = theInput;
+            myRemaining = theBudget;
+            try {
+                return myMatcher.reset(this).matches() ? Outcome.MATCH : Outcome.NO_MATCH;
+            } catch (RuntimeException e) {
+                if (e != EXHAUSTED) {
+                    throw e;
+                }
+                return Outcome.TIMEOUT;
+            } catch (StackOverflowError e) {
+                return Outcome.TIMEOUT;
+            } finally {
+                myMatcher.reset("");
+                myInput = null;
+            }
+        }
+
+        @Override
+        public int length() {
+            return myInput.length();
+        }
+
+        @Override
+        public char charAt(final int theIndex) {
+            if (--myRemaining < 0) {
+                throw EXHAUSTED;
+            }
+            return myInput.charAt(theIndex);
+        }
+
+        @Override
+        public CharSequence subSequence(final int theStart, final int theEnd) {
+            return myInput.subSequence(theStart, theEnd);
+        }
+
+        @Override
+        public String toString() {
+            return myInput.toString();
+        }
+    }
+}
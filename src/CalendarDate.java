@@ -0,0 +1,68 @@
+package RegexApplication.src;
+
+/**
+ * Allocation free calendar check for dates in MM-DD-YYYY format. Digits are read
+ * straight from their fixed positions, the days in each month come from a table
+ * and leap years follow the full Gregorian rule: every fourth year, except
+ * centuries that are not divisible by 400.
+ *
+ * A valid date is returned packed into one int as YYYYMMDD, so callers that need
+ * the parts can take them apart with year, month and day instead of parsing the
+ * string again.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class CalendarDate {
+
+    /** Returned by parse for anything that is not a real date. */
+    public static final int INVALID = -1;
+
+    /** Days in each month of a common year, indexed by month number. */
+    private static final int[] DAYS_IN_MONTH = {0, 31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /** Static helpers only. */
+    private CalendarDate() {}
+
+    /**
+     * Parses and checks a date in MM-DD-YYYY format.
+     * @param theInput the text to parse.
+     * @return the date packed as YYYYMMDD, or INVALID.
+     */
+    public static int parse(final CharSequence theInput) {
+        if (theInput.length() != 10 || theInput.charAt(2) != '-' || theInput.charAt(5) != '-') {
+            return INVALID;
+        }
+        final int month = FormatScanners.digits(theInput, 0, 2);
+        final int day = FormatScanners.digits(theInput, 3, 2);
+        final int year = FormatScanners.digits(theInput, 6, 4);
+        if (month < 1 || month > 12 || day < 1 || year < 0) {
+            return INVALID;
+        }
+        final int daysInMonth = month == 2 && isLeapYear(year) ? 29 : DAYS_IN_MONTH[month];
+        return day <= daysInMonth ? year * 10_000 + month * 100 + day : INVALID;
+    }
+
+    /**
+     * @param theYear a year of the Gregorian calendar.
+     * @return true if theYear has a February 29th.
+     */
+    public static boolean isLeapYear(final int theYear) {
+        return (theYear % 4 == 0 && theYear % 100 != 0) || theYear % 400 == 0;
+    }
+
+    /** @return the year of a date packed by parse. */
+    public static int year(final int thePackedDate) {
+        return thePackedDate / 10_000;
+    }
+
+    /** @return the month, 1 through 12, of a date packed by parse. */
+    public static int month(final int thePackedDate) {
+        return thePackedDate / 100 % 100;
+    }
+
+    /** @return the day of the month of a date packed by parse. */
+    public static int day(final int thePackedDate) {
+        return thePackedDate % 100;
+    }
+}
@@ -0,0 +1,110 @@
+package RegexApplication.src;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Finds the windows of a text that PiiScanner sends to the validators, so the
+ * bytes in between are never looked at by them. There are two kinds:
+ *
+ *      a run, a maximal sequence of ASCII digits and the separators
+ *      ( ) - , . $ and space, that holds at least MIN_DIGITS digits or a
+ *      '$' directly followed by a digit. Only a run can hold a Social
+ *      Security Number, phone number, MM-DD-YYYY date or dollar amount,
+ *      which have 9, 10, 8 and at least 1 digit respectively;
+ *
+ *      a trigger, the single byte '@' or ':', around which an e-mail
+ *      address or URL may be found.
+ *
+ * Runs that hold too few digits, such as the fields of a time stamp or a
+ * short id, are passed over by the locator itself. A window is returned as
+ * a long packing its start and end; see start and end.
+ *
+ * create picks VectorCandidateLocator, which classifies a whole SIMD register
+ * of bytes per step, when the jdk.incubator.vector module is present, e.g.
+ *      java --add-modules jdk.incubator.vector ...
+ * and ScalarCandidateLocator, one table lookup per byte, otherwise or when
+ * -DRegexApplication.simd=false is set. Both return the same windows.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public interface CandidateLocator {
+
+    /** System property that turns the vector locator off when set to false. */
+    String ENABLE_PROPERTY = "RegexApplication.simd";
+
+    /** Returned by next when there is no window. */
+    long NONE = -1;
+
+    /** Fewest digits a run needs to hold, unless it holds a '$' followed by a digit. */
+    int MIN_DIGITS = 8;
+
+    /**
+     * Finds the next window. A run is taken to start no earlier than theFrom
+     * and to end no later than theTo.
+     * @param theBuffer the text, read by absolute index.
+     * @param theFrom index to start at.
+     * @param theTo index to stop at.
+     * @return the first window in [theFrom, theTo), or NONE if there is none.
+     */
+    long next(ByteBuffer theBuffer, int theFrom, int theTo);
+
+    /**
+     * @param theByte a byte of text.
+     * @return true if theByte may be part of a run.
+     */
+    static boolean isRunByte(final byte theByte) {
+        return theByte >= '0' && theByte <= '9' || theByte == '(' || theByte == ')' || theByte == '-'
+                || theByte == ',' || theByte == '.' || theByte == '$' || theByte == ' ';
+    }
+
+    /**
+     * @param theByte a byte of text.
+     * @return true if theByte is a trigger.
+     */
+    static boolean isTrigger(final byte theByte) {
+        return theByte == '@' || theByte == ':';
+    }
+
+    /**
+     * @param theStart index of the first byte of a window.
+     * @param theEnd index one past its last byte.
+     * @return the window packed as next returns it.
+     */
+    static long window(final int theStart, final int theEnd) {
+        return (long) theStart << 32 | theEnd;
+    }
+
+    /**
+     * @param theWindow a window returned by next.
+     * @return index of its first byte.
+     */
+    static int start(final long theWindow) {
+        return (int) (theWindow >>> 32);
+    }
+
+    /**
+     * @param theWindow a window returned by next.
+     * @return index one past its last byte.
+     */
+    static int end(final long theWindow) {
+        return (int) theWindow;
+    }
+
+    /**
+     * @return the vector locator if this JVM can run it, the scalar one otherwise.
+     */
+    static CandidateLocator create() {
+        if (!"false".equals(System.getProperty(ENABLE_PROPERTY))) {
+            try {
+                // Loaded by name so that nothing links against the incubator module
+                // unless it is present.
+                return (CandidateLocator) Class.forName("RegexApplication.src.VectorCandidateLocator")
+                        .getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException | LinkageError e) {
+                // jdk.incubator.vector is not resolved; fall through to the scalar loop.
+            }
+        }
+        return new ScalarCandidateLocator();
+    }
+}
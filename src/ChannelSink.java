@@ -0,0 +1,36 @@
+package RegexApplication.src;
+
+import java.io.IOException;
+
+/**
+ * Writes each result as "record number, space, true or false" through a
+ * buffered ChannelWriter. This is the per line output of batch mode.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ChannelSink implements ResultSink {
+
+    /** Destination of the results. */
+    private final ChannelWriter myWriter;
+
+    /**
+     * Creates a sink.
+     * @param theWriter destination of the results.
+     */
+    public ChannelSink(final ChannelWriter theWriter) {
+        myWriter = theWriter;
+    }
+
+    @Override
+    public void accept(final ValidatorType theType, final long theRecord, final boolean theValid)
+            throws IOException {
+        myWriter.writeLong(theRecord);
+        myWriter.writeAscii(theValid ? " true\n" : " false\n");
+    }
+
+    @Override
+    public void flush() throws IOException {
+        myWriter.flush();
+    }
+}
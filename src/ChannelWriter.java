@@ -0,0 +1,161 @@
+package RegexApplication.src;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Buffered ASCII writer over a WritableByteChannel. Output is collected in a
+ * direct buffer and handed to the channel only when the buffer fills, so batch
+ * results cost one channel write per buffer rather than one per line.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ChannelWriter implements Closeable {
+
+    /** Default size of the output buffer. */
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+
+    /** Scratch space for formatting a long, 19 digits plus sign. */
+    private final byte[] myDigits = new byte[20];
+
+    /** Destination of the output. */
+    private final WritableByteChannel myChannel;
+
+    /** Pending output. */
+    private final ByteBuffer myBuffer;
+
+    /**
+     * Creates a writer with the default buffer size.
+     * @param theChannel destination of the output.
+     */
+    public ChannelWriter(final WritableByteChannel theChannel) {
+        this(theChannel, DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a writer.
+     * @param theChannel destination of the output.
+     * @param theCapacity size of the output buffer in bytes.
+     */
+    public ChannelWriter(final WritableByteChannel theChannel, final int theCapacity) {
+        myChannel = theChannel;
+        myBuffer = ByteBuffer.allocateDirect(theCapacity);
+    }
+
+    /**
+     * Writes a single byte.
+     * @param theByte the byte to write.
+     * @throws IOException if the channel cannot be written.
+     */
+    public void write(final int theByte) throws IOException {
+        if (!myBuffer.hasRemaining()) {
+            drain();
+        }
+        myBuffer.put((byte) theByte);
+    }
+
+    /**
+     * Writes the bytes between theOffset and theOffset + theLength.
+     * @param theBytes the source array.
+     * @param theOffset index of the first byte to write.
+     * @param theLength number of bytes to write.
+     * @throws IOException if the channel cannot be written.
+     */
+    public void write(final byte[] theBytes, final int theOffset, final int theLength) throws IOException {
+        int offset = theOffset;
+        int remaining = theLength;
+        while (remaining > 0) {
+            if (!myBuffer.hasRemaining()) {
+                drain();
+            }
+            final int count = Math.min(remaining, myBuffer.remaining());
+            myBuffer.put(theBytes, offset, count);
+            offset += count;
+            remaining -= count;
+        }
+    }
+
+    /**
+     * Writes the remaining bytes of theBytes without changing its position.
+     * @param theBytes the bytes to write.
+     * @throws IOException if the channel cannot be written.
+     */
+    public void write(final ByteBuffer theBytes) throws IOException {
+        final ByteBuffer source = theBytes.duplicate();
+        while (source.hasRemaining()) {
+            if (!myBuffer.hasRemaining()) {
+                drain();
+            }
+            final int count = Math.min(source.remaining(), myBuffer.remaining());
+            final int limit = source.limit();
+            source.limit(source.position() + count);
+            myBuffer.put(source);
+            source.limit(limit);
+        }
+    }
+
+    /**
+     * Writes theText, which must contain only ASCII characters.
+     * @param theText the text to write.
+     * @throws IOException if the channel cannot be written.
+     */
+    public void writeAscii(final CharSequence theText) throws IOException {
+        for (int i = 0; i < theText.length(); i++) {
+            write(theText.charAt(i));
+        }
+    }
+
+    /**
+     * Writes theValue in decimal without creating a String.
+     * @param theValue the number to write.
+     * @throws IOException if the channel cannot be written.
+     */
+    public void writeLong(final long theValue) throws IOException {
+        if (theValue == Long.MIN_VALUE) {
+            writeAscii(Long.toString(theValue));
+            return;
+        }
+        long value = Math.abs(theValue);
+        int index = myDigits.length;
+        do {
+            myDigits[--index] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        if (theValue < 0) {
+            myDigits[--index] = '-';
+        }
+        write(myDigits, index, myDigits.length - index);
+    }
+
+    /**
+     * Hands all pending output to the channel.
+     * @throws IOException if the channel cannot be written.
+     */
+    public void flush() throws IOException {
+        drain();
+    }
+
+    /**
+     * Flushes pending output. The channel itself is left open for the caller to close.
+     * @throws IOException if the channel cannot be written.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    /**
+     * Empties the buffer into the channel.
+     * @throws IOException if the channel cannot be written.
+     */
+    private void drain() throws IOException {
+        myBuffer.flip();
+        while (myBuffer.hasRemaining()) {
+            myChannel.write(myBuffer);
+        }
+        myBuffer.clear();
+    }
+}
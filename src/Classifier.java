@@ -0,0 +1,199 @@
+package RegexApplication.src;
+
+import java.io.FileNotFoundException;
+import java.util.EnumSet;
+
+/**
+ * Classifies a value of unknown type: finds every validator, A through L, that
+ * accepts it.
+ *
+ * Rather than running all twelve expressions, the input is walked once to build
+ * a profile of its length, its first and last characters and the kinds of
+ * characters it contains. Each validator has necessary conditions on that
+ * profile (an SSN has only digits, hyphens and spaces; an e-mail address has an
+ * '@'; currency starts with '$'; ...), so most validators are ruled out without
+ * running their expression. Only the survivors, usually one or two, are run in
+ * full through Validators.validate, which keeps the answer identical to trying every
+ * option in turn.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class Classifier {
+
+    /** Character kinds recorded in a profile. */
+    private static final int DIGIT = 1;
+    private static final int LOWER = 1 << 1;
+    private static final int UPPER = 1 << 2;
+    private static final int SPACE = 1 << 3;
+    private static final int OTHER_WHITESPACE = 1 << 4;
+    private static final int HYPHEN = 1 << 5;
+    private static final int PERIOD = 1 << 6;
+    private static final int COMMA = 1 << 7;
+    private static final int COLON = 1 << 8;
+    private static final int AT = 1 << 9;
+    private static final int DOLLAR = 1 << 10;
+    private static final int PARENTHESIS = 1 << 11;
+    private static final int APOSTROPHE = 1 << 12;
+    private static final int UNDERSCORE = 1 << 13;
+    private static final int OTHER_ASCII = 1 << 14;
+    private static final int QUESTION_MARK = 1 << 15;
+    private static final int NON_ASCII = 1 << 16;
+
+    /** Any ASCII letter. */
+    private static final int LETTER = LOWER | UPPER;
+
+    /** Characters of \w. */
+    private static final int WORD = LETTER | DIGIT | UNDERSCORE;
+
+    /** Characters of \s. */
+    private static final int WHITESPACE = SPACE | OTHER_WHITESPACE;
+
+    /** Cached copy of ValidatorType.values(). */
+    private static final ValidatorType[] VALUES = ValidatorType.values();
+
+    /** Kind of each ASCII character. */
+    private static final int[] KIND = new int[128];
+
+    static {
+        for (int c = 0; c < KIND.length; c++) {
+            KIND[c] = OTHER_ASCII;
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            KIND[c] = DIGIT;
+        }
+        for (int c = 'a'; c <= 'z'; c++) {
+            KIND[c] = LOWER;
+            KIND[c - 'a' + 'A'] = UPPER;
+        }
+        KIND[' '] = SPACE;
+        for (char c : new char[] {'\t', '\n', 0x0B, '\f', '\r'}) {
+            KIND[c] = OTHER_WHITESPACE;
+        }
+        KIND['-'] = HYPHEN;
+        KIND['.'] = PERIOD;
+        KIND[','] = COMMA;
+        KIND[':'] = COLON;
+        KIND['@'] = AT;
+        KIND['$'] = DOLLAR;
+        KIND['('] = PARENTHESIS;
+        KIND[')'] = PARENTHESIS;
+        KIND['\''] = APOSTROPHE;
+        KIND['_'] = UNDERSCORE;
+        KIND['?'] = QUESTION_MARK;
+    }
+
+    /** Static helpers only. */
+    private Classifier() {}
+
+    /**
+     * Finds every validator that accepts theInput.
+     * @param theInput the value to classify.
+     * @return the validators that accept theInput, possibly none.
+     * @throws FileNotFoundException if the area code list is needed and cannot be found.
+     */
+    public static EnumSet<ValidatorType> classify(final String theInput) throws FileNotFoundException {
+        final EnumSet<ValidatorType> types = EnumSet.noneOf(ValidatorType.class);
+        final int mask = classifyMask(theInput);
+        for (ValidatorType type : ValidatorType.values()) {
+            if ((mask & (1 << type.ordinal())) != 0) {
+                types.add(type);
+            }
+        }
+        return types;
+    }
+
+    /**
+     * Allocation free form of classify.
+     * @param theInput the value to classify.
+     * @return a bit mask with bit (1 << ordinal) set for each validator that accepts theInput.
+     * @throws FileNotFoundException if the area code list is needed and cannot be found.
+     */
+    public static int classifyMask(final String theInput) throws FileNotFoundException {
+        int candidates = candidates(theInput);
+        int result = 0;
+        while (candidates != 0) {
+            final int ordinal = Integer.numberOfTrailingZeros(candidates);
+            candidates &= candidates - 1;
+            if (Validators.validate(VALUES[ordinal], theInput)) {
+                result |= 1 << ordinal;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Walks theInput once and rules out every validator whose necessary
+     * conditions it fails. Never rules out a validator that would accept theInput.
+     * @param theInput the value to profile.
+     * @return a bit mask of the validators still possible.
+     */
+    static int candidates(final CharSequence theInput) {
+        final int length = theInput.length();
+        if (length == 0) {
+            return 0;
+        }
+        int kinds = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = theInput.charAt(i);
+            kinds |= c < 128 ? KIND[c] : NON_ASCII;
+        }
+        final char first = theInput.charAt(0);
+        final char last = theInput.charAt(length - 1);
+        final int firstKind = first < 128 ? KIND[first] : NON_ASCII;
+        final int lastKind = last < 128 ? KIND[last] : NON_ASCII;
+
+        int mask = 0;
+        if (length >= 9 && length <= 11 && firstKind == DIGIT && only(kinds, DIGIT | HYPHEN | SPACE)) {
+            mask |= bit(ValidatorType.SOCIAL_SECURITY_NUMBER);
+        }
+        if (length >= 10 && length <= 14 && lastKind == DIGIT
+                && only(kinds, DIGIT | HYPHEN | SPACE | PARENTHESIS)) {
+            mask |= bit(ValidatorType.US_PHONE_NUMBER);
+        }
+        if ((kinds & AT) != 0 && (lastKind & LETTER) != 0 && only(kinds, LETTER | DIGIT | PERIOD | HYPHEN | AT)) {
+            mask |= bit(ValidatorType.EMAIL_ADDRESS);
+        }
+        if ((kinds & COMMA) != 0 && (kinds & SPACE) != 0
+                && only(kinds, LETTER | NON_ASCII | WHITESPACE | COMMA | APOSTROPHE | HYPHEN | PERIOD)) {
+            mask |= bit(ValidatorType.LAST_NAME_FIRST_NAME_MIDDLE_INITIAL);
+        }
+        if (length == 10 && only(kinds, DIGIT | HYPHEN)) {
+            mask |= bit(ValidatorType.MM_DD_YYYY);
+        }
+        if (firstKind == DIGIT && (kinds & WHITESPACE) != 0 && only(kinds, WORD | WHITESPACE | PERIOD)) {
+            mask |= bit(ValidatorType.HOUSE_ADDRESS);
+        }
+        if ((kinds & COMMA) != 0 && lastKind == DIGIT && only(kinds, WORD | WHITESPACE | QUESTION_MARK | COMMA | HYPHEN)) {
+            mask |= bit(ValidatorType.CITY_STATE_ZIP);
+        }
+        if (length >= 4 && length <= 8 && firstKind == DIGIT && only(kinds, DIGIT | COLON | PERIOD)) {
+            mask |= bit(ValidatorType.MILITARY_TIME_WITH_SECONDS);
+        }
+        if (first == '$' && lastKind == DIGIT) {
+            mask |= bit(ValidatorType.US_CURRENCY_TO_PENNY);
+        }
+        if ((kinds & PERIOD) != 0 && (firstKind & (LETTER | DIGIT)) != 0) {
+            mask |= bit(ValidatorType.URL_WITH_HTTP);
+        }
+        if (length >= 10 && (kinds & DIGIT) != 0 && (kinds & LOWER) != 0 && (kinds & UPPER) != 0
+                && (kinds & ~(LETTER | DIGIT)) != 0) {
+            mask |= bit(ValidatorType.PASSWORD);
+        }
+        if (length >= 3 && (length & 1) == 1 && last == 'n'
+                && theInput.charAt(length - 2) == 'o' && theInput.charAt(length - 3) == 'i') {
+            mask |= bit(ValidatorType.ODD_CHARACTERS_ENDING_ION);
+        }
+        return mask;
+    }
+
+    /** @return true if theKinds contains nothing outside theAllowed. */
+    private static boolean only(final int theKinds, final int theAllowed) {
+        return (theKinds & ~theAllowed) == 0;
+    }
+
+    /** @return the mask bit of theType. */
+    private static int bit(final ValidatorType theType) {
+        return 1 << theType.ordinal();
+    }
+}
@@ -0,0 +1,15 @@
+package RegexApplication.src;
+
+/**
+ * Prints each result to standard out in the format of the interactive console.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ConsoleSink implements ResultSink {
+
+    @Override
+    public void accept(final ValidatorType theType, final long theRecord, final boolean theValid) {
+        System.out.println("Matches RegEx test: " + theValid);
+    }
+}
@@ -0,0 +1,35 @@
+package RegexApplication.src;
+
+/**
+ * Counts accepted and rejected results per validator and writes nothing.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class CountingSink implements ResultSink {
+
+    /** Accepted results, indexed by ValidatorType ordinal. */
+    private final long[] myAccepted = new long[ValidatorType.values().length];
+
+    /** Rejected results, indexed by ValidatorType ordinal. */
+    private final long[] myRejected = new long[ValidatorType.values().length];
+
+    @Override
+    public void accept(final ValidatorType theType, final long theRecord, final boolean theValid) {
+        if (theValid) {
+            myAccepted[theType.ordinal()]++;
+        } else {
+            myRejected[theType.ordinal()]++;
+        }
+    }
+
+    /** @return number of results theType accepted. */
+    public long getAccepted(final ValidatorType theType) {
+        return myAccepted[theType.ordinal()];
+    }
+
+    /** @return number of results theType rejected. */
+    public long getRejected(final ValidatorType theType) {
+        return myRejected[theType.ordinal()];
+    }
+}
@@ -0,0 +1,666 @@
+package RegexApplication.src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Validates CSV files whose columns each hold a different kind of value. Each
+ * column is mapped to a validator, or to none to skip it, and every cell is
+ * validated by the validator of its column. Each rejected cell is written as
+ * "line, tab, column, tab, option letter, tab, value" in file order, followed
+ * by the totals. The line is the one of the file where the cell's record
+ * starts, so blank lines, the header and quoted fields that span lines are
+ * counted; lines and columns are counted from 1. The Rows total is the number
+ * of records validated, which leaves out the header.
+ *
+ * The work runs as a pipeline of three stages connected by bounded queues:
+ *      parse     one thread reads the file and splits it into cells, copying
+ *                the cells of whole records into a batch of about a megabyte
+ *      validate  the worker threads validate the cells of a batch in place
+ *      write     the calling thread writes the rejected cells of each batch,
+ *                putting batches back in file order first
+ * Batches are handed between stages a whole batch at a time and recycled
+ * through a free queue, so the number of batches, and with it the memory used,
+ * is fixed by the thread count whatever the size of the file. A stage that gets
+ * ahead blocks on a full queue until the next one catches up.
+ *
+ * Fields follow RFC 4180: separated by commas, optionally quoted, with a
+ * doubled quote standing for a quote inside a quoted field, which may also span
+ * lines. Records end with LF or CRLF. Blank lines are skipped; a record with
+ * fewer cells than columns has its missing cells validated as empty.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class CsvValidator {
+
+    /** Bytes of cell data a batch holds before it is passed on. */
+    static final int BATCH_BYTES = 1 << 20;
+
+    /** Cells a batch holds before it is passed on. */
+    static final int BATCH_CELLS = 1 << 16;
+
+    /** Bytes read from the file at a time. */
+    private static final int READ_SIZE = 1 << 20;
+
+    /** Batches in circulation per worker thread. */
+    private static final int BATCHES_PER_THREAD = 4;
+
+    /** Parser states. */
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+
+    /** Validator of each column, null for a skipped column. */
+    private final ValidatorType[] myColumns;
+
+    /** Number of worker threads. */
+    private final int myThreads;
+
+    /** True if the first record is a header and is not validated. */
+    private final boolean myHeader;
+
+    /** True to write the totals only, not each rejected cell. */
+    private final boolean mySummaryOnly;
+
+    /** Cells validated per column. */
+    private final long[] myCells;
+
+    /** Cells rejected per column. */
+    private final long[] myRejected;
+
+    /** First failure of any stage; stops the pipeline. */
+    private final AtomicReference<Exception> myFailure = new AtomicReference<>();
+
+    /**
+     * Creates a CSV validator.
+     * @param theColumns the validator of each column, null to skip a column.
+     * @param theThreads number of worker threads, at least 1.
+     * @param theHeader true if the first record is a header.
+     * @param theSummaryOnly true to write the totals only.
+     */
+    public CsvValidator(final ValidatorType[] theColumns, final int theThreads,
+                        final boolean theHeader, final boolean theSummaryOnly) {
+        if (theThreads < 1) {
+            throw new IllegalArgumentException("Thread count must be positive");
+        }
+        myColumns = theColumns.clone();
+        myThreads = theThreads;
+        myHeader = theHeader;
+        mySummaryOnly = theSummaryOnly;
+        myCells = new long[theColumns.length];
+        myRejected = new long[theColumns.length];
+    }
+
+    /**
+     * Parses a column list such as "A,B,-,C": an option letter per column, or
+     * "-" for a column that is not validated.
+     * @param theSpec the column list.
+     * @return the validator of each column, or null if theSpec is malformed.
+     */
+    public static ValidatorType[] parseColumns(final String theSpec) {
+        final String[] names = theSpec.split(",", -1);
+        final ValidatorType[] columns = new ValidatorType[names.length];
+        boolean any = false;
+        for (int i = 0; i < names.length; i++) {
+            final String name = names[i].trim();
+            if (!name.equals("-")) {
+                columns[i] = ValidatorType.forOption(name);
+                if (columns[i] == null) {
+                    return null;
+                }
+                any = true;
+            }
+        }
+        return any ? columns : null;
+    }
+
+    /**
+     * Validates every cell of theInput.
+     * @param theInput the CSV file.
+     * @param theOutput destination of the rejected cells and the totals.
+     * @return number of rejected cells.
+     * @throws IOException if theInput cannot be read or theOutput cannot be written.
+     */
+    public long run(final Path theInput, final ChannelWriter theOutput) throws IOException {
+        final long start = System.nanoTime();
+        final int batches = BATCHES_PER_THREAD * myThreads + 2;
+        final BlockingQueue<Batch> free = new ArrayBlockingQueue<>(batches);
+        final BlockingQueue<Batch> parsed = new ArrayBlockingQueue<>(batches + myThreads);
+        final BlockingQueue<Batch> validated = new ArrayBlockingQueue<>(batches + myThreads);
+        for (int i = 0; i < batches; i++) {
+            free.add(new Batch());
+        }
+
+        final Parser parser = new Parser(free, parsed);
+        final Thread parseThread = new Thread(() -> parser.run(theInput), "csv-parse");
+        final Thread[] workers = new Thread[myThreads];
+        for (int i = 0; i < myThreads; i++) {
+            workers[i] = new Thread(() -> validate(parsed, validated), "csv-validate-" + i);
+        }
+        parseThread.start();
+        for (Thread worker : workers) {
+            worker.start();
+        }
+
+        long rejected = 0;
+        try {
+            rejected = write(validated, free, theOutput);
+        } finally {
+            parseThread.interrupt();
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+            join(parseThread);
+            for (Thread worker : workers) {
+                join(worker);
+            }
+        }
+        final Exception failure = myFailure.get();
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException) failure).getCause();
+        } else if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+        writeSummary(theOutput, parser.rows(), rejected, System.nanoTime() - start);
+        return rejected;
+    }
+
+    /**
+     * Validate stage: validates batches until the end marker arrives, then
+     * passes the marker on. Runs on each worker thread. After a failure the
+     * batches are passed on unvalidated, so they still get back to the free
+     * queue and the other stages can wind down.
+     */
+    private void validate(final BlockingQueue<Batch> theIn, final BlockingQueue<Batch> theOut) {
+        try {
+            while (true) {
+                final Batch batch = theIn.take();
+                if (batch.mySequence >= 0 && myFailure.get() == null) {
+                    try {
+                        for (int i = 0; i < batch.myCellCount; i++) {
+                            batch.myValid[i] = Validators.validate(myColumns[batch.myColumns[i]], batch.myData,
+                                    batch.myStarts[i], batch.myLengths[i]);
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        fail(e);
+                    }
+                }
+                theOut.put(batch);
+                if (batch.mySequence < 0) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Write stage: writes the rejected cells of each batch in file order and
+     * returns the batch to the free queue. Runs on the calling thread.
+     * @return number of rejected cells.
+     */
+    private long write(final BlockingQueue<Batch> theIn, final BlockingQueue<Batch> theFree,
+                       final ChannelWriter theOutput) throws IOException {
+        final Map<Long, Batch> waiting = new HashMap<>();
+        long next = 0;
+        long rejected = 0;
+        int ended = 0;
+        try {
+            while (ended < myThreads) {
+                final Batch received = theIn.take();
+                if (received.mySequence < 0) {
+                    ended++;
+                    continue;
+                }
+                waiting.put(received.mySequence, received);
+                Batch batch;
+                while ((batch = waiting.remove(next)) != null) {
+                    if (myFailure.get() == null) {
+                        rejected += writeBatch(batch, theOutput);
+                    }
+                    batch.clear();
+                    theFree.put(batch);
+                    next++;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating", e);
+        } catch (IOException e) {
+            fail(e);
+            throw e;
+        }
+        return rejected;
+    }
+
+    /**
+     * Counts the cells of one batch and writes its rejected cells.
+     * @return number of rejected cells in theBatch.
+     */
+    private long writeBatch(final Batch theBatch, final ChannelWriter theOutput) throws IOException {
+        long rejected = 0;
+        for (int i = 0; i < theBatch.myCellCount; i++) {
+            final int column = theBatch.myColumns[i];
+            myCells[column]++;
+            if (theBatch.myValid[i]) {
+                continue;
+            }
+            myRejected[column]++;
+            rejected++;
+            if (!mySummaryOnly) {
+                theOutput.writeLong(theBatch.myLines[i]);
+                theOutput.write('\t');
+                theOutput.writeLong(column + 1L);
+                theOutput.write('\t');
+                theOutput.writeAscii(myColumns[column].getOption());
+                theOutput.write('\t');
+                final int start = theBatch.myStarts[i];
+                for (int b = start; b < start + theBatch.myLengths[i]; b++) {
+                    final byte value = theBatch.myData[b];
+                    theOutput.write(value == '\n' || value == '\r' ? ' ' : value);
+                }
+                theOutput.write('\n');
+            }
+        }
+        return rejected;
+    }
+
+    /** Writes the totals, overall and per validated column. */
+    private void writeSummary(final ChannelWriter theOutput, final long theRows, final long theRejected,
+                              final long theElapsedNanos) throws IOException {
+        long cells = 0;
+        for (long count : myCells) {
+            cells += count;
+        }
+        theOutput.writeAscii("Rows: ");
+        theOutput.writeLong(theRows);
+        theOutput.writeAscii("\nCells: ");
+        theOutput.writeLong(cells);
+        theOutput.writeAscii("\nRejected: ");
+        theOutput.writeLong(theRejected);
+        for (int c = 0; c < myColumns.length; c++) {
+            if (myColumns[c] != null) {
+                theOutput.writeAscii("\nColumn ");
+                theOutput.writeLong(c + 1L);
+                theOutput.writeAscii(" (" + myColumns[c].getOption() + ") rejected: ");
+                theOutput.writeLong(myRejected[c]);
+                theOutput.writeAscii(" of ");
+                theOutput.writeLong(myCells[c]);
+            }
+        }
+        theOutput.writeAscii("\nElapsed ms: ");
+        theOutput.writeLong(theElapsedNanos / 1_000_000L);
+        theOutput.writeAscii("\nRows per second: ");
+        theOutput.writeLong(theElapsedNanos == 0 ? 0 : (long) (theRows * 1_000_000_000.0 / theElapsedNanos));
+        theOutput.write('\n');
+    }
+
+    /** Records the first failure of any stage. */
+    private void fail(final Exception theFailure) {
+        myFailure.compareAndSet(null, theFailure);
+    }
+
+    /** Waits for theThread to finish. */
+    private static void join(final Thread theThread) {
+        try {
+            theThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Parse stage: splits the file into batches of cells. */
+    private final class Parser {
+
+        /** Empty batches to fill. */
+        private final BlockingQueue<Batch> myFree;
+
+        /** Filled batches for the workers. */
+        private final BlockingQueue<Batch> myOut;
+
+        /** The batch being filled. */
+        private Batch myBatch;
+
+        /** Sequence number of the next batch passed on. */
+        private long mySequence;
+
+        /** Records read so far, the header included; the current record's number once it has started. */
+        private long myRow;
+
+        /** Line of the file the next byte is on, from 1. */
+        private long myLine = 1;
+
+        /** Line the current record starts on. */
+        private long myRecordLine;
+
+        /** One of the parser states. */
+        private int myState = FIELD_START;
+
+        /** Index of the current field in its record. */
+        private int myColumn;
+
+        /** Start of the current field in the batch data. */
+        private int myFieldStart;
+
+        /** Start of the current record in the batch data and in its cells. */
+        private int myRecordData;
+        private int myRecordCells;
+
+        /** True once the current record has any content. */
+        private boolean myRecordStarted;
+
+        /** @param theFree empty batches; @param theOut filled batches. */
+        Parser(final BlockingQueue<Batch> theFree, final BlockingQueue<Batch> theOut) {
+            myFree = theFree;
+            myOut = theOut;
+        }
+
+        /** Parses theInput, then sends one end marker per worker. */
+        void run(final Path theInput) {
+            try (FileChannel channel = FileChannel.open(theInput, StandardOpenOption.READ)) {
+                myBatch = myFree.take();
+                final ByteBuffer buffer = ByteBuffer.allocate(READ_SIZE);
+                final byte[] bytes = buffer.array();
+                int read;
+                while ((read = channel.read(buffer.clear())) >= 0 && myFailure.get() == null) {
+                    for (int i = 0; i < read; i++) {
+                        accept(bytes[i]);
+                        if (bytes[i] == '\n') {
+                            myLine++;
+                        }
+                    }
+                }
+                if (myRecordStarted) {
+                    endField();
+                    endRecord();
+                }
+                if (myBatch.myCellCount > 0) {
+                    send();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                fail(e);
+            }
+            try {
+                for (int i = 0; i < myThreads; i++) {
+                    myOut.put(Batch.END);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /** Advances the state machine by one byte. */
+        private void accept(final byte theByte) throws InterruptedException {
+            switch (myState) {
+                case FIELD_START -> {
+                    if (theByte == '\n') {
+                        if (myRecordStarted) {
+                            endField();
+                            endRecord();
+                        }
+                        return;
+                    } else if (theByte == '\r' && !myRecordStarted) {
+                        return;
+                    }
+                    startRecord();
+                    if (theByte == '"') {
+                        myState = QUOTED;
+                    } else if (theByte == ',') {
+                        endField();
+                    } else {
+                        append(theByte);
+                        myState = UNQUOTED;
+                    }
+                }
+                case UNQUOTED -> {
+                    if (theByte == ',') {
+                        endField();
+                        myState = FIELD_START;
+                    } else if (theByte == '\n') {
+                        endField();
+                        endRecord();
+                        myState = FIELD_START;
+                    } else {
+                        append(theByte);
+                    }
+                }
+                case QUOTED -> {
+                    if (theByte == '"') {
+                        myState = QUOTE_IN_QUOTED;
+                    } else {
+                        append(theByte);
+                    }
+                }
+                default -> {
+                    if (theByte == '"') {
+                        append(theByte);
+                        myState = QUOTED;
+                    } else if (theByte == ',') {
+                        endField();
+                        myState = FIELD_START;
+                    } else if (theByte == '\n') {
+                        endField();
+                        endRecord();
+                        myState = FIELD_START;
+                    } else if (theByte != '\r') {
+                        append(theByte);
+                        myState = UNQUOTED;
+                    }
+                }
+            }
+        }
+
+        /** Notes the start of a record at its first byte. */
+        private void startRecord() {
+            if (!myRecordStarted) {
+                myRecordStarted = true;
+                myRow++;
+                myRecordLine = myLine;
+                myRecordData = myBatch.myLength;
+                myRecordCells = myBatch.myCellCount;
+                myFieldStart = myBatch.myLength;
+            }
+        }
+
+        /** Appends a byte of the current field, if its column is validated. */
+        private void append(final byte theByte) throws InterruptedException {
+            if (isValidated()) {
+                if (myBatch.myLength == myBatch.myData.length) {
+                    spill();
+                }
+                myBatch.myData[myBatch.myLength++] = theByte;
+            }
+        }
+
+        /** Ends the current field, adding it as a cell if its column is validated. */
+        private void endField() throws InterruptedException {
+            if (isValidated()) {
+                int end = myBatch.myLength;
+                if (myState == UNQUOTED && end > myFieldStart && myBatch.myData[end - 1] == '\r') {
+                    end--;
+                    myBatch.myLength = end;
+                }
+                addCell(myFieldStart, end - myFieldStart);
+            }
+            myColumn++;
+            myFieldStart = myBatch.myLength;
+        }
+
+        /** Ends the current record, adding empty cells for missing columns. */
+        private void endRecord() throws InterruptedException {
+            for (; myColumn < myColumns.length; myColumn++) {
+                if (myColumns[myColumn] != null) {
+                    addCell(myBatch.myLength, 0);
+                }
+            }
+            if (myHeader && myRow == 1) {
+                myBatch.myLength = myRecordData;
+                myBatch.myCellCount = myRecordCells;
+            }
+            myColumn = 0;
+            myRecordStarted = false;
+            myFieldStart = myBatch.myLength;
+            if (myBatch.myLength >= BATCH_BYTES || myBatch.myCellCount >= BATCH_CELLS) {
+                send();
+            }
+        }
+
+        /** @return true if the current field is in a validated column. */
+        private boolean isValidated() {
+            return myColumn < myColumns.length && myColumns[myColumn] != null;
+        }
+
+        /** Adds a cell of the current record to the batch. */
+        private void addCell(final int theStart, final int theLength) throws InterruptedException {
+            int start = theStart;
+            if (myBatch.myCellCount == myBatch.myStarts.length) {
+                start -= spill();
+            }
+            final int cell = myBatch.myCellCount++;
+            myBatch.myStarts[cell] = start;
+            myBatch.myLengths[cell] = theLength;
+            myBatch.myColumns[cell] = myColumn;
+            myBatch.myLines[cell] = myRecordLine;
+        }
+
+        /**
+         * Makes room for the current record. The complete records of the batch
+         * are passed on and the record so far moves to a fresh batch; a record
+         * that fills a batch by itself makes the batch grow instead.
+         * @return how far the record moved back in the batch data.
+         */
+        private int spill() throws InterruptedException {
+            if (myRecordData == 0 && myRecordCells == 0) {
+                myBatch.grow();
+                return 0;
+            }
+            final Batch full = myBatch;
+            final Batch fresh = myFree.take();
+            final int dataLength = full.myLength - myRecordData;
+            final int cellCount = full.myCellCount - myRecordCells;
+            while (fresh.myData.length < dataLength || fresh.myStarts.length <= cellCount) {
+                fresh.grow();
+            }
+            System.arraycopy(full.myData, myRecordData, fresh.myData, 0, dataLength);
+            for (int i = 0; i < cellCount; i++) {
+                final int from = myRecordCells + i;
+                fresh.myStarts[i] = full.myStarts[from] - myRecordData;
+                fresh.myLengths[i] = full.myLengths[from];
+                fresh.myColumns[i] = full.myColumns[from];
+                fresh.myLines[i] = full.myLines[from];
+            }
+            fresh.myLength = dataLength;
+            fresh.myCellCount = cellCount;
+            full.myLength = myRecordData;
+            full.myCellCount = myRecordCells;
+            final int shift = myRecordData;
+            myFieldStart -= shift;
+            myRecordData = 0;
+            myRecordCells = 0;
+            myBatch = fresh;
+            full.mySequence = mySequence++;
+            myOut.put(full);
+            return shift;
+        }
+
+        /** @return records read, not counting the header. */
+        long rows() {
+            return myHeader && myRow > 0 ? myRow - 1 : myRow;
+        }
+
+        /** Passes the batch on and takes a free one. */
+        private void send() throws InterruptedException {
+            myBatch.mySequence = mySequence++;
+            myOut.put(myBatch);
+            myBatch = myFree.take();
+            myRecordData = 0;
+            myRecordCells = 0;
+            myFieldStart = 0;
+        }
+    }
+
+    /** Cells of whole records, with their positions and results. */
+    private static final class Batch {
+
+        /** Marks the end of the input on a queue. */
+        static final Batch END = new Batch(0, 0);
+
+        /** Position of the batch in the file, in batches; -1 for END. */
+        private long mySequence;
+
+        /** Cell contents, back to back, unquoted. */
+        private byte[] myData;
+
+        /** Bytes of myData in use. */
+        private int myLength;
+
+        /** Start of each cell in myData. */
+        private int[] myStarts;
+
+        /** Length of each cell. */
+        private int[] myLengths;
+
+        /** Column of each cell, from 0. */
+        private int[] myColumns;
+
+        /** Line of the file each cell's record starts on, from 1. */
+        private long[] myLines;
+
+        /** Result of each cell. */
+        private boolean[] myValid;
+
+        /** Number of cells. */
+        private int myCellCount;
+
+        /** Creates an empty batch of the default size. */
+        Batch() {
+            this(BATCH_BYTES + (BATCH_BYTES >>> 2), BATCH_CELLS + (BATCH_CELLS >>> 2));
+        }
+
+        /** Creates an empty batch of the given size. */
+        private Batch(final int theBytes, final int theCells) {
+            mySequence = theBytes == 0 ? -1 : 0;
+            myData = new byte[theBytes];
+            myStarts = new int[theCells];
+            myLengths = new int[theCells];
+            myColumns = new int[theCells];
+            myLines = new long[theCells];
+            myValid = new boolean[theCells];
+        }
+
+        /** Doubles the capacity, for a record too large for the batch. */
+        void grow() {
+            myData = Arrays.copyOf(myData, myData.length * 2);
+            final int cells = myStarts.length * 2;
+            myStarts = Arrays.copyOf(myStarts, cells);
+            myLengths = Arrays.copyOf(myLengths, cells);
+            myColumns = Arrays.copyOf(myColumns, cells);
+            myLines = Arrays.copyOf(myLines, cells);
+            myValid = Arrays.copyOf(myValid, cells);
+        }
+
+        /** Empties the batch for reuse. */
+        void clear() {
+            myLength = 0;
+            myCellCount = 0;
+        }
+    }
+}
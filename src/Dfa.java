@@ -0,0 +1,195 @@
+package RegexApplication.src;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Deterministic automaton for one expression, held in a few primitive arrays
+ * and matched with one table lookup per code point. Tables are built ahead of
+ * time by DfaCompiler and loaded by DfaTables, so using one involves no
+ * expression parsing or compiling at all.
+ *
+ * Code points are first mapped to equivalence classes, code points that no
+ * part of the expression tells apart, so the transition table has one column
+ * per class rather than per character. ASCII is looked up directly; anything
+ * else by binary search over the ranges of the classes.
+ *
+ * State 0 is the dead state, which no input leaves, and state 1 the start. A
+ * Dfa is immutable and safe to share between threads.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class Dfa {
+
+    /** The state no input leaves. */
+    static final int DEAD = 0;
+
+    /** The state before any input. */
+    static final int START = 1;
+
+    /** The expression the table was built from. */
+    private final String myRegex;
+
+    /** Number of equivalence classes. */
+    private final int myClassCount;
+
+    /** First code point of each range, ascending, starting at 0. */
+    private final int[] myRangeStarts;
+
+    /** Class of each range. */
+    private final byte[] myRangeClasses;
+
+    /** Class of each ASCII char. */
+    private final byte[] myAsciiClasses = new byte[128];
+
+    /** Next state, indexed by state * myClassCount + class. */
+    private final int[] myNext;
+
+    /** Whether each state accepts. */
+    private final boolean[] myAccepting;
+
+    /**
+     * Creates an automaton from its tables.
+     * @param theRegex the expression the tables were built from.
+     * @param theClassCount number of equivalence classes, at most 256.
+     * @param theRangeStarts first code point of each range, ascending, starting at 0.
+     * @param theRangeClasses class of each range.
+     * @param theNext next state, indexed by state * theClassCount + class.
+     * @param theAccepting whether each state accepts.
+     */
+    Dfa(final String theRegex, final int theClassCount, final int[] theRangeStarts, final byte[] theRangeClasses,
+        final int[] theNext, final boolean[] theAccepting) {
+        myRegex = theRegex;
+        myClassCount = theClassCount;
+        myRangeStarts = theRangeStarts;
+        myRangeClasses = theRangeClasses;
+        myNext = theNext;
+        myAccepting = theAccepting;
+        for (int c = 0; c < 128; c++) {
+            myAsciiClasses[c] = (byte) classOf(c);
+        }
+    }
+
+    /** @return the expression the table was built from. */
+    public String getRegex() {
+        return myRegex;
+    }
+
+    /** @return number of states, the dead state included. */
+    public int getStateCount() {
+        return myAccepting.length;
+    }
+
+    /** @return number of equivalence classes. */
+    public int getClassCount() {
+        return myClassCount;
+    }
+
+    /**
+     * Checks whether the whole of theInput matches, as Matcher.matches does.
+     * @param theInput the text to match.
+     * @return true if theInput matches.
+     */
+    public boolean matches(final CharSequence theInput) {
+        final int length = theInput.length();
+        int state = START;
+        int i = 0;
+        while (i < length) {
+            final char c = theInput.charAt(i);
+            final int inputClass;
+            if (c < 128) {
+                inputClass = myAsciiClasses[c];
+                i++;
+            } else {
+                final int codePoint = Character.codePointAt(theInput, i);
+                inputClass = classOf(codePoint);
+                i += Character.charCount(codePoint);
+            }
+            state = myNext[state * myClassCount + inputClass];
+            if (state == DEAD) {
+                return false;
+            }
+        }
+        return myAccepting[state];
+    }
+
+    /** @return the equivalence class of theCodePoint. */
+    private int classOf(final int theCodePoint) {
+        int lo = 0;
+        int hi = myRangeStarts.length - 1;
+        while (lo < hi) {
+            final int mid = (lo + hi + 1) >>> 1;
+            if (myRangeStarts[mid] <= theCodePoint) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return myRangeClasses[lo] & 0xFF;
+    }
+
+    /**
+     * Writes the tables in the form read reads.
+     * @param theOutput destination of the tables.
+     * @throws IOException if theOutput cannot be written.
+     */
+    void write(final DataOutput theOutput) throws IOException {
+        theOutput.writeUTF(myRegex);
+        theOutput.writeShort(myClassCount);
+        theOutput.writeInt(myRangeStarts.length);
+        for (int i = 0; i < myRangeStarts.length; i++) {
+            theOutput.writeInt(myRangeStarts[i]);
+            theOutput.writeByte(myRangeClasses[i]);
+        }
+        theOutput.writeInt(myAccepting.length);
+        for (boolean accepting : myAccepting) {
+            theOutput.writeBoolean(accepting);
+        }
+        for (int next : myNext) {
+            theOutput.writeInt(next);
+        }
+    }
+
+    /**
+     * Reads tables written by write.
+     * @param theInput source of the tables.
+     * @return the automaton.
+     * @throws IOException if theInput cannot be read or holds malformed tables.
+     */
+    static Dfa read(final DataInput theInput) throws IOException {
+        final String regex = theInput.readUTF();
+        final int classCount = theInput.readShort();
+        final int ranges = theInput.readInt();
+        if (classCount < 1 || classCount > 256 || ranges < 1) {
+            throw new IOException("Malformed table for " + regex);
+        }
+        final int[] rangeStarts = new int[ranges];
+        final byte[] rangeClasses = new byte[ranges];
+        for (int i = 0; i < ranges; i++) {
+            rangeStarts[i] = theInput.readInt();
+            rangeClasses[i] = theInput.readByte();
+            if ((rangeClasses[i] & 0xFF) >= classCount || (i == 0 ? rangeStarts[i] != 0
+                    : rangeStarts[i] <= rangeStarts[i - 1])) {
+                throw new IOException("Malformed table for " + regex);
+            }
+        }
+        final int states = theInput.readInt();
+        if (states <= START || (long) states * classCount > Integer.MAX_VALUE) {
+            throw new IOException("Malformed table for " + regex);
+        }
+        final boolean[] accepting = new boolean[states];
+        for (int i = 0; i < states; i++) {
+            accepting[i] = theInput.readBoolean();
+        }
+        final int[] next = new int[states * classCount];
+        for (int i = 0; i < next.length; i++) {
+            next[i] = theInput.readInt();
+            if (next[i] < 0 || next[i] >= states) {
+                throw new IOException("Malformed table for " + regex);
+            }
+        }
+        return new Dfa(regex, classCount, rangeStarts, rangeClasses, next, accepting);
+    }
+}
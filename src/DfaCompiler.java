@@ -0,0 +1,311 @@
+package RegexApplication.src;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Build step that turns the validator expressions into Dfa tables, written to
+ * res/dfa.bin for DfaTables to load at run time. Run it whenever an expression
+ * in ValidatorType changes:
+ *      java RegexApplication.src.DfaCompiler [output file]
+ * A table whose expression no longer matches ValidatorType is ignored at run
+ * time, so a stale file costs speed, never correctness.
+ *
+ * Each expression is compiled by LinearPattern to a Thompson NFA and
+ * determinized by subset construction over equivalence classes of code
+ * points. Expressions outside the LinearPattern subset, and those whose
+ * automaton would pass MAX_STATES, get no table and keep their current engine.
+ *
+ * '$' is taken to hold only at the end of the input. For a whole match that
+ * is the same as java.util.regex, unless something after the '$' could match
+ * the line terminator it may stand before; such expressions get no table.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class DfaCompiler {
+
+    /** Largest automaton written, in states. */
+    public static final int MAX_STATES = 4096;
+
+    /** First int of the table file. */
+    static final int MAGIC = 0x52444641;
+
+    /** Format version of the table file. */
+    static final int VERSION = 1;
+
+    /** The code points '.' does not match: the line terminators. */
+    private static final int[] LINE_TERMINATORS = {'\n', '\r', 0x85, 0x2028, 0x2029};
+
+    /** Static helpers only. */
+    private DfaCompiler() {}
+
+    /**
+     * Writes the tables of every validator that has one, listing each.
+     * @param theArgs the output file, res/dfa.bin if none is given.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void main(final String[] theArgs) throws IOException {
+        final Map<ValidatorType, Dfa> tables = compileAll();
+        for (ValidatorType type : ValidatorType.values()) {
+            final Dfa dfa = tables.get(type);
+            System.out.println(type.getOption() + " " + type + ": " + (dfa == null ? "no table"
+                    : dfa.getStateCount() + " states, " + dfa.getClassCount() + " classes"));
+        }
+        write(tables, Path.of(theArgs.length > 0 ? theArgs[0] : "res/dfa.bin"));
+    }
+
+    /**
+     * Builds the automaton of every validator that has one within MAX_STATES.
+     * @return the automata, by validator.
+     */
+    public static Map<ValidatorType, Dfa> compileAll() {
+        final Map<ValidatorType, Dfa> tables = new EnumMap<>(ValidatorType.class);
+        for (ValidatorType type : ValidatorType.values()) {
+            final Dfa dfa = compile(type.getRegex(), MAX_STATES);
+            if (dfa != null) {
+                tables.put(type, dfa);
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Writes a table file for DfaTables to load.
+     * @param theTables the automata, by validator.
+     * @param theOutput the file to write.
+     * @throws IOException if the file cannot be written.
+     */
+    public static void write(final Map<ValidatorType, Dfa> theTables, final Path theOutput) throws IOException {
+        try (OutputStream file = Files.newOutputStream(theOutput);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(theTables.size());
+            for (Map.Entry<ValidatorType, Dfa> table : theTables.entrySet()) {
+                out.writeUTF(table.getKey().name());
+                table.getValue().write(out);
+            }
+        }
+    }
+
+    /**
+     * Builds the automaton of theRegex.
+     * @param theRegex the expression.
+     * @param theMaxStates the most states to allow.
+     * @return the automaton, or null if theRegex has none within the limits.
+     */
+    public static Dfa compile(final String theRegex, final int theMaxStates) {
+        final LinearPattern pattern = LinearPattern.tryCompile(theRegex);
+        if (pattern == null || pattern.size() > Character.MAX_VALUE || !endIsFinal(pattern)) {
+            return null;
+        }
+        final LinearPattern.CharRanges[] sets = pattern.myClasses;
+
+        final TreeSet<Integer> cuts = new TreeSet<>();
+        cuts.add(0);
+        for (LinearPattern.CharRanges set : sets) {
+            final int[] bounds = set.bounds();
+            for (int i = 0; i < bounds.length; i += 2) {
+                cuts.add(bounds[i]);
+                if (bounds[i + 1] < Character.MAX_CODE_POINT) {
+                    cuts.add(bounds[i + 1] + 1);
+                }
+            }
+        }
+        final Map<BitSet, Integer> classIds = new HashMap<>();
+        final List<Integer> representatives = new ArrayList<>();
+        final List<Integer> rangeStarts = new ArrayList<>();
+        final List<Integer> rangeClasses = new ArrayList<>();
+        for (int start : cuts) {
+            final BitSet signature = new BitSet(sets.length);
+            for (int s = 0; s < sets.length; s++) {
+                if (sets[s].contains(start)) {
+                    signature.set(s);
+                }
+            }
+            final int id = classIds.computeIfAbsent(signature, k -> {
+                representatives.add(start);
+                return representatives.size() - 1;
+            });
+            if (rangeClasses.isEmpty() || rangeClasses.get(rangeClasses.size() - 1) != id) {
+                rangeStarts.add(start);
+                rangeClasses.add(id);
+            }
+        }
+        final int classCount = representatives.size();
+        if (classCount > 256) {
+            return null;
+        }
+
+        final List<int[]> states = new ArrayList<>();
+        final Map<String, Integer> stateIds = new HashMap<>();
+        final List<int[]> rows = new ArrayList<>();
+        addState(new int[0], states, stateIds);
+        if (addState(closure(pattern, new int[] {0}, 1, true, false), states, stateIds) != Dfa.START) {
+            return null;
+        }
+        for (int s = 0; s < states.size(); s++) {
+            final int[] set = states.get(s);
+            final int[] row = new int[classCount];
+            for (int c = 0; c < classCount; c++) {
+                final int[] targets = new int[set.length];
+                int count = 0;
+                for (int pc : set) {
+                    if (pattern.myOps[pc] == LinearPattern.CLASS
+                            && sets[pattern.myArg1[pc]].contains(representatives.get(c))) {
+                        targets[count++] = pc + 1;
+                    }
+                }
+                row[c] = addState(closure(pattern, targets, count, false, false), states, stateIds);
+                if (states.size() > theMaxStates) {
+                    return null;
+                }
+            }
+            rows.add(row);
+        }
+
+        final int[] next = new int[states.size() * classCount];
+        final boolean[] accepting = new boolean[states.size()];
+        for (int s = 0; s < states.size(); s++) {
+            System.arraycopy(rows.get(s), 0, next, s * classCount, classCount);
+            accepting[s] = s != Dfa.DEAD && accepts(pattern, states.get(s));
+        }
+        final int[] starts = new int[rangeStarts.size()];
+        final byte[] classes = new byte[rangeStarts.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = rangeStarts.get(i);
+            classes[i] = (byte) (int) rangeClasses.get(i);
+        }
+        return new Dfa(theRegex, classCount, starts, classes, next, accepting);
+    }
+
+    /**
+     * Numbers a set of NFA states, adding it if it is new.
+     * @return the number of theSet.
+     */
+    private static int addState(final int[] theSet, final List<int[]> theStates,
+                                final Map<String, Integer> theIds) {
+        final StringBuilder key = new StringBuilder(theSet.length);
+        for (int pc : theSet) {
+            key.append((char) pc);
+        }
+        return theIds.computeIfAbsent(key.toString(), k -> {
+            theStates.add(theSet);
+            return theStates.size() - 1;
+        });
+    }
+
+    /**
+     * Follows every instruction that consumes no input from theStarts. '^'
+     * holds only at the start of the input and '$' only at its end; before the
+     * end, '$' is left in the set to be passed if the input ends there.
+     * @param thePattern the program.
+     * @param theStarts the instructions to start from.
+     * @param theCount number of entries of theStarts in use.
+     * @param theAtStart whether no input has been read.
+     * @param theAtEnd whether the input has ended.
+     * @return the CLASS, MATCH and pending END instructions reached, ascending.
+     */
+    private static int[] closure(final LinearPattern thePattern, final int[] theStarts, final int theCount,
+                                 final boolean theAtStart, final boolean theAtEnd) {
+        final int size = thePattern.size();
+        final boolean[] seen = new boolean[size];
+        final boolean[] kept = new boolean[size];
+        final int[] stack = new int[size];
+        int top = 0;
+        for (int i = 0; i < theCount; i++) {
+            top = push(stack, top, seen, theStarts[i]);
+        }
+        while (top > 0) {
+            final int pc = stack[--top];
+            switch (thePattern.myOps[pc]) {
+                case LinearPattern.SPLIT -> {
+                    top = push(stack, top, seen, thePattern.myArg1[pc]);
+                    top = push(stack, top, seen, thePattern.myArg2[pc]);
+                }
+                case LinearPattern.JUMP -> top = push(stack, top, seen, thePattern.myArg1[pc]);
+                case LinearPattern.BEGIN -> {
+                    if (theAtStart) {
+                        top = push(stack, top, seen, pc + 1);
+                    }
+                }
+                case LinearPattern.END -> {
+                    if (theAtEnd) {
+                        top = push(stack, top, seen, pc + 1);
+                    } else {
+                        kept[pc] = true;
+                    }
+                }
+                default -> kept[pc] = true;
+            }
+        }
+        int count = 0;
+        final int[] result = new int[size];
+        for (int pc = 0; pc < size; pc++) {
+            if (kept[pc]) {
+                result[count++] = pc;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+
+    /**
+     * Pushes thePc on theStack unless it has been seen.
+     * @return the new top of theStack.
+     */
+    private static int push(final int[] theStack, final int theTop, final boolean[] theSeen, final int thePc) {
+        if (theSeen[thePc]) {
+            return theTop;
+        }
+        theSeen[thePc] = true;
+        theStack[theTop] = thePc;
+        return theTop + 1;
+    }
+
+    /** @return true if the input may end in theSet, reaching MATCH. */
+    private static boolean accepts(final LinearPattern thePattern, final int[] theSet) {
+        for (int pc : closure(thePattern, theSet, theSet.length, false, true)) {
+            if (thePattern.myOps[pc] == LinearPattern.MATCH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks that nothing after a '$' can consume a line terminator, so that
+     * taking '$' as the end of the input is exact for whole matches.
+     * @return true if no '$' is followed by a class holding a line terminator.
+     */
+    private static boolean endIsFinal(final LinearPattern thePattern) {
+        for (int pc = 0; pc < thePattern.size(); pc++) {
+            if (thePattern.myOps[pc] != LinearPattern.END) {
+                continue;
+            }
+            for (int reached : closure(thePattern, new int[] {pc + 1}, 1, false, true)) {
+                if (thePattern.myOps[reached] != LinearPattern.CLASS) {
+                    continue;
+                }
+                for (int terminator : LINE_TERMINATORS) {
+                    if (thePattern.myClasses[thePattern.myArg1[reached]].contains(terminator)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+}
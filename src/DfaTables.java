@@ -0,0 +1,134 @@
+package RegexApplication.src;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The automata built by DfaCompiler, loaded once from res/dfa.bin. Loading
+ * reads the tables straight into Dfa arrays, with no expression parsed or
+ * compiled, which is what makes the first validation of a short batch job
+ * cheap.
+ *
+ * A table is only used while its expression is still the one in ValidatorType,
+ * so an out of date file is ignored rather than obeyed. A missing or unreadable
+ * file, or -DRegexApplication.dfa=false, leaves every validator on the engine it
+ * used before. Nothing is printed when the bundled file cannot be read; the
+ * failure is kept for getLoadFailure, and the host decides whether to report
+ * it. Tables are published through a volatile field, as AreaCodes does.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class DfaTables {
+
+    /** Name of the bundled tables. */
+    private static final String FILE_NAME = "dfa.bin";
+
+    /** System property that turns the tables off when set to false. */
+    public static final String ENABLE_PROPERTY = "RegexApplication.dfa";
+
+    /** Automaton of each validator by ordinal, null entries for none; null until first use. */
+    private static volatile Dfa[] myTables;
+
+    /** Why the bundled tables could not be read, or null if they were or are missing. */
+    private static volatile IOException myLoadFailure;
+
+    /** Static helpers only. */
+    private DfaTables() {}
+
+    /**
+     * @param theType a validator.
+     * @return the automaton of theType, or null if it has none.
+     */
+    public static Dfa get(final ValidatorType theType) {
+        return table()[theType.ordinal()];
+    }
+
+    /**
+     * Loads the bundled tables if no validation has yet.
+     * @return why the bundled file could not be read, e.g. it is corrupt or
+     *         of another format version, or null if it was read or there is none.
+     */
+    public static IOException getLoadFailure() {
+        table();
+        return myLoadFailure;
+    }
+
+    /**
+     * Reloads the bundled tables.
+     * @throws IOException if the tables cannot be read.
+     */
+    public static void reload() throws IOException {
+        try (InputStream in = Resources.open(FILE_NAME)) {
+            myTables = parse(in);
+            myLoadFailure = null;
+        }
+    }
+
+    /**
+     * Replaces the tables with those in theFile, as written by DfaCompiler.
+     * @param theFile the tables to load.
+     * @throws IOException if theFile cannot be read.
+     */
+    public static void reload(final Path theFile) throws IOException {
+        try (InputStream in = Files.newInputStream(theFile)) {
+            myTables = parse(in);
+            myLoadFailure = null;
+        }
+    }
+
+    /** @return the current tables, loading the bundled file on first use. */
+    private static Dfa[] table() {
+        Dfa[] tables = myTables;
+        if (tables == null) {
+            synchronized (DfaTables.class) {
+                tables = myTables;
+                if (tables == null) {
+                    tables = new Dfa[ValidatorType.values().length];
+                    if (!"false".equals(System.getProperty(ENABLE_PROPERTY))) {
+                        try (InputStream in = Resources.open(FILE_NAME)) {
+                            tables = parse(in);
+                        } catch (FileNotFoundException e) {
+                            // No tables were built; every validator keeps its engine.
+                        } catch (IOException e) {
+                            myLoadFailure = e;
+                        }
+                    }
+                    myTables = tables;
+                }
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Reads the tables written by DfaCompiler.main.
+     * @param theInput the file to read.
+     * @return the automaton of each validator by ordinal, null where there is
+     *         none or the file's is out of date.
+     * @throws IOException if theInput cannot be read or is not a table file.
+     */
+    private static Dfa[] parse(final InputStream theInput) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(theInput));
+        if (in.readInt() != DfaCompiler.MAGIC || in.readInt() != DfaCompiler.VERSION) {
+            throw new IOException("Not a table file of this version");
+        }
+        final Dfa[] tables = new Dfa[ValidatorType.values().length];
+        final int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            final String name = in.readUTF();
+            final Dfa dfa = Dfa.read(in);
+            for (ValidatorType type : ValidatorType.values()) {
+                if (type.name().equals(name) && type.getRegex().equals(dfa.getRegex())) {
+                    tables[type.ordinal()] = dfa;
+                }
+            }
+        }
+        return tables;
+    }
+}
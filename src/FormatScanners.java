@@ -0,0 +1,349 @@
+package RegexApplication.src;
+
+import java.io.FileNotFoundException;
+
+/**
+ * Single pass scanners for the fixed length formats. Each method accepts exactly
+ * the strings its ValidatorType expression accepts, but reads every character at
+ * most once and allocates nothing, which is far cheaper than running the
+ * backtracking matcher with its lookaheads.
+ *
+ * The phone and date scanners only check the shape of the input; the area code
+ * and calendar checks in Testable are still applied on top, as they are for the
+ * expressions.
+ *
+ * The parse methods accept the same strings and return the value they denote
+ * as a primitive, read in the same pass, so a caller that needs the number
+ * does not scan the text a second time: a Social Security Number as its nine
+ * digits, a phone number as its ten digits, a time as seconds of the day and
+ * an amount as cents. Anything not accepted gives INVALID.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class FormatScanners {
+
+    /** Returned by the parse methods for input that is not accepted. */
+    public static final int INVALID = -1;
+
+    /** Returned by parseUsCurrencyCents for a valid amount too large for a long. */
+    public static final long OVERFLOW = -2;
+
+    /** Static helpers only. */
+    private FormatScanners() {}
+
+    /**
+     * Same as ValidatorType.SOCIAL_SECURITY_NUMBER:
+     * ^(?!666|000|9\d{2})\d{3}[- ]?(?!00)\d{2}[- ]?(?!0{4})\d{4}$
+     * @param theInput the text to check.
+     * @return true if theInput is a Social Security Number.
+     */
+    public static boolean socialSecurityNumber(final CharSequence theInput) {
+        return parseSocialSecurityNumber(theInput) != INVALID;
+    }
+
+    /**
+     * Parses a Social Security Number accepted by socialSecurityNumber.
+     * @param theInput the text to parse.
+     * @return the nine digits as one number, or INVALID.
+     */
+    public static int parseSocialSecurityNumber(final CharSequence theInput) {
+        final int length = theInput.length();
+        if (length < 9 || length > 11) {
+            return INVALID;
+        }
+        final int area = digits(theInput, 0, 3);
+        int i = 3;
+        if (isSeparator(theInput.charAt(i))) {
+            i++;
+        }
+        final int group = digits(theInput, i, 2);
+        i += 2;
+        if (i < length && isSeparator(theInput.charAt(i))) {
+            i++;
+        }
+        if (i + 4 != length) {
+            return INVALID;
+        }
+        final int serial = digits(theInput, i, 4);
+        return area > 0 && area != 666 && area < 900 && group > 0 && serial > 0
+                ? area * 1_000_000 + group * 10_000 + serial : INVALID;
+    }
+
+    /**
+     * Same as ValidatorType.US_PHONE_NUMBER:
+     * ^[(]?[2-9]\d{2}[)]?[- ]?\d{3}[- ]?\d{4}$
+     * @param theInput the text to check.
+     * @return true if theInput has the shape of a US phone number.
+     */
+    public static boolean usPhoneNumber(final CharSequence theInput) {
+        return phoneAreaCodeIndex(theInput) >= 0;
+    }
+
+    /**
+     * Scans a US phone number and reports where its area code starts, so the
+     * caller can look the code up without scanning again.
+     * @param theInput the text to check.
+     * @return index of the area code, or -1 if theInput is not a phone number.
+     */
+    public static int phoneAreaCodeIndex(final CharSequence theInput) {
+        final int length = theInput.length();
+        if (length < 10 || length > 14) {
+            return -1;
+        }
+        int i = 0;
+        if (theInput.charAt(i) == '(') {
+            i++;
+        }
+        final int areaCode = i;
+        final char first = theInput.charAt(i);
+        if (first < '2' || first > '9' || digits(theInput, i + 1, 2) < 0) {
+            return -1;
+        }
+        i += 3;
+        if (i < length && theInput.charAt(i) == ')') {
+            i++;
+        }
+        if (i < length && isSeparator(theInput.charAt(i))) {
+            i++;
+        }
+        if (digits(theInput, i, 3) < 0) {
+            return -1;
+        }
+        i += 3;
+        if (i < length && isSeparator(theInput.charAt(i))) {
+            i++;
+        }
+        return i + 4 == length && digits(theInput, i, 4) >= 0 ? areaCode : -1;
+    }
+
+    /**
+     * Parses a US phone number the way Validators accepts it: the shape of
+     * usPhoneNumber with an area code on the AreaCodes list.
+     * @param theInput the text to parse.
+     * @return the ten digits as one number, or INVALID.
+     * @throws FileNotFoundException if the area code list cannot be loaded.
+     */
+    public static long parseUsPhoneNumber(final CharSequence theInput) throws FileNotFoundException {
+        final int length = theInput.length();
+        if (length < 10 || length > 14) {
+            return INVALID;
+        }
+        int i = theInput.charAt(0) == '(' ? 1 : 0;
+        final int area = digits(theInput, i, 3);
+        if (area < 200) {
+            return INVALID;
+        }
+        i += 3;
+        if (i < length && theInput.charAt(i) == ')') {
+            i++;
+        }
+        if (i < length && isSeparator(theInput.charAt(i))) {
+            i++;
+        }
+        final int exchange = digits(theInput, i, 3);
+        if (exchange < 0) {
+            return INVALID;
+        }
+        i += 3;
+        if (i < length && isSeparator(theInput.charAt(i))) {
+            i++;
+        }
+        final int line = i + 4 == length ? digits(theInput, i, 4) : -1;
+        return line >= 0 && AreaCodes.contains(area) ? area * 10_000_000L + exchange * 10_000L + line : INVALID;
+    }
+
+    /**
+     * Same as ValidatorType.MM_DD_YYYY:
+     * (0\d{1}|1[0-2])-([0-2]\d{1}|3[0-1])-([0-9]){2}\d{2}
+     * @param theInput the text to check.
+     * @return true if theInput has the shape of an MM-DD-YYYY date.
+     */
+    public static boolean mmDDYYYY(final CharSequence theInput) {
+        if (theInput.length() != 10 || theInput.charAt(2) != '-' || theInput.charAt(5) != '-') {
+            return false;
+        }
+        final int month = digits(theInput, 0, 2);
+        final int day = digits(theInput, 3, 2);
+        return month >= 0 && month <= 12
+                && day >= 0 && day <= 31
+                && digits(theInput, 6, 4) >= 0;
+    }
+
+    /**
+     * Same as ValidatorType.MILITARY_TIME_WITH_SECONDS. The expression allows
+     * the seconds to be left off only when the hour is 1 through 9, written as
+     * one digit or with a leading zero; every other hour needs seconds.
+     * @param theInput the text to check.
+     * @return true if theInput is a military time.
+     */
+    public static boolean militaryTimeWithSeconds(final CharSequence theInput) {
+        return parseMilitaryTimeWithSeconds(theInput) != INVALID;
+    }
+
+    /**
+     * Parses a time accepted by militaryTimeWithSeconds. Seconds that are left
+     * off count as 0.
+     * @param theInput the text to parse.
+     * @return seconds since midnight, or INVALID.
+     */
+    public static int parseMilitaryTimeWithSeconds(final CharSequence theInput) {
+        final int length = theInput.length();
+        if (length < 4 || length > 8) {
+            return INVALID;
+        }
+        final char first = theInput.charAt(0);
+        final char second = theInput.charAt(1);
+        if (!isDigit(first)) {
+            return INVALID;
+        }
+        final boolean secondsOptional;
+        final int hour;
+        int i;
+        if (isDigit(second)) {
+            if (first > '2' || (first == '2' && second > '3')) {
+                return INVALID;
+            }
+            secondsOptional = first == '0' && second != '0';
+            hour = (first - '0') * 10 + second - '0';
+            i = 2;
+        } else {
+            secondsOptional = first != '0';
+            hour = first - '0';
+            i = 1;
+        }
+        if (!isTimeSeparator(theInput.charAt(i)) || !minutesOrSeconds(theInput, i + 1)) {
+            return INVALID;
+        }
+        final int minutes = hour * 60 + digits(theInput, i + 1, 2);
+        i += 3;
+        if (i == length) {
+            return secondsOptional ? minutes * 60 : INVALID;
+        }
+        return i + 3 == length && isTimeSeparator(theInput.charAt(i)) && minutesOrSeconds(theInput, i + 1)
+                ? minutes * 60 + digits(theInput, i + 1, 2) : INVALID;
+    }
+
+    /**
+     * Parses an amount accepted by ValidatorType.US_CURRENCY_TO_PENNY:
+     * ^\$([0-9]{1,3},([0-9]{3},)*[0-9]{3}|[0-9]+)(.[0-9][0-9])?$
+     * The '.' before the cents is not escaped in the expression, so any one
+     * character but a line terminator is accepted there, and "$1,000,25" is
+     * $1,000.25. Where the text reads as whole dollars, as "$12345" does, it
+     * is taken as whole dollars.
+     * @param theInput the text to parse.
+     * @return the amount in cents, INVALID, or OVERFLOW for an amount that is
+     *         valid but too large for a long.
+     */
+    public static long parseUsCurrencyCents(final CharSequence theInput) {
+        final int length = theInput.length();
+        if (length < 2 || theInput.charAt(0) != '$') {
+            return INVALID;
+        }
+        final long dollars = dollars(theInput, 1, length);
+        if (dollars != INVALID) {
+            return dollars == OVERFLOW || dollars > Long.MAX_VALUE / 100 ? OVERFLOW : dollars * 100;
+        }
+        if (length < 5) {
+            return INVALID;
+        }
+        final int cents = digits(theInput, length - 2, 2);
+        int point = length - 3;
+        final char separator = theInput.charAt(point);
+        if (Character.isLowSurrogate(separator) && Character.isHighSurrogate(theInput.charAt(point - 1))) {
+            point--;
+        } else if (separator == '\n' || separator == '\r' || separator == '\u0085'
+                || (separator | 1) == '\u2029') {
+            return INVALID;
+        }
+        final long whole = cents < 0 ? INVALID : dollars(theInput, 1, point);
+        if (whole < 0) {
+            return whole;
+        }
+        return whole > (Long.MAX_VALUE - cents) / 100 ? OVERFLOW : whole * 100 + cents;
+    }
+
+    /**
+     * Reads theCount decimal digits.
+     * @param theInput the text to read.
+     * @param theStart index of the first digit.
+     * @param theCount number of digits to read.
+     * @return the value of the digits, or -1 if any is missing or not a digit.
+     */
+    static int digits(final CharSequence theInput, final int theStart, final int theCount) {
+        if (theStart + theCount > theInput.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = theStart; i < theStart + theCount; i++) {
+            final char c = theInput.charAt(i);
+            if (!isDigit(c)) {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * Reads the dollars of an amount,
+     * [0-9]{1,3},([0-9]{3},)*[0-9]{3}|[0-9]+
+     * @param theInput the text to read.
+     * @param theStart index of the first digit.
+     * @param theEnd index one past the last digit.
+     * @return the dollars, INVALID, or OVERFLOW if they do not fit a long.
+     */
+    private static long dollars(final CharSequence theInput, final int theStart, final int theEnd) {
+        long value = 0;
+        boolean overflow = false;
+        int group = 0;
+        boolean grouped = false;
+        for (int i = theStart; i < theEnd; i++) {
+            final char c = theInput.charAt(i);
+            if (isDigit(c)) {
+                final int digit = c - '0';
+                overflow |= value > (Long.MAX_VALUE - digit) / 10;
+                value = value * 10 + digit;
+                group++;
+            } else if (c == ',' && (grouped ? group == 3 : group >= 1 && group <= 3)) {
+                grouped = true;
+                group = 0;
+            } else {
+                return INVALID;
+            }
+        }
+        if (grouped ? group != 3 : group == 0) {
+            return INVALID;
+        }
+        return overflow ? OVERFLOW : value;
+    }
+
+    /**
+     * Checks for a two digit minutes or seconds field, [0-5][0-9].
+     * @param theInput the text to read.
+     * @param theStart index of the first digit.
+     * @return true if the field is present and in range.
+     */
+    private static boolean minutesOrSeconds(final CharSequence theInput, final int theStart) {
+        if (theStart + 2 > theInput.length()) {
+            return false;
+        }
+        final char tens = theInput.charAt(theStart);
+        return tens >= '0' && tens <= '5' && isDigit(theInput.charAt(theStart + 1));
+    }
+
+    /** @return true if theChar is an ASCII digit, the set \d matches. */
+    static boolean isDigit(final char theChar) {
+        return theChar >= '0' && theChar <= '9';
+    }
+
+    /** @return true if theChar is a hyphen or space, the set [-\s] matches. */
+    private static boolean isSeparator(final char theChar) {
+        return theChar == '-' || theChar == ' ';
+    }
+
+    /** @return true if theChar is a colon or period. */
+    private static boolean isTimeSeparator(final char theChar) {
+        return theChar == ':' || theChar == '.';
+    }
+}
@@ -0,0 +1,424 @@
+package RegexApplication.src;
+
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+
+/**
+ * Validates a field as it is typed. Each appended character moves a small
+ * state machine one step, so a keystroke costs the same however long the field
+ * already is, and the answer says not only whether the text is valid now but
+ * whether it still can be: PARTIAL text is a prefix of some valid value, DEAD
+ * text is not, whatever is typed next. This is the information Matcher.hitEnd
+ * gives, without matching the whole field again on every key.
+ *
+ * The fixed formats, Social Security Number, phone number, date and military
+ * time, have hand written machines that apply the same checks as Validators,
+ * including the area code list and the calendar, as soon as the digits they
+ * need are in. Currency steps the linear time program of its expression.
+ * VALID always agrees with Validators.validate on the same text.
+ *
+ * Editing anywhere but the end, a backspace included, is handled by set, which
+ * replays the new text; the fixed formats are at most 14 characters long.
+ *
+ * One instance per field; an instance is not thread safe.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class IncrementalValidator {
+
+    /** What the text typed so far can still become. */
+    public enum State {
+        /** The text is valid as it stands. */
+        VALID,
+        /** The text is not valid yet, but some continuation of it is. */
+        PARTIAL,
+        /** No continuation of the text is valid. */
+        DEAD
+    }
+
+    /** Digits in each group of a Social Security Number. */
+    private static final int[] SSN_GROUPS = {3, 2, 4};
+
+    /** Digits in each group of a phone number. */
+    private static final int[] PHONE_GROUPS = {3, 3, 4};
+
+    /** Days in each month of a leap year, indexed by month number. */
+    private static final int[] MAX_DAYS = {0, 31, 29, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /** Program for the currency expression, shared by every instance. */
+    private static final LinearPattern CURRENCY =
+            LinearPattern.tryCompile(ValidatorType.US_CURRENCY_TO_PENNY.getRegex());
+
+    /** The validator this field is checked against. */
+    private final ValidatorType myType;
+
+    /** Matcher for currency, null for the other formats. */
+    private final LinearMatcher myMatcher;
+
+    /** The state after the text typed so far. */
+    private State myState;
+
+    /** Characters typed so far. */
+    private int myLength;
+
+    /** Index of the group or field being typed. */
+    private int myGroup;
+
+    /** Digits typed in the current group. */
+    private int myCount;
+
+    /** Value of the digits typed in the current group. */
+    private int myValue;
+
+    /** Month of a date. */
+    private int myMonth;
+
+    /** Day of a date. */
+    private int myDay;
+
+    /** First hour digit of a time. */
+    private char myHour;
+
+    /** Whether a time may leave off its seconds. */
+    private boolean mySecondsOptional;
+
+    /** Set once a separator or parenthesis has been used at the current group. */
+    private boolean mySeparated;
+
+    /** Whether a phone number opened with '('. */
+    private boolean myOpened;
+
+    /** Whether a phone number closed its area code with ')'. */
+    private boolean myClosed;
+
+    /** High surrogate waiting for its low half, or 0. */
+    private char myHighSurrogate;
+
+    /**
+     * Creates a validator for one field, starting with nothing typed.
+     * @param theType the validator to check the field against.
+     * @throws IllegalArgumentException if theType has no incremental form.
+     */
+    public IncrementalValidator(final ValidatorType theType) {
+        if (!supports(theType)) {
+            throw new IllegalArgumentException("No incremental validator for " + theType);
+        }
+        myType = theType;
+        myMatcher = theType == ValidatorType.US_CURRENCY_TO_PENNY ? CURRENCY.matcher() : null;
+        reset();
+    }
+
+    /**
+     * @param theType a validator.
+     * @return true if theType can be checked one character at a time.
+     */
+    public static boolean supports(final ValidatorType theType) {
+        return switch (theType) {
+            case SOCIAL_SECURITY_NUMBER, US_PHONE_NUMBER, MM_DD_YYYY, MILITARY_TIME_WITH_SECONDS -> true;
+            case US_CURRENCY_TO_PENNY -> CURRENCY != null;
+            default -> false;
+        };
+    }
+
+    /** @return the validator this field is checked against. */
+    public ValidatorType getType() {
+        return myType;
+    }
+
+    /** @return the state after the text typed so far. */
+    public State getState() {
+        return myState;
+    }
+
+    /** Forgets the text typed so far. */
+    public void reset() {
+        myLength = 0;
+        myGroup = 0;
+        myCount = 0;
+        myValue = 0;
+        myMonth = 0;
+        myDay = 0;
+        myHour = 0;
+        mySecondsOptional = false;
+        mySeparated = false;
+        myOpened = false;
+        myClosed = false;
+        myHighSurrogate = 0;
+        if (myMatcher != null) {
+            myMatcher.begin();
+        }
+        myState = State.PARTIAL;
+    }
+
+    /**
+     * Replaces the text typed so far, for edits other than appending.
+     * @param theText the whole new text of the field.
+     * @return the state after theText.
+     * @throws UncheckedIOException if the area code list cannot be loaded.
+     */
+    public State set(final CharSequence theText) {
+        reset();
+        return append(theText);
+    }
+
+    /**
+     * Appends text to the field.
+     * @param theText the text to append.
+     * @return the state after theText.
+     * @throws UncheckedIOException if the area code list cannot be loaded.
+     */
+    public State append(final CharSequence theText) {
+        final int length = theText.length();
+        for (int i = 0; i < length && myState != State.DEAD; i++) {
+            append(theText.charAt(i));
+        }
+        return myState;
+    }
+
+    /**
+     * Appends one character to the field.
+     * @param theChar the character typed.
+     * @return the state after theChar.
+     * @throws UncheckedIOException if the area code list cannot be loaded.
+     */
+    public State append(final char theChar) {
+        if (myState == State.DEAD) {
+            return myState;
+        }
+        myLength++;
+        final boolean live = switch (myType) {
+            case SOCIAL_SECURITY_NUMBER -> socialSecurityNumber(theChar);
+            case US_PHONE_NUMBER -> usPhoneNumber(theChar);
+            case MM_DD_YYYY -> mmDDYYYY(theChar);
+            case MILITARY_TIME_WITH_SECONDS -> militaryTime(theChar);
+            default -> usCurrencyToPenny(theChar);
+        };
+        if (!live) {
+            myState = State.DEAD;
+        } else if (myType == ValidatorType.US_CURRENCY_TO_PENNY) {
+            myState = myHighSurrogate == 0 && myMatcher.isMatch() ? State.VALID : State.PARTIAL;
+        } else {
+            myState = complete() ? State.VALID : State.PARTIAL;
+        }
+        return myState;
+    }
+
+    /** @return true if the fixed format typed so far is a whole value. */
+    private boolean complete() {
+        return switch (myType) {
+            case SOCIAL_SECURITY_NUMBER, US_PHONE_NUMBER -> myGroup == 2 && myCount == 4;
+            case MM_DD_YYYY -> myLength == 10;
+            default -> myGroup == 8 || (myGroup == 5 && mySecondsOptional);
+        };
+    }
+
+    /**
+     * Steps ^(?!666|000|9\d{2})\d{3}[- ]?(?!00)\d{2}[- ]?(?!0{4})\d{4}$.
+     * @return false if no continuation can be valid.
+     */
+    private boolean socialSecurityNumber(final char theChar) {
+        if (isSeparator(theChar)) {
+            return separate(SSN_GROUPS);
+        }
+        if (!digit(theChar, SSN_GROUPS)) {
+            return false;
+        }
+        if (myGroup == 0) {
+            return (myCount != 1 || myValue != 9) && (myCount < 3 || (myValue != 0 && myValue != 666));
+        }
+        return myCount < SSN_GROUPS[myGroup] || myValue != 0;
+    }
+
+    /**
+     * Steps ^[(]?[2-9]\d{2}[)]?[- ]?\d{3}[- ]?\d{4}$ and checks the area code
+     * against the list as soon as enough of it is typed to rule it out.
+     * @return false if no continuation can be valid.
+     */
+    private boolean usPhoneNumber(final char theChar) {
+        if (theChar == '(') {
+            myOpened = !myOpened && myLength == 1;
+            return myOpened;
+        }
+        if (theChar == ')') {
+            myClosed = !myClosed && !mySeparated && myGroup == 0 && myCount == 3;
+            return myClosed;
+        }
+        if (isSeparator(theChar)) {
+            return separate(PHONE_GROUPS);
+        }
+        if (!digit(theChar, PHONE_GROUPS)) {
+            return false;
+        }
+        return myGroup != 0 || (myValue >= 2 * pow10(myCount - 1) && anyAreaCode(myValue, 3 - myCount));
+    }
+
+    /**
+     * Steps MM-DD-YYYY with the calendar check CalendarDate.parse applies.
+     * @return false if no continuation can be valid.
+     */
+    private boolean mmDDYYYY(final char theChar) {
+        final int position = myLength - 1;
+        if (position == 2 || position == 5) {
+            return theChar == '-';
+        }
+        if (position > 9 || !FormatScanners.isDigit(theChar)) {
+            return false;
+        }
+        final int value = theChar - '0';
+        switch (position) {
+            case 0 -> myMonth = value;
+            case 1 -> myMonth = myMonth * 10 + value;
+            case 3 -> myDay = value;
+            case 4 -> myDay = myDay * 10 + value;
+            default -> myValue = myValue * 10 + value;
+        }
+        return switch (position) {
+            case 0 -> value <= 1;
+            case 1 -> myMonth >= 1 && myMonth <= 12;
+            case 3 -> value * 10 <= MAX_DAYS[myMonth];
+            case 4 -> myDay >= 1 && myDay <= MAX_DAYS[myMonth];
+            case 9 -> myMonth != 2 || myDay != 29 || CalendarDate.isLeapYear(myValue);
+            default -> true;
+        };
+    }
+
+    /**
+     * Steps the military time expression the way
+     * FormatScanners.militaryTimeWithSeconds reads it. myGroup counts the
+     * fields typed: 1 after the first hour digit, 2 after the second, 3 after
+     * the separator, 5 after the minutes and 8 after the seconds.
+     * @return false if no continuation can be valid.
+     */
+    private boolean militaryTime(final char theChar) {
+        final boolean digit = FormatScanners.isDigit(theChar);
+        final boolean separator = theChar == ':' || theChar == '.';
+        switch (myGroup) {
+            case 0 -> {
+                myHour = theChar;
+                myGroup = 1;
+                return digit;
+            }
+            case 1 -> {
+                if (separator) {
+                    mySecondsOptional = myHour != '0';
+                    myGroup = 3;
+                    return true;
+                }
+                mySecondsOptional = myHour == '0' && theChar != '0';
+                myGroup = 2;
+                return digit && (myHour < '2' || (myHour == '2' && theChar <= '3'));
+            }
+            case 2, 5 -> {
+                myGroup++;
+                return separator;
+            }
+            case 3, 6 -> {
+                myGroup++;
+                return theChar >= '0' && theChar <= '5';
+            }
+            case 4, 7 -> {
+                myGroup++;
+                return digit;
+            }
+            default -> {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Steps the currency program over the next code point.
+     * @return false if no continuation can be valid.
+     */
+    private boolean usCurrencyToPenny(final char theChar) {
+        if (myHighSurrogate != 0) {
+            final char high = myHighSurrogate;
+            myHighSurrogate = 0;
+            if (Character.isLowSurrogate(theChar)) {
+                myMatcher.step(Character.toCodePoint(high, theChar));
+                return !myMatcher.isDead();
+            }
+            myMatcher.step(high);
+            if (myMatcher.isDead()) {
+                return false;
+            }
+        }
+        if (Character.isHighSurrogate(theChar)) {
+            myHighSurrogate = theChar;
+            return true;
+        }
+        myMatcher.step(theChar);
+        return !myMatcher.isDead();
+    }
+
+    /**
+     * Takes a digit into the current group, moving on to the next group when
+     * the current one is full.
+     * @param theGroups digits in each group.
+     * @return false if theChar is not a digit or every group is full.
+     */
+    private boolean digit(final char theChar, final int[] theGroups) {
+        if (!FormatScanners.isDigit(theChar)) {
+            return false;
+        }
+        if (myCount == theGroups[myGroup]) {
+            if (myGroup == theGroups.length - 1) {
+                return false;
+            }
+            myGroup++;
+            myCount = 0;
+            myValue = 0;
+            mySeparated = false;
+        }
+        myCount++;
+        myValue = myValue * 10 + (theChar - '0');
+        return true;
+    }
+
+    /**
+     * Takes a separator, allowed once after each full group but the last.
+     * @param theGroups digits in each group.
+     * @return false if a separator cannot appear here.
+     */
+    private boolean separate(final int[] theGroups) {
+        if (mySeparated || myGroup == theGroups.length - 1 || myCount != theGroups[myGroup]) {
+            return false;
+        }
+        mySeparated = true;
+        return true;
+    }
+
+    /**
+     * @param thePrefix the first digits of an area code.
+     * @param theMissing number of digits still to come.
+     * @return true if some area code on the list starts with thePrefix.
+     */
+    private static boolean anyAreaCode(final int thePrefix, final int theMissing) {
+        final int scale = pow10(theMissing);
+        try {
+            for (int code = thePrefix * scale; code < (thePrefix + 1) * scale; code++) {
+                if (AreaCodes.contains(code)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** @return 10 to the power theExponent, for small non negative exponents. */
+    private static int pow10(final int theExponent) {
+        int result = 1;
+        for (int i = 0; i < theExponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+
+    /** @return true if theChar is a hyphen or space, the set [-\s] matches. */
+    private static boolean isSeparator(final char theChar) {
+        return theChar == '-' || theChar == ' ';
+    }
+}
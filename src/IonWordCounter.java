@@ -0,0 +1,377 @@
+package RegexApplication.src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Finds every word of a document that option L describes: alphabetic, an odd
+ * number of letters long and ending in "ion". Each distinct word is written
+ * with its number of occurrences as "word, tab, count", in order of first
+ * appearance.
+ *
+ * A word is a run of the letters A-Z and a-z. Bytes outside ASCII are taken
+ * as part of a word so that "nación" is not split, but such words are not
+ * counted, as only ASCII letters are checked. The suffix must be lower case,
+ * as it is in the expression.
+ *
+ * The file is cut into chunks that end between words, and the chunks are
+ * mapped and tokenized on a fork-join pool, as ParallelBatchValidator does
+ * with lines. The length and the last three letters of each word are tracked
+ * byte by byte as the word is read, so a word that does not qualify is dropped
+ * at its last byte without being looked at again. A qualifying word is counted
+ * in a hash table keyed by its bytes, so no String is made for it; only the
+ * distinct words are turned into text, when they are written.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class IonWordCounter {
+
+    /** Default chunk size in bytes. */
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    /** Bytes read at a time while looking for the end of a chunk. */
+    private static final int BOUNDARY_PROBE = 4096;
+
+    /** The last three letters of a qualifying word, packed one per byte. */
+    private static final int ION = 'i' << 16 | 'o' << 8 | 'n';
+
+    /** Byte class of a byte that ends a word. */
+    private static final byte SEPARATOR = 0;
+
+    /** Byte class of an ASCII letter. */
+    private static final byte LETTER = 1;
+
+    /** Byte class of a byte outside ASCII, part of a word that is never counted. */
+    private static final byte FOREIGN = 2;
+
+    /** Class of each byte value. */
+    private static final byte[] CLASS = new byte[256];
+
+    static {
+        for (int c = 'a'; c <= 'z'; c++) {
+            CLASS[c] = LETTER;
+            CLASS[c - 'a' + 'A'] = LETTER;
+        }
+        Arrays.fill(CLASS, 0x80, 0x100, FOREIGN);
+    }
+
+    /** Number of worker threads. */
+    private final int myThreads;
+
+    /** Target size of a chunk in bytes. */
+    private final int myChunkSize;
+
+    /** Counts of the words found by the last run. */
+    private WordTable myWords = new WordTable();
+
+    /**
+     * Creates a counter.
+     * @param theThreads number of worker threads, at least 1.
+     * @param theChunkSize target size of a chunk in bytes, at least 1.
+     */
+    public IonWordCounter(final int theThreads, final int theChunkSize) {
+        if (theThreads < 1 || theChunkSize < 1) {
+            throw new IllegalArgumentException("Thread count and chunk size must be positive");
+        }
+        myThreads = theThreads;
+        myChunkSize = theChunkSize;
+    }
+
+    /**
+     * Counts the qualifying words of theInput and writes each distinct word
+     * with its count to theOutput.
+     * @param theInput the file to read.
+     * @param theOutput destination of the counts.
+     * @return the number of qualifying words, counting repeats.
+     * @throws IOException if theInput cannot be read or theOutput cannot be written.
+     */
+    public long run(final Path theInput, final ChannelWriter theOutput) throws IOException {
+        final WordTable words = new WordTable();
+        final ForkJoinPool pool = new ForkJoinPool(myThreads);
+        final ArrayDeque<Future<WordTable>> pending = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(theInput, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size || !pending.isEmpty()) {
+                if (position < size && pending.size() < 2 * myThreads) {
+                    final long chunkStart = position;
+                    final long chunkEnd = chunkEnd(channel, chunkStart, size);
+                    pending.add(pool.submit(() -> countChunk(channel, chunkStart, chunkEnd)));
+                    position = chunkEnd;
+                } else {
+                    words.addAll(await(pending.remove()));
+                }
+            }
+        } finally {
+            for (Future<WordTable> future : pending) {
+                future.cancel(true);
+            }
+            pool.shutdown();
+        }
+        myWords = words;
+        for (int i = 0; i < words.mySize; i++) {
+            theOutput.write(words.myBytes, words.myOffsets[i], words.myLengths[i]);
+            theOutput.write('\t');
+            theOutput.writeLong(words.myCounts[i]);
+            theOutput.write('\n');
+        }
+        theOutput.flush();
+        return words.myTotal;
+    }
+
+    /** @return number of distinct words found by the last run. */
+    public int getDistinctWords() {
+        return myWords.mySize;
+    }
+
+    /**
+     * @param theWord a word.
+     * @return number of times the last run found theWord, 0 if it never did.
+     */
+    public long getCount(final CharSequence theWord) {
+        final byte[] bytes = new byte[theWord.length()];
+        for (int i = 0; i < bytes.length; i++) {
+            final char c = theWord.charAt(i);
+            if (c >= 0x80) {
+                return 0;
+            }
+            bytes[i] = (byte) c;
+        }
+        return myWords.get(bytes, bytes.length);
+    }
+
+    /**
+     * Finds the end of the chunk starting at theStart: the first byte that
+     * ends a word at or past theStart + chunk size, or the end of the file.
+     * @param theChannel the input.
+     * @param theStart offset of the first byte of the chunk.
+     * @param theSize size of the input.
+     * @return offset one past the last byte of the chunk.
+     * @throws IOException if theChannel cannot be read.
+     */
+    private long chunkEnd(final FileChannel theChannel, final long theStart, final long theSize)
+            throws IOException {
+        long position = theStart + myChunkSize - 1;
+        final ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE);
+        while (position < theSize) {
+            probe.clear();
+            final int read = theChannel.read(probe, position);
+            for (int i = 0; i < read; i++) {
+                if (CLASS[probe.get(i) & 0xFF] == SEPARATOR) {
+                    return position + i + 1;
+                }
+            }
+            position += Math.max(read, 1);
+            if (position - theStart > Integer.MAX_VALUE) {
+                throw new IOException("Word longer than 2 GB at offset " + theStart);
+            }
+        }
+        return theSize;
+    }
+
+    /**
+     * Counts the qualifying words of one chunk. Runs on a pool thread.
+     * @param theChannel the input.
+     * @param theStart offset of the first byte of the chunk.
+     * @param theEnd offset one past the last byte of the chunk.
+     * @return the words of the chunk in order of first appearance.
+     * @throws IOException if the chunk cannot be mapped.
+     */
+    private static WordTable countChunk(final FileChannel theChannel, final long theStart, final long theEnd)
+            throws IOException {
+        final int length = (int) (theEnd - theStart);
+        final ByteBuffer region = theChannel.map(FileChannel.MapMode.READ_ONLY, theStart, length);
+        final WordTable words = new WordTable();
+        byte[] word = new byte[64];
+        int wordLength = 0;
+        int last = 0;
+        boolean ascii = true;
+        for (int i = 0; i <= length; i++) {
+            final int b = i == length ? ' ' : region.get(i) & 0xFF;
+            final byte kind = CLASS[b];
+            if (kind != SEPARATOR) {
+                last = (last << 8 | b) & 0xFFFFFF;
+                ascii &= kind == LETTER;
+                wordLength++;
+            } else if (wordLength > 0) {
+                if (last == ION && (wordLength & 1) == 1 && ascii) {
+                    if (wordLength > word.length) {
+                        word = new byte[Math.max(wordLength, word.length * 2)];
+                    }
+                    region.get(i - wordLength, word, 0, wordLength);
+                    words.add(word, 0, wordLength, 1);
+                }
+                wordLength = 0;
+                last = 0;
+                ascii = true;
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Waits for a chunk, rethrowing its failure on the calling thread.
+     * @param theFuture the pending chunk.
+     * @return the words of the chunk.
+     * @throws IOException if the chunk could not be read.
+     */
+    private static WordTable await(final Future<WordTable> theFuture) throws IOException {
+        try {
+            return theFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while counting", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Counts of words kept as bytes: an open addressing hash table over
+     * entries stored in order of first appearance, with the bytes of all the
+     * words packed into one array.
+     */
+    private static final class WordTable {
+
+        /** Entry index plus one for each slot, 0 for an empty slot. */
+        private int[] mySlots = new int[256];
+
+        /** Bytes of every word, back to back. */
+        private byte[] myBytes = new byte[4096];
+
+        /** Bytes of myBytes in use. */
+        private int myUsed;
+
+        /** Offset of each word in myBytes. */
+        private int[] myOffsets = new int[128];
+
+        /** Length of each word. */
+        private int[] myLengths = new int[128];
+
+        /** Hash of each word. */
+        private int[] myHashes = new int[128];
+
+        /** Occurrences of each word. */
+        private long[] myCounts = new long[128];
+
+        /** Number of distinct words. */
+        private int mySize;
+
+        /** Number of occurrences of all words. */
+        private long myTotal;
+
+        /**
+         * Adds theCount occurrences of a word.
+         * @param theBytes holds the word.
+         * @param theOffset index of its first byte.
+         * @param theLength its length in bytes.
+         * @param theCount occurrences to add.
+         */
+        private void add(final byte[] theBytes, final int theOffset, final int theLength, final long theCount) {
+            myTotal += theCount;
+            final int hash = hash(theBytes, theOffset, theLength);
+            final int mask = mySlots.length - 1;
+            int slot = hash & mask;
+            while (mySlots[slot] != 0) {
+                final int entry = mySlots[slot] - 1;
+                if (myHashes[entry] == hash && myLengths[entry] == theLength
+                        && Arrays.equals(myBytes, myOffsets[entry], myOffsets[entry] + theLength,
+                                theBytes, theOffset, theOffset + theLength)) {
+                    myCounts[entry] += theCount;
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (mySize == myOffsets.length) {
+                final int capacity = mySize * 2;
+                myOffsets = Arrays.copyOf(myOffsets, capacity);
+                myLengths = Arrays.copyOf(myLengths, capacity);
+                myHashes = Arrays.copyOf(myHashes, capacity);
+                myCounts = Arrays.copyOf(myCounts, capacity);
+            }
+            if (myUsed + theLength > myBytes.length) {
+                myBytes = Arrays.copyOf(myBytes, Math.max(myUsed + theLength, myBytes.length * 2));
+            }
+            System.arraycopy(theBytes, theOffset, myBytes, myUsed, theLength);
+            myOffsets[mySize] = myUsed;
+            myLengths[mySize] = theLength;
+            myHashes[mySize] = hash;
+            myCounts[mySize] = theCount;
+            myUsed += theLength;
+            mySlots[slot] = ++mySize;
+            if (mySize * 2 > mySlots.length) {
+                rehash();
+            }
+        }
+
+        /**
+         * Adds every word of theOther, keeping its order after the words
+         * already here.
+         * @param theOther the words of a later chunk.
+         */
+        private void addAll(final WordTable theOther) {
+            for (int i = 0; i < theOther.mySize; i++) {
+                add(theOther.myBytes, theOther.myOffsets[i], theOther.myLengths[i], theOther.myCounts[i]);
+            }
+        }
+
+        /**
+         * @param theBytes holds the word at index 0.
+         * @param theLength its length in bytes.
+         * @return the count of the word, 0 if it is not here.
+         */
+        private long get(final byte[] theBytes, final int theLength) {
+            final int hash = hash(theBytes, 0, theLength);
+            final int mask = mySlots.length - 1;
+            for (int slot = hash & mask; mySlots[slot] != 0; slot = (slot + 1) & mask) {
+                final int entry = mySlots[slot] - 1;
+                if (myHashes[entry] == hash && myLengths[entry] == theLength
+                        && Arrays.equals(myBytes, myOffsets[entry], myOffsets[entry] + theLength,
+                                theBytes, 0, theLength)) {
+                    return myCounts[entry];
+                }
+            }
+            return 0;
+        }
+
+        /** Doubles the slots and places every entry again. */
+        private void rehash() {
+            mySlots = new int[mySlots.length * 2];
+            final int mask = mySlots.length - 1;
+            for (int entry = 0; entry < mySize; entry++) {
+                int slot = myHashes[entry] & mask;
+                while (mySlots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                mySlots[slot] = entry + 1;
+            }
+        }
+
+        /** @return FNV-1a hash of the bytes, mixed so the low bits can pick a slot. */
+        private static int hash(final byte[] theBytes, final int theOffset, final int theLength) {
+            int hash = 0x811C9DC5;
+            for (int i = theOffset; i < theOffset + theLength; i++) {
+                hash = (hash ^ (theBytes[i] & 0xFF)) * 0x01000193;
+            }
+            return hash ^ (hash >>> 16);
+        }
+    }
+}
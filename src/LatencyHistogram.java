@@ -0,0 +1,121 @@
+package RegexApplication.src;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Concurrent histogram of latencies in nanoseconds with log-linear buckets:
+ * each power of two range is split into eight equal buckets, so any recorded
+ * value is known to within 12.5% from 8 ns up to the longest possible latency,
+ * using a fixed 496 counters. Recording is a bit scan and one atomic increment;
+ * it never allocates or locks.
+ *
+ * Percentiles are read from a live histogram without stopping writers, so a
+ * report taken under load may be off by the handful of values recorded while
+ * it was being computed.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class LatencyHistogram {
+
+    /** Buckets per power of two, as a power of two. */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** Buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Number of buckets, enough for any positive long. */
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /** Count of values in each bucket. */
+    private final AtomicLongArray myCounts = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records one latency.
+     * @param theNanos the latency in nanoseconds; negative values count as 0.
+     */
+    public void record(final long theNanos) {
+        myCounts.incrementAndGet(bucket(Math.max(theNanos, 0)));
+    }
+
+    /** @return number of values recorded. */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            count += myCounts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Estimates a percentile.
+     * @param theFraction the percentile as a fraction, e.g. 0.99 for p99.
+     * @return the upper bound of the bucket holding the percentile in
+     *         nanoseconds, or 0 if nothing has been recorded.
+     */
+    public long getPercentile(final double theFraction) {
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = myCounts.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(theFraction * total));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return upperBound(i);
+            }
+        }
+        return upperBound(BUCKETS - 1);
+    }
+
+    /** @return upper bound of the highest non empty bucket in nanoseconds, or 0. */
+    public long getMax() {
+        for (int i = BUCKETS - 1; i >= 0; i--) {
+            if (myCounts.get(i) != 0) {
+                return upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    /** Forgets every recorded value. */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            myCounts.set(i, 0);
+        }
+    }
+
+    /**
+     * @param theValue a non negative value.
+     * @return index of the bucket holding theValue.
+     */
+    static int bucket(final long theValue) {
+        if (theValue < SUB_BUCKETS) {
+            return (int) theValue;
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(theValue);
+        final int sub = (int) (theValue >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @param theBucket a bucket index.
+     * @return the largest value held by theBucket.
+     */
+    static long upperBound(final int theBucket) {
+        if (theBucket < SUB_BUCKETS) {
+            return theBucket;
+        }
+        final int exponent = theBucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long sub = theBucket % SUB_BUCKETS;
+        final long lower = (1L << exponent) + (sub << (exponent - SUB_BUCKET_BITS));
+        final long upper = lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
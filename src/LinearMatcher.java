@@ -0,0 +1,250 @@
+package RegexApplication.src;
+
+import java.util.Arrays;
+
+/**
+ * Simulates a LinearPattern over an input. Every live NFA state is advanced
+ * together, one code point at a time, so a match costs at most
+ * (input length) x (program size) steps and never backtracks.
+ *
+ * The state sets are sparse sets sized to the program and reused between
+ * calls, so matching allocates nothing. A matcher is not thread safe; use one
+ * per thread, as LinearPattern.matches does.
+ *
+ * Besides matching a whole input, a matcher can be fed one code point at a
+ * time through begin and step, for input that arrives piece by piece. Each
+ * step costs at most the program size whatever the length of the input so
+ * far. As the end of such input is not known, '$' is taken to hold only at
+ * the end, which is all a whole match can use it for.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class LinearMatcher {
+
+    /** The compiled program. */
+    private final LinearPattern myPattern;
+
+    /** States live before the current code point. */
+    private int[] myCurrent;
+
+    /** Number of entries in myCurrent. */
+    private int myCurrentSize;
+
+    /** States live after the current code point. */
+    private int[] myNext;
+
+    /** Number of entries in myNext. */
+    private int myNextSize;
+
+    /** myMarks[pc] == myGeneration when pc is already in the set being built. */
+    private final int[] myMarks;
+
+    /** Identifies the set being built. */
+    private int myGeneration;
+
+    /** Work list for following SPLIT, JUMP and anchor instructions. */
+    private final int[] myStack;
+
+    /**
+     * Creates a matcher for thePattern.
+     * @param thePattern the compiled program.
+     */
+    LinearMatcher(final LinearPattern thePattern) {
+        myPattern = thePattern;
+        final int size = thePattern.size();
+        myCurrent = new int[size];
+        myNext = new int[size];
+        myMarks = new int[size];
+        myStack = new int[size];
+    }
+
+    /**
+     * Checks whether the whole of theInput matches, like Matcher.matches.
+     * @param theInput the text to match.
+     * @return true if theInput matches.
+     */
+    public boolean matches(final CharSequence theInput) {
+        final int[] ops = myPattern.myOps;
+        final int[] arg1 = myPattern.myArg1;
+        final LinearPattern.CharRanges[] classes = myPattern.myClasses;
+        final int length = theInput.length();
+        newGeneration();
+        myNextSize = 0;
+        follow(0, theInput, 0);
+        swap();
+        int position = 0;
+        while (position < length) {
+            if (myCurrentSize == 0) {
+                return false;
+            }
+            final int codePoint = Character.codePointAt(theInput, position);
+            position += Character.charCount(codePoint);
+            newGeneration();
+            myNextSize = 0;
+            for (int i = 0; i < myCurrentSize; i++) {
+                final int pc = myCurrent[i];
+                if (ops[pc] == LinearPattern.CLASS && classes[arg1[pc]].contains(codePoint)) {
+                    follow(pc + 1, theInput, position);
+                }
+            }
+            swap();
+        }
+        for (int i = 0; i < myCurrentSize; i++) {
+            if (ops[myCurrent[i]] == LinearPattern.MATCH) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Starts matching input fed one code point at a time through step. */
+    public void begin() {
+        newGeneration();
+        myNextSize = 0;
+        follow(0, null, 0);
+        swap();
+    }
+
+    /**
+     * Advances every live state over the next code point of the input.
+     * @param theCodePoint the next code point.
+     */
+    public void step(final int theCodePoint) {
+        final int[] ops = myPattern.myOps;
+        final int[] arg1 = myPattern.myArg1;
+        final LinearPattern.CharRanges[] classes = myPattern.myClasses;
+        newGeneration();
+        myNextSize = 0;
+        for (int i = 0; i < myCurrentSize; i++) {
+            final int pc = myCurrent[i];
+            if (ops[pc] == LinearPattern.CLASS && classes[arg1[pc]].contains(theCodePoint)) {
+                follow(pc + 1, null, 1);
+            }
+        }
+        swap();
+    }
+
+    /** @return true if no continuation of the input fed so far can match. */
+    public boolean isDead() {
+        return myCurrentSize == 0;
+    }
+
+    /** @return true if the input fed so far matches as a whole. */
+    public boolean isMatch() {
+        final int[] ops = myPattern.myOps;
+        final int[] arg1 = myPattern.myArg1;
+        final int[] arg2 = myPattern.myArg2;
+        newGeneration();
+        int top = 0;
+        for (int i = 0; i < myCurrentSize; i++) {
+            top = push(top, myCurrent[i]);
+        }
+        while (top > 0) {
+            final int pc = myStack[--top];
+            switch (ops[pc]) {
+                case LinearPattern.MATCH -> {
+                    return true;
+                }
+                case LinearPattern.SPLIT -> {
+                    top = push(top, arg1[pc]);
+                    top = push(top, arg2[pc]);
+                }
+                case LinearPattern.JUMP -> top = push(top, arg1[pc]);
+                case LinearPattern.END -> top = push(top, pc + 1);
+                default -> {
+                    // CLASS needs input and BEGIN has passed.
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds theStart to myNext along with every state reachable from it without
+     * consuming input.
+     * @param theStart the state to add.
+     * @param theInput the text being matched, for the anchors; null for input
+     *                 fed through step, whose END states are kept unresolved.
+     * @param thePosition index in theInput the states are at.
+     */
+    private void follow(final int theStart, final CharSequence theInput, final int thePosition) {
+        final int[] ops = myPattern.myOps;
+        final int[] arg1 = myPattern.myArg1;
+        final int[] arg2 = myPattern.myArg2;
+        int top = push(0, theStart);
+        while (top > 0) {
+            final int pc = myStack[--top];
+            switch (ops[pc]) {
+                case LinearPattern.SPLIT -> {
+                    top = push(top, arg1[pc]);
+                    top = push(top, arg2[pc]);
+                }
+                case LinearPattern.JUMP -> top = push(top, arg1[pc]);
+                case LinearPattern.BEGIN -> {
+                    if (thePosition == 0) {
+                        top = push(top, pc + 1);
+                    }
+                }
+                case LinearPattern.END -> {
+                    if (theInput == null) {
+                        myNext[myNextSize++] = pc;
+                    } else if (atEnd(theInput, thePosition)) {
+                        top = push(top, pc + 1);
+                    }
+                }
+                default -> myNext[myNextSize++] = pc;
+            }
+        }
+    }
+
+    /**
+     * Pushes thePc on the work list unless it is already in the set being built.
+     * @return the new top of the work list.
+     */
+    private int push(final int theTop, final int thePc) {
+        if (myMarks[thePc] == myGeneration) {
+            return theTop;
+        }
+        myMarks[thePc] = myGeneration;
+        myStack[theTop] = thePc;
+        return theTop + 1;
+    }
+
+    /**
+     * Whether '$' holds at thePosition: at the end of the input, or before a
+     * line terminator that ends it, exactly as java.util.regex decides without
+     * MULTILINE.
+     */
+    private static boolean atEnd(final CharSequence theInput, final int thePosition) {
+        final int length = theInput.length();
+        if (thePosition == length) {
+            return true;
+        } else if (thePosition == length - 2) {
+            return theInput.charAt(thePosition) == '\r' && theInput.charAt(thePosition + 1) == '\n';
+        } else if (thePosition == length - 1) {
+            final char c = theInput.charAt(thePosition);
+            if (c == '\n') {
+                return thePosition == 0 || theInput.charAt(thePosition - 1) != '\r';
+            }
+            return c == '\r' || c == '\u0085' || (c | 1) == '\u2029';
+        }
+        return false;
+    }
+
+    /** Starts a new, empty set. */
+    private void newGeneration() {
+        if (++myGeneration == 0) {
+            Arrays.fill(myMarks, 0);
+            myGeneration = 1;
+        }
+    }
+
+    /** Makes the set just built the current one. */
+    private void swap() {
+        final int[] states = myCurrent;
+        myCurrent = myNext;
+        myNext = states;
+        myCurrentSize = myNextSize;
+    }
+}
@@ -0,0 +1,726 @@
+package RegexApplication.src;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Regular expression engine that runs in time linear in the length of the
+ * input, whatever the expression. The expression is compiled to a Thompson NFA
+ * and simulated one code point at a time, tracking every live state at once
+ * (a Pike VM without captures), so there is no backtracking to blow up.
+ *
+ * Only the lookaround free subset of java.util.regex syntax is supported:
+ * literals and escapes, character classes including ranges, negation, the
+ * \d \w \s shorthands and nested unions, '.', groups (capturing or (?:)),
+ * alternation, the greedy quantifiers * + ? {n} {n,} {n,m}, and ^ / $ with
+ * their default, non multiline meaning. tryCompile returns null for anything
+ * else (lookaround, backreferences, flags, lazy or possessive quantifiers...).
+ *
+ * Within that subset matches gives the same answer as Matcher.matches.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class LinearPattern {
+
+    /** Instruction opcodes. */
+    static final int CLASS = 0;
+    static final int SPLIT = 1;
+    static final int JUMP = 2;
+    static final int BEGIN = 3;
+    static final int END = 4;
+    static final int MATCH = 5;
+
+    /** Largest code point. */
+    private static final int MAX_CODE_POINT = Character.MAX_CODE_POINT;
+
+    /** Opcode of each instruction. */
+    final int[] myOps;
+
+    /** First operand: class index for CLASS, target for SPLIT and JUMP. */
+    final int[] myArg1;
+
+    /** Second operand: the other target of SPLIT. */
+    final int[] myArg2;
+
+    /** Character classes referenced by CLASS instructions. */
+    final CharRanges[] myClasses;
+
+    /** Source expression. */
+    private final String myRegex;
+
+    /** Per thread simulation state, so matches allocates nothing after the first call. */
+    private final ThreadLocal<LinearMatcher> myMatchers;
+
+    /**
+     * Creates a compiled program.
+     * @param theRegex source expression.
+     * @param theProgram the compiled instructions.
+     */
+    private LinearPattern(final String theRegex, final Program theProgram) {
+        myRegex = theRegex;
+        final int size = theProgram.myOps.size();
+        myOps = new int[size];
+        myArg1 = new int[size];
+        myArg2 = new int[size];
+        for (int i = 0; i < size; i++) {
+            myOps[i] = theProgram.myOps.get(i);
+            myArg1[i] = theProgram.myArg1.get(i);
+            myArg2[i] = theProgram.myArg2.get(i);
+        }
+        myClasses = theProgram.myClasses.toArray(new CharRanges[0]);
+        myMatchers = ThreadLocal.withInitial(() -> new LinearMatcher(this));
+    }
+
+    /**
+     * Compiles theRegex if it is inside the supported subset.
+     * @param theRegex the expression to compile.
+     * @return the compiled expression, or null if theRegex uses unsupported syntax.
+     */
+    public static LinearPattern tryCompile(final String theRegex) {
+        try {
+            final Node tree = new Parser(theRegex).parse();
+            final Program program = new Program();
+            program.emit(tree);
+            program.add(MATCH, 0, 0);
+            return new LinearPattern(theRegex, program);
+        } catch (Unsupported e) {
+            return null;
+        }
+    }
+
+    /** @return the source expression. */
+    public String getRegex() {
+        return myRegex;
+    }
+
+    /** @return number of NFA instructions. */
+    public int size() {
+        return myOps.length;
+    }
+
+    /**
+     * Checks whether the whole of theInput matches, like Matcher.matches.
+     * Safe to call from any number of threads.
+     * @param theInput the text to match.
+     * @return true if theInput matches.
+     */
+    public boolean matches(final CharSequence theInput) {
+        return myMatchers.get().matches(theInput);
+    }
+
+    /** @return a new matcher for use by one thread. */
+    public LinearMatcher matcher() {
+        return new LinearMatcher(this);
+    }
+
+    /** Thrown by the parser for syntax outside the supported subset. */
+    private static final class Unsupported extends RuntimeException {
+
+        /** Serialization version. */
+        private static final long serialVersionUID = 1L;
+
+        /** @param theMessage what was not supported. */
+        Unsupported(final String theMessage) {
+            super(theMessage, null, false, false);
+        }
+    }
+
+    /**
+     * Sorted, non overlapping code point ranges, stored as lo0, hi0, lo1, hi1, ...
+     * ASCII membership is also kept as a 128 bit mask for the common case.
+     */
+    static final class CharRanges {
+
+        /** Range bounds, inclusive. */
+        private final int[] myBounds;
+
+        /** Bit per ASCII char, low half. */
+        private final long myLow;
+
+        /** Bit per ASCII char, high half. */
+        private final long myHigh;
+
+        /** @param theBounds sorted, merged range bounds. */
+        private CharRanges(final int[] theBounds) {
+            myBounds = theBounds;
+            long low = 0;
+            long high = 0;
+            for (int c = 0; c < 128; c++) {
+                if (search(c)) {
+                    if (c < 64) {
+                        low |= 1L << c;
+                    } else {
+                        high |= 1L << (c - 64);
+                    }
+                }
+            }
+            myLow = low;
+            myHigh = high;
+        }
+
+        /**
+         * @param theCodePoint the code point to test.
+         * @return true if theCodePoint is in the set.
+         */
+        boolean contains(final int theCodePoint) {
+            if (theCodePoint < 64) {
+                return (myLow & (1L << theCodePoint)) != 0;
+            } else if (theCodePoint < 128) {
+                return (myHigh & (1L << (theCodePoint - 64))) != 0;
+            }
+            return search(theCodePoint);
+        }
+
+        /** @return true if theCodePoint falls in one of the ranges. */
+        private boolean search(final int theCodePoint) {
+            int lo = 0;
+            int hi = myBounds.length / 2 - 1;
+            while (lo <= hi) {
+                final int mid = (lo + hi) >>> 1;
+                if (theCodePoint < myBounds[2 * mid]) {
+                    hi = mid - 1;
+                } else if (theCodePoint > myBounds[2 * mid + 1]) {
+                    lo = mid + 1;
+                } else {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** @return the range bounds, lo0, hi0, lo1, hi1, ... */
+        int[] bounds() {
+            return myBounds.clone();
+        }
+
+        /**
+         * Builds a set from unsorted, possibly overlapping ranges.
+         * @param theRanges range bounds in pairs.
+         * @param theCount number of ints used in theRanges.
+         * @param theNegate true to take the complement.
+         * @return the set.
+         */
+        static CharRanges of(final int[] theRanges, final int theCount, final boolean theNegate) {
+            final int pairs = theCount / 2;
+            final long[] sorted = new long[pairs];
+            for (int i = 0; i < pairs; i++) {
+                sorted[i] = ((long) theRanges[2 * i] << 32) | theRanges[2 * i + 1];
+            }
+            Arrays.sort(sorted);
+            final int[] merged = new int[theCount];
+            int count = 0;
+            for (long range : sorted) {
+                final int lo = (int) (range >>> 32);
+                final int hi = (int) range;
+                if (count > 0 && lo <= merged[count - 1] + 1) {
+                    merged[count - 1] = Math.max(merged[count - 1], hi);
+                } else {
+                    merged[count++] = lo;
+                    merged[count++] = hi;
+                }
+            }
+            if (!theNegate) {
+                return new CharRanges(Arrays.copyOf(merged, count));
+            }
+            final int[] complement = new int[count + 2];
+            int size = 0;
+            int next = 0;
+            for (int i = 0; i < count; i += 2) {
+                if (merged[i] > next) {
+                    complement[size++] = next;
+                    complement[size++] = merged[i] - 1;
+                }
+                next = merged[i + 1] + 1;
+            }
+            if (next <= MAX_CODE_POINT) {
+                complement[size++] = next;
+                complement[size++] = MAX_CODE_POINT;
+            }
+            return new CharRanges(Arrays.copyOf(complement, size));
+        }
+    }
+
+    /** Node of the parsed expression. */
+    private abstract static class Node { }
+
+    /** Matches one code point from a set. */
+    private static final class SetNode extends Node {
+
+        /** The accepted code points. */
+        private final CharRanges mySet;
+
+        /** @param theSet the accepted code points. */
+        SetNode(final CharRanges theSet) {
+            mySet = theSet;
+        }
+    }
+
+    /** Zero width assertion, ^ or $. */
+    private static final class AnchorNode extends Node {
+
+        /** BEGIN or END. */
+        private final int myOp;
+
+        /** @param theOp BEGIN or END. */
+        AnchorNode(final int theOp) {
+            myOp = theOp;
+        }
+    }
+
+    /** Sequence of nodes. */
+    private static final class ConcatNode extends Node {
+
+        /** The nodes in order. */
+        private final List<Node> myParts;
+
+        /** @param theParts the nodes in order. */
+        ConcatNode(final List<Node> theParts) {
+            myParts = theParts;
+        }
+    }
+
+    /** Choice between nodes. */
+    private static final class AlternationNode extends Node {
+
+        /** The alternatives. */
+        private final List<Node> myChoices;
+
+        /** @param theChoices the alternatives. */
+        AlternationNode(final List<Node> theChoices) {
+            myChoices = theChoices;
+        }
+    }
+
+    /** Greedy repetition. */
+    private static final class RepeatNode extends Node {
+
+        /** The repeated node. */
+        private final Node myBody;
+
+        /** Minimum count. */
+        private final int myMin;
+
+        /** Maximum count, or -1 for no limit. */
+        private final int myMax;
+
+        /**
+         * @param theBody the repeated node.
+         * @param theMin minimum count.
+         * @param theMax maximum count, or -1 for no limit.
+         */
+        RepeatNode(final Node theBody, final int theMin, final int theMax) {
+            myBody = theBody;
+            myMin = theMin;
+            myMax = theMax;
+        }
+    }
+
+    /** Recursive descent parser for the supported subset. */
+    private static final class Parser {
+
+        /** Ranges of \d. */
+        private static final int[] DIGIT = {'0', '9'};
+
+        /** Ranges of \w. */
+        private static final int[] WORD = {'a', 'z', 'A', 'Z', '_', '_', '0', '9'};
+
+        /** Ranges of \s. */
+        private static final int[] SPACE = {' ', ' ', '\t', '\r', };
+
+        /** Ranges excluded by '.': the line terminators. */
+        private static final int[] LINE_TERMINATORS = {'\n', '\n', '\r', '\r', 0x85, 0x85, 0x2028, 0x2029};
+
+        /** The expression. */
+        private final String myRegex;
+
+        /** Index of the next char to read. */
+        private int myIndex;
+
+        /** @param theRegex the expression to parse. */
+        Parser(final String theRegex) {
+            myRegex = theRegex;
+        }
+
+        /** @return the parsed expression. */
+        Node parse() {
+            final Node node = alternation();
+            if (myIndex != myRegex.length()) {
+                throw new Unsupported("Unexpected '" + myRegex.charAt(myIndex) + "' at " + myIndex);
+            }
+            return node;
+        }
+
+        /** alternation := concatenation ('|' concatenation)* */
+        private Node alternation() {
+            final List<Node> choices = new ArrayList<>();
+            choices.add(concatenation());
+            while (more() && peek() == '|') {
+                myIndex++;
+                choices.add(concatenation());
+            }
+            return choices.size() == 1 ? choices.get(0) : new AlternationNode(choices);
+        }
+
+        /** concatenation := repetition* */
+        private Node concatenation() {
+            final List<Node> parts = new ArrayList<>();
+            while (more() && peek() != '|' && peek() != ')') {
+                parts.add(repetition());
+            }
+            return new ConcatNode(parts);
+        }
+
+        /** repetition := atom quantifier* */
+        private Node repetition() {
+            Node node = atom();
+            while (more()) {
+                final char c = peek();
+                int min;
+                int max;
+                if (c == '*') {
+                    min = 0;
+                    max = -1;
+                    myIndex++;
+                } else if (c == '+') {
+                    min = 1;
+                    max = -1;
+                    myIndex++;
+                } else if (c == '?') {
+                    min = 0;
+                    max = 1;
+                    myIndex++;
+                } else if (c == '{') {
+                    myIndex++;
+                    min = number();
+                    max = min;
+                    if (more() && peek() == ',') {
+                        myIndex++;
+                        max = more() && peek() == '}' ? -1 : number();
+                    }
+                    expect('}');
+                    if (max != -1 && max < min) {
+                        throw new Unsupported("Bad repetition bounds");
+                    }
+                } else {
+                    break;
+                }
+                if (more() && (peek() == '?' || peek() == '+')) {
+                    throw new Unsupported("Lazy and possessive quantifiers");
+                }
+                node = new RepeatNode(node, min, max);
+            }
+            return node;
+        }
+
+        /** atom := group | class | '.' | '^' | '$' | escape | literal */
+        private Node atom() {
+            final char c = next();
+            switch (c) {
+                case '(' -> {
+                    if (more() && peek() == '?') {
+                        myIndex++;
+                        if (!more() || next() != ':') {
+                            throw new Unsupported("Group construct (?" + myRegex.charAt(myIndex - 1));
+                        }
+                    }
+                    final Node node = alternation();
+                    expect(')');
+                    return node;
+                }
+                case '[' -> {
+                    return new SetNode(characterClass());
+                }
+                case '.' -> {
+                    return new SetNode(CharRanges.of(LINE_TERMINATORS.clone(), LINE_TERMINATORS.length, true));
+                }
+                case '^' -> {
+                    return new AnchorNode(BEGIN);
+                }
+                case '$' -> {
+                    return new AnchorNode(END);
+                }
+                case '\\' -> {
+                    final RangeList ranges = new RangeList();
+                    escape(ranges);
+                    return new SetNode(ranges.build());
+                }
+                case '*', '+', '?', '{', ')' -> throw new Unsupported("Dangling '" + c + "'");
+                default -> {
+                    final int codePoint = Character.codePointAt(myRegex, myIndex - 1);
+                    myIndex += Character.charCount(codePoint) - 1;
+                    return new SetNode(CharRanges.of(new int[] {codePoint, codePoint}, 2, false));
+                }
+            }
+        }
+
+        /**
+         * Parses a class after its '['.
+         * @return the accepted code points.
+         */
+        private CharRanges characterClass() {
+            boolean negate = false;
+            if (more() && peek() == '^') {
+                negate = true;
+                myIndex++;
+            }
+            final RangeList ranges = new RangeList();
+            if (more() && peek() == ']') {
+                throw new Unsupported("Class starting with ']'");
+            }
+            while (true) {
+                if (!more()) {
+                    throw new Unsupported("Unclosed class");
+                }
+                final char c = next();
+                if (c == ']') {
+                    break;
+                } else if (c == '[') {
+                    final int[] nested = characterClass().bounds();
+                    for (int i = 0; i < nested.length; i += 2) {
+                        ranges.add(nested[i], nested[i + 1]);
+                    }
+                    continue;
+                } else if (c == '&' && more() && peek() == '&') {
+                    throw new Unsupported("Class intersection");
+                }
+                int lo;
+                if (c == '\\') {
+                    if (escape(ranges)) {
+                        continue;
+                    }
+                    lo = ranges.removeLastSingle();
+                } else {
+                    lo = Character.codePointAt(myRegex, myIndex - 1);
+                    myIndex += Character.charCount(lo) - 1;
+                }
+                if (myIndex + 1 < myRegex.length() && peek() == '-' && myRegex.charAt(myIndex + 1) != ']') {
+                    myIndex++;
+                    int hi;
+                    final char h = next();
+                    if (h == '\\') {
+                        if (escape(ranges)) {
+                            throw new Unsupported("Class shorthand as range bound");
+                        }
+                        hi = ranges.removeLastSingle();
+                    } else if (h == '[') {
+                        throw new Unsupported("Nested class as range bound");
+                    } else {
+                        hi = Character.codePointAt(myRegex, myIndex - 1);
+                        myIndex += Character.charCount(hi) - 1;
+                    }
+                    if (hi < lo) {
+                        throw new Unsupported("Bad class range");
+                    }
+                    ranges.add(lo, hi);
+                } else {
+                    ranges.add(lo, lo);
+                }
+            }
+            return ranges.build(negate);
+        }
+
+        /**
+         * Parses an escape after its backslash and adds it to theRanges.
+         * @param theRanges where to add the escaped chars.
+         * @return true if the escape was a shorthand class, false for a single char.
+         */
+        private boolean escape(final RangeList theRanges) {
+            if (!more()) {
+                throw new Unsupported("Trailing backslash");
+            }
+            final char c = next();
+            switch (c) {
+                case 'd' -> theRanges.addAll(DIGIT, false);
+                case 'D' -> theRanges.addAll(DIGIT, true);
+                case 'w' -> theRanges.addAll(WORD, false);
+                case 'W' -> theRanges.addAll(WORD, true);
+                case 's' -> theRanges.addAll(SPACE, false);
+                case 'S' -> theRanges.addAll(SPACE, true);
+                case 't' -> theRanges.add('\t', '\t');
+                case 'n' -> theRanges.add('\n', '\n');
+                case 'r' -> theRanges.add('\r', '\r');
+                case 'f' -> theRanges.add('\f', '\f');
+                case 'e' -> theRanges.add(0x1B, 0x1B);
+                case 'u' -> {
+                    if (myIndex + 4 > myRegex.length()) {
+                        throw new Unsupported("Short \\u escape");
+                    }
+                    final int value = Integer.parseInt(myRegex.substring(myIndex, myIndex + 4), 16);
+                    myIndex += 4;
+                    theRanges.add(value, value);
+                }
+                default -> {
+                    if (Character.isLetterOrDigit(c)) {
+                        throw new Unsupported("Escape \\" + c);
+                    }
+                    theRanges.add(c, c);
+                }
+            }
+            return switch (c) {
+                case 'd', 'D', 'w', 'W', 's', 'S' -> true;
+                default -> false;
+            };
+        }
+
+        /** @return a decimal number. */
+        private int number() {
+            final int start = myIndex;
+            while (more() && peek() >= '0' && peek() <= '9') {
+                myIndex++;
+            }
+            if (start == myIndex || myIndex - start > 4) {
+                throw new Unsupported("Bad repetition count");
+            }
+            return Integer.parseInt(myRegex.substring(start, myIndex));
+        }
+
+        /** Consumes theChar or fails. */
+        private void expect(final char theChar) {
+            if (!more() || next() != theChar) {
+                throw new Unsupported("Expected '" + theChar + "'");
+            }
+        }
+
+        /** @return true if there is input left. */
+        private boolean more() {
+            return myIndex < myRegex.length();
+        }
+
+        /** @return the next char without consuming it. */
+        private char peek() {
+            return myRegex.charAt(myIndex);
+        }
+
+        /** @return the next char. */
+        private char next() {
+            return myRegex.charAt(myIndex++);
+        }
+    }
+
+    /** Growable list of ranges used while parsing a class. */
+    private static final class RangeList {
+
+        /** Range bounds in pairs. */
+        private int[] myRanges = new int[16];
+
+        /** Number of ints used. */
+        private int myCount;
+
+        /** Adds the range lo..hi. */
+        void add(final int theLo, final int theHi) {
+            if (myCount + 2 > myRanges.length) {
+                myRanges = Arrays.copyOf(myRanges, myRanges.length * 2);
+            }
+            myRanges[myCount++] = theLo;
+            myRanges[myCount++] = theHi;
+        }
+
+        /** Adds every range of theRanges, or of its complement. */
+        void addAll(final int[] theRanges, final boolean theNegate) {
+            final int[] bounds = CharRanges.of(theRanges.clone(), theRanges.length, theNegate).bounds();
+            for (int i = 0; i < bounds.length; i += 2) {
+                add(bounds[i], bounds[i + 1]);
+            }
+        }
+
+        /** Removes the single char range just added by escape and returns it. */
+        int removeLastSingle() {
+            myCount -= 2;
+            return myRanges[myCount];
+        }
+
+        /** @return the set of chars added. */
+        CharRanges build() {
+            return build(false);
+        }
+
+        /** @return the set of chars added, or its complement. */
+        CharRanges build(final boolean theNegate) {
+            return CharRanges.of(myRanges, myCount, theNegate);
+        }
+    }
+
+    /** Instruction list under construction. */
+    private static final class Program {
+
+        /** Opcodes. */
+        private final List<Integer> myOps = new ArrayList<>();
+
+        /** First operands. */
+        private final List<Integer> myArg1 = new ArrayList<>();
+
+        /** Second operands. */
+        private final List<Integer> myArg2 = new ArrayList<>();
+
+        /** Classes referenced by CLASS instructions. */
+        private final List<CharRanges> myClasses = new ArrayList<>();
+
+        /** @return index of the new instruction. */
+        int add(final int theOp, final int theArg1, final int theArg2) {
+            myOps.add(theOp);
+            myArg1.add(theArg1);
+            myArg2.add(theArg2);
+            return myOps.size() - 1;
+        }
+
+        /** Sets the operands of instruction theIndex. */
+        void patch(final int theIndex, final int theArg1, final int theArg2) {
+            myArg1.set(theIndex, theArg1);
+            myArg2.set(theIndex, theArg2);
+        }
+
+        /** @return index the next instruction will have. */
+        int next() {
+            return myOps.size();
+        }
+
+        /** Appends the instructions for theNode. */
+        void emit(final Node theNode) {
+            if (theNode instanceof SetNode) {
+                myClasses.add(((SetNode) theNode).mySet);
+                add(CLASS, myClasses.size() - 1, 0);
+            } else if (theNode instanceof AnchorNode) {
+                add(((AnchorNode) theNode).myOp, 0, 0);
+            } else if (theNode instanceof ConcatNode) {
+                for (Node part : ((ConcatNode) theNode).myParts) {
+                    emit(part);
+                }
+            } else if (theNode instanceof AlternationNode) {
+                final List<Node> choices = ((AlternationNode) theNode).myChoices;
+                final List<Integer> jumps = new ArrayList<>();
+                for (int i = 0; i < choices.size() - 1; i++) {
+                    final int split = add(SPLIT, 0, 0);
+                    emit(choices.get(i));
+                    jumps.add(add(JUMP, 0, 0));
+                    patch(split, split + 1, next());
+                }
+                emit(choices.get(choices.size() - 1));
+                for (int jump : jumps) {
+                    patch(jump, next(), 0);
+                }
+            } else {
+                final RepeatNode repeat = (RepeatNode) theNode;
+                for (int i = 0; i < repeat.myMin; i++) {
+                    emit(repeat.myBody);
+                }
+                if (repeat.myMax == -1) {
+                    final int split = add(SPLIT, 0, 0);
+                    emit(repeat.myBody);
+                    add(JUMP, split, 0);
+                    patch(split, split + 1, next());
+                } else {
+                    final List<Integer> splits = new ArrayList<>();
+                    for (int i = repeat.myMin; i < repeat.myMax; i++) {
+                        splits.add(add(SPLIT, 0, 0));
+                        emit(repeat.myBody);
+                    }
+                    for (int split : splits) {
+                        patch(split, split + 1, next());
+                    }
+                }
+            }
+        }
+    }
+}
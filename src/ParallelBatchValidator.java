@@ -0,0 +1,221 @@
+package RegexApplication.src;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Multi-core version of BatchValidator. The file is cut into chunks of about
+ * theChunkSize bytes, each ending on a line boundary, and the chunks are
+ * validated on a fork-join pool. Each chunk records one result byte per line;
+ * the calling thread passes the chunks to the ResultSink in file order and
+ * numbers the lines as it goes, so the sink sees exactly what it would see in
+ * the single threaded run.
+ *
+ * At most two chunks per thread are in flight at once, which keeps memory use
+ * independent of the size of the file.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ParallelBatchValidator {
+
+    /** Default chunk size in bytes. */
+    public static final int DEFAULT_CHUNK_SIZE = 8 << 20;
+
+    /** Bytes read at a time while looking for the end of a chunk. */
+    private static final int BOUNDARY_PROBE = 4096;
+
+    /** The validator to run on each line. */
+    private final ValidatorType myType;
+
+    /** Destination of the per line results. */
+    private final ResultSink mySink;
+
+    /** Number of worker threads. */
+    private final int myThreads;
+
+    /** Target size of a chunk in bytes. */
+    private final int myChunkSize;
+
+    /**
+     * Creates a parallel batch validator.
+     * @param theType the validator to run on each line.
+     * @param theSink destination of the per line results, ResultSink.NONE for totals only.
+     * @param theThreads number of worker threads, at least 1.
+     * @param theChunkSize target size of a chunk in bytes, at least 1.
+     */
+    public ParallelBatchValidator(final ValidatorType theType, final ResultSink theSink,
+                                  final int theThreads, final int theChunkSize) {
+        if (theThreads < 1 || theChunkSize < 1) {
+            throw new IllegalArgumentException("Thread count and chunk size must be positive");
+        }
+        myType = theType;
+        mySink = theSink;
+        myThreads = theThreads;
+        myChunkSize = theChunkSize;
+    }
+
+    /**
+     * Validates every line of theInput, passing the results to the sink in
+     * input order.
+     * @param theInput the file to validate.
+     * @return the totals of the run.
+     * @throws IOException if theInput cannot be read or the sink cannot be written.
+     */
+    public BatchSummary run(final Path theInput) throws IOException {
+        final long start = System.nanoTime();
+        long lines = 0;
+        long matches = 0;
+        final ForkJoinPool pool = new ForkJoinPool(myThreads);
+        final ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>();
+        try (FileChannel channel = FileChannel.open(theInput, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size || !pending.isEmpty()) {
+                if (position < size && pending.size() < 2 * myThreads) {
+                    final long chunkStart = position;
+                    final long chunkEnd = chunkEnd(channel, chunkStart, size);
+                    pending.add(pool.submit(() -> validateChunk(channel, chunkStart, chunkEnd)));
+                    position = chunkEnd;
+                } else {
+                    final Chunk chunk = await(pending.remove());
+                    for (int i = 0; i < chunk.myCount; i++) {
+                        mySink.accept(myType, lines + i + 1, chunk.myResults[i] != 0);
+                    }
+                    lines += chunk.myCount;
+                    matches += chunk.myMatches;
+                }
+            }
+        } finally {
+            for (Future<Chunk> future : pending) {
+                future.cancel(true);
+            }
+            pool.shutdown();
+        }
+        mySink.flush();
+        return new BatchSummary(myType, lines, matches, System.nanoTime() - start);
+    }
+
+    /**
+     * Finds the end of the chunk starting at theStart: the byte after the first
+     * line feed at or past theStart + chunk size, or the end of the file.
+     * @param theChannel the input.
+     * @param theStart offset of the first byte of the chunk.
+     * @param theSize size of the input.
+     * @return offset one past the last byte of the chunk.
+     * @throws IOException if theChannel cannot be read.
+     */
+    private long chunkEnd(final FileChannel theChannel, final long theStart, final long theSize)
+            throws IOException {
+        long position = theStart + myChunkSize - 1;
+        final ByteBuffer probe = ByteBuffer.allocate(BOUNDARY_PROBE);
+        while (position < theSize) {
+            probe.clear();
+            final int read = theChannel.read(probe, position);
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    final long end = position + i + 1;
+                    if (end - theStart > Integer.MAX_VALUE) {
+                        break;
+                    }
+                    return end;
+                }
+            }
+            position += Math.max(read, 1);
+            if (position - theStart > Integer.MAX_VALUE) {
+                throw new IOException("Line longer than 2 GB at offset " + theStart);
+            }
+        }
+        return theSize;
+    }
+
+    /**
+     * Validates every line of one chunk. Runs on a pool thread.
+     * @param theChannel the input.
+     * @param theStart offset of the first byte of the chunk.
+     * @param theEnd offset one past the last byte of the chunk.
+     * @return one result byte per line.
+     * @throws IOException if the chunk cannot be mapped.
+     */
+    private Chunk validateChunk(final FileChannel theChannel, final long theStart, final long theEnd)
+            throws IOException {
+        final int length = (int) (theEnd - theStart);
+        final ByteBuffer region = theChannel.map(FileChannel.MapMode.READ_ONLY, theStart, length);
+        final Chunk chunk = new Chunk();
+        int lineStart = 0;
+        while (lineStart < length) {
+            int lineEnd = lineStart;
+            while (lineEnd < length && region.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int end = lineEnd;
+            if (end > lineStart && region.get(end - 1) == '\r') {
+                end--;
+            }
+            chunk.add(Validators.validate(myType, region, lineStart, end - lineStart));
+            lineStart = lineEnd + 1;
+        }
+        return chunk;
+    }
+
+    /**
+     * Waits for a chunk, rethrowing its failure on the calling thread.
+     * @param theFuture the pending chunk.
+     * @return the finished chunk.
+     * @throws IOException if the chunk could not be read.
+     */
+    private static Chunk await(final Future<Chunk> theFuture) throws IOException {
+        try {
+            return theFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while validating", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /** Results of one chunk, one byte per line. */
+    private static final class Chunk {
+
+        /** 1 for a valid line, 0 otherwise. */
+        private byte[] myResults = new byte[1024];
+
+        /** Number of lines in the chunk. */
+        private int myCount;
+
+        /** Number of valid lines in the chunk. */
+        private int myMatches;
+
+        /**
+         * Records the result of the next line.
+         * @param theValid whether the line is valid.
+         */
+        private void add(final boolean theValid) {
+            if (myCount == myResults.length) {
+                myResults = Arrays.copyOf(myResults, myCount * 2);
+            }
+            myResults[myCount++] = (byte) (theValid ? 1 : 0);
+            if (theValid) {
+                myMatches++;
+            }
+        }
+    }
+}
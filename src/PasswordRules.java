@@ -0,0 +1,159 @@
+package RegexApplication.src;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Single pass password check. One scan of the input counts its length and
+ * character classes and watches for a lower case letter repeated three times
+ * in a row, so each character is read once, nothing backtracks and nothing is
+ * allocated, where the expression ran five lookaheads over the whole input.
+ *
+ * The result is packed into one int: the rules the password breaks in the low
+ * bits and a strength score from 0 to 100 above them, taken apart with failures
+ * and score. A signup form can then say why a password was refused, through
+ * describe, without running any more expressions.
+ *
+ * A password must be at least 10 characters long, on one line, and contain a
+ * digit anywhere, a lower case letter, an upper case letter and a character
+ * that is none of those. Length is counted in code points, as '.' counts them.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class PasswordRules {
+
+    /** Fewer than MIN_LENGTH characters. */
+    public static final int TOO_SHORT = 1;
+
+    /** No digit 0-9. */
+    public static final int NO_DIGIT = 1 << 1;
+
+    /** No lower case letter a-z. */
+    public static final int NO_LOWER_CASE = 1 << 2;
+
+    /** No upper case letter A-Z. */
+    public static final int NO_UPPER_CASE = 1 << 3;
+
+    /** No character other than an ASCII letter or digit. */
+    public static final int NO_SYMBOL = 1 << 4;
+
+    /** The same lower case letter three times in a row. */
+    public static final int REPEATED_LOWER_CASE = 1 << 5;
+
+    /** Contains a line terminator. */
+    public static final int LINE_BREAK = 1 << 6;
+
+    /** Shortest acceptable password, in characters. */
+    public static final int MIN_LENGTH = 10;
+
+    /** Bits of a result that hold the broken rules. */
+    private static final int FAILURES = (1 << 7) - 1;
+
+    /** Position of the score in a result. */
+    private static final int SCORE_SHIFT = 8;
+
+    /** Explanation of each rule, indexed by bit position. */
+    private static final String[] MESSAGES = {
+        "must be at least " + MIN_LENGTH + " characters long",
+        "must contain a digit",
+        "must contain a lower case letter",
+        "must contain an upper case letter",
+        "must contain a character that is not a letter or digit",
+        "must not repeat a lower case letter three times in a row",
+        "must not contain a line break"
+    };
+
+    /** Static helpers only. */
+    private PasswordRules() {}
+
+    /**
+     * Checks a password against every rule in one pass.
+     * @param theInput the password.
+     * @return the broken rules and the strength score, packed.
+     */
+    public static int check(final CharSequence theInput) {
+        final int length = theInput.length();
+        int codePoints = 0;
+        int failures = 0;
+        int kinds = 0;
+        int repeats = 0;
+        int run = 0;
+        char previous = 0;
+        for (int i = 0; i < length; i++) {
+            final char c = theInput.charAt(i);
+            if (!Character.isLowSurrogate(c) || !Character.isHighSurrogate(previous)) {
+                codePoints++;
+            }
+            if (c == previous) {
+                repeats++;
+            }
+            if (c >= 'a' && c <= 'z') {
+                kinds |= NO_LOWER_CASE;
+                run = c == previous ? run + 1 : 1;
+                if (run == 3) {
+                    failures |= REPEATED_LOWER_CASE;
+                }
+            } else {
+                run = 0;
+                if (c >= 'A' && c <= 'Z') {
+                    kinds |= NO_UPPER_CASE;
+                } else if (c >= '0' && c <= '9') {
+                    kinds |= NO_DIGIT;
+                } else {
+                    kinds |= NO_SYMBOL;
+                    if (c == '\n' || c == '\r' || c == '\u0085' || (c | 1) == '\u2029') {
+                        failures |= LINE_BREAK;
+                    }
+                }
+            }
+            previous = c;
+        }
+        failures |= ~kinds & (NO_DIGIT | NO_LOWER_CASE | NO_UPPER_CASE | NO_SYMBOL);
+        if (codePoints < MIN_LENGTH) {
+            failures |= TOO_SHORT;
+        }
+        final int score = Math.min(3 * codePoints, 60) + 10 * Integer.bitCount(kinds) - 2 * repeats
+                - ((failures & REPEATED_LOWER_CASE) != 0 ? 20 : 0);
+        return Math.max(0, Math.min(score, 100)) << SCORE_SHIFT | failures;
+    }
+
+    /**
+     * @param theInput the password.
+     * @return true if theInput breaks none of the rules.
+     */
+    public static boolean isValid(final CharSequence theInput) {
+        return failures(check(theInput)) == 0;
+    }
+
+    /** @return the broken rules of a result of check, 0 if none. */
+    public static int failures(final int theResult) {
+        return theResult & FAILURES;
+    }
+
+    /**
+     * The score grows with length, up to 20 characters, and with each class
+     * of character used, and drops for each character that repeats the one
+     * before it. It is a guide for a strength meter; acceptance depends only
+     * on the rules.
+     * @return the strength score, 0 to 100, of a result of check.
+     */
+    public static int score(final int theResult) {
+        return theResult >>> SCORE_SHIFT;
+    }
+
+    /**
+     * Explains a result of check.
+     * @param theResult a result of check.
+     * @return a message for each broken rule, in rule order; empty if none.
+     */
+    public static List<String> describe(final int theResult) {
+        final List<String> messages = new ArrayList<>();
+        for (int i = 0; i < MESSAGES.length; i++) {
+            if ((theResult & (1 << i)) != 0) {
+                messages.add(MESSAGES[i]);
+            }
+        }
+        return messages;
+    }
+}
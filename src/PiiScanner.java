@@ -0,0 +1,431 @@
+package RegexApplication.src;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Finds Social Security Numbers, US phone numbers, e-mail addresses, URLs,
+ * MM-DD-YYYY dates and US dollar amounts in free text. Each finding is written
+ * as "byte offset, tab, option letter, tab, text" in file order.
+ *
+ * The file is memory mapped a window at a time and read in place through an
+ * AsciiSequence, so offsets are byte offsets and nothing is decoded. A window
+ * is cut after its last byte that no finding can contain or look past, such
+ * as a line feed, tab or non ASCII byte, and the remainder is mapped again at
+ * the start of the next window, so a value is never split across windows. A
+ * window with no such byte at all is an error, as an over long line is for
+ * BatchValidator. Spaces do not qualify, since "219 09 9999" is an SSN.
+ *
+ * Almost all text is skipped by a CandidateLocator, a SIMD register at a time
+ * where the JVM allows. It hands over runs of digits and separators with
+ * enough digits to hold a number, date or amount, and each '@' and ':'. Values
+ * are then confirmed with the same checks the validators use: FormatScanners
+ * and AreaCodes for numbers and amounts, CalendarDate for dates, and the
+ * DfaTables automata or linear time ValidatorType expressions for e-mail
+ * addresses and URLs, so no run of text can make a candidate check backtrack.
+ * Like the locator's runs, a dollar amount is only found when the character
+ * before its cents is one of the run separators, although the expression
+ * takes any character there.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class PiiScanner {
+
+    /** Largest region of the input mapped at once. */
+    static final int MAP_WINDOW = 32 << 20;
+
+    /** Byte classes. */
+    private static final byte NUMBER = 1;
+    private static final byte EMAIL = 1 << 1;
+    private static final byte URL = 1 << 2;
+    private static final byte LETTER = 1 << 3;
+    private static final byte WORD = 1 << 4;
+
+    /** Class bits of each byte value. */
+    private static final byte[] CLASS = new byte[256];
+
+    static {
+        for (int c = '0'; c <= '9'; c++) {
+            CLASS[c] = NUMBER | EMAIL | URL | WORD;
+        }
+        for (int c = 'a'; c <= 'z'; c++) {
+            CLASS[c] = EMAIL | URL | LETTER | WORD;
+            CLASS[c - 'a' + 'A'] = EMAIL | URL | LETTER | WORD;
+        }
+        CLASS['('] = NUMBER;
+        CLASS[')'] = NUMBER;
+        CLASS[' '] = NUMBER;
+        CLASS['-'] = NUMBER | EMAIL | URL | WORD;
+        CLASS['.'] = EMAIL | URL;
+        CLASS['@'] = WORD;
+        CLASS[':'] = URL;
+        CLASS['_'] = URL | WORD;
+        for (char c : ",;?'+&%$#=~/".toCharArray()) {
+            CLASS[c] |= URL;
+        }
+    }
+
+    /** Longest phone number, "(234)-555-5555". */
+    private static final int LONGEST_NUMBER = 14;
+
+    /** Shortest Social Security Number, "555555555". */
+    private static final int SHORTEST_NUMBER = 9;
+
+    /** Length of a date, "MM-DD-YYYY". */
+    private static final int DATE_LENGTH = 10;
+
+    /** Longest dollar amount reported, "$9,223,372,036,854,775,807.99" and a little more. */
+    private static final int LONGEST_AMOUNT = 32;
+
+    /** Largest region of the input mapped at once by this scanner. */
+    private final int myWindowSize;
+
+    /** Findings per validator, indexed by ValidatorType ordinal. */
+    private final long[] myCounts = new long[ValidatorType.values().length];
+
+    /** Checks e-mail candidates. */
+    private final BoundedPattern myEmail = ValidatorType.EMAIL_ADDRESS.getBoundedPattern();
+
+    /** Checks URL candidates. */
+    private final BoundedPattern myUrl = ValidatorType.URL_WITH_HTTP.getBoundedPattern();
+
+    /** Finds the windows that may hold a finding. */
+    private final CandidateLocator myLocator;
+
+    /** The window being scanned. */
+    private final AsciiSequence myWindow = new AsciiSequence();
+
+    /** Bytes of the window being scanned, the window starts at index 0. */
+    private ByteBuffer myBuffer;
+
+    /** The candidate being checked. */
+    private final AsciiSequence myCandidate = new AsciiSequence();
+
+    /** Destination of the findings. */
+    private ChannelWriter myOutput;
+
+    /** File offset of the current window. */
+    private long myWindowStart;
+
+    /** Creates a scanner with the fastest CandidateLocator this JVM can run. */
+    public PiiScanner() {
+        this(CandidateLocator.create());
+    }
+
+    /**
+     * Creates a scanner.
+     * @param theLocator finds the windows that may hold a finding.
+     */
+    public PiiScanner(final CandidateLocator theLocator) {
+        this(theLocator, MAP_WINDOW);
+    }
+
+    /**
+     * Creates a scanner that maps at most theWindowSize bytes at once.
+     * @param theLocator finds the windows that may hold a finding.
+     * @param theWindowSize largest region of the input to map at once.
+     */
+    public PiiScanner(final CandidateLocator theLocator, final int theWindowSize) {
+        if (theWindowSize < 1) {
+            throw new IllegalArgumentException("Window size must be positive: " + theWindowSize);
+        }
+        myLocator = theLocator;
+        myWindowSize = theWindowSize;
+    }
+
+    /**
+     * Scans theInput and writes every finding to theOutput.
+     * @param theInput the file to scan.
+     * @param theOutput destination of the findings.
+     * @return the number of findings.
+     * @throws IOException if theInput cannot be read or theOutput cannot be written.
+     */
+    public long scan(final Path theInput, final ChannelWriter theOutput) throws IOException {
+        myOutput = theOutput;
+        try (FileChannel channel = FileChannel.open(theInput, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            long position = 0;
+            while (position < size) {
+                final int length = (int) Math.min(myWindowSize, size - position);
+                final ByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                final int cut = position + length == size ? length : cut(region, length);
+                if (cut == 0) {
+                    throw new IOException("No separator in " + length + " bytes at offset " + position);
+                }
+                myWindowStart = position;
+                myBuffer = region;
+                myWindow.reset(region, 0, cut);
+                scanWindow();
+                position += cut;
+            }
+        }
+        theOutput.flush();
+        long total = 0;
+        for (long count : myCounts) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @param theType ValidatorType.SOCIAL_SECURITY_NUMBER, US_PHONE_NUMBER, EMAIL_ADDRESS,
+     *                URL_WITH_HTTP, MM_DD_YYYY or US_CURRENCY_TO_PENNY.
+     * @return number of findings of theType so far.
+     */
+    public long getCount(final ValidatorType theType) {
+        return myCounts[theType.ordinal()];
+    }
+
+    /**
+     * Chooses where to end a window that is not the last: after its last byte
+     * of no class, which no finding contains and no check reads past.
+     * @param theRegion the mapped window.
+     * @param theLength length of the window.
+     * @return number of bytes of the window to scan now, 0 if it has no such byte.
+     */
+    private static int cut(final ByteBuffer theRegion, final int theLength) {
+        int i = theLength;
+        while (i > 0 && CLASS[theRegion.get(i - 1) & 0xFF] != 0) {
+            i--;
+        }
+        return i;
+    }
+
+    /**
+     * Scans myWindow for findings.
+     * @throws IOException if a finding cannot be written.
+     */
+    private void scanWindow() throws IOException {
+        final int length = myWindow.length();
+        long window = myLocator.next(myBuffer, 0, length);
+        while (window != CandidateLocator.NONE) {
+            final int start = CandidateLocator.start(window);
+            final int c = myBuffer.get(start);
+            final int end;
+            if (c == '@') {
+                end = email(start);
+            } else if (c == ':') {
+                end = url(start);
+            } else {
+                end = run(start, CandidateLocator.end(window));
+            }
+            window = myLocator.next(myBuffer, Math.max(end, start + 1), length);
+        }
+    }
+
+    /**
+     * Tries every place in a run of digits and separators where a number or
+     * amount may start.
+     * @param theStart index of the first byte of the run.
+     * @param theEnd index one past its last byte.
+     * @return theEnd.
+     * @throws IOException if a finding cannot be written.
+     */
+    private int run(final int theStart, final int theEnd) throws IOException {
+        int i = theStart;
+        while (i < theEnd) {
+            final byte b = myBuffer.get(i);
+            if (b == '$') {
+                i = amount(i, theEnd);
+            } else if (b == '(' || b >= '0' && b <= '9') {
+                i = Math.max(number(i, theEnd), i + 1);
+            } else {
+                i++;
+            }
+        }
+        return theEnd;
+    }
+
+    /**
+     * Tries to read a Social Security Number, phone number or date starting at
+     * theStart. The longest valid reading that is not part of a longer word or
+     * number is taken.
+     * @param theStart index of a digit or '('.
+     * @param theEnd index one past the end of the run holding theStart.
+     * @return index after the finding, or after the run of digits at theStart.
+     * @throws IOException if a finding cannot be written.
+     */
+    private int number(final int theStart, final int theEnd) throws IOException {
+        final int length = myWindow.length();
+        if (theStart > 0 && (classAt(theStart - 1) & WORD) != 0) {
+            return skipDigits(theStart);
+        }
+        int limit = theStart;
+        int digits = 0;
+        while (limit < theEnd && limit - theStart < LONGEST_NUMBER && (classAt(limit) & NUMBER) != 0) {
+            if (myBuffer.get(limit) >= '0' && myBuffer.get(limit) <= '9') {
+                digits++;
+            }
+            limit++;
+        }
+        if (digits < CandidateLocator.MIN_DIGITS) {
+            return skipDigits(theStart);
+        }
+        for (int end = limit; end - theStart >= SHORTEST_NUMBER; end--) {
+            if (!FormatScanners.isDigit(myWindow.charAt(end - 1))
+                    || (end < length && (classAt(end) & WORD) != 0) || continuesNumber(end)) {
+                continue;
+            }
+            myCandidate.reset(myWindow, theStart, end);
+            final int areaCode = FormatScanners.phoneAreaCodeIndex(myCandidate);
+            if (areaCode >= 0 && AreaCodes.contains(myCandidate, areaCode)) {
+                return report(ValidatorType.US_PHONE_NUMBER, theStart, end);
+            }
+            if (FormatScanners.socialSecurityNumber(myCandidate)) {
+                return report(ValidatorType.SOCIAL_SECURITY_NUMBER, theStart, end);
+            }
+            if (end - theStart == DATE_LENGTH && CalendarDate.parse(myCandidate) != CalendarDate.INVALID) {
+                return report(ValidatorType.MM_DD_YYYY, theStart, end);
+            }
+        }
+        return skipDigits(theStart);
+    }
+
+    /**
+     * Tries to read a dollar amount starting at theStart. The longest valid
+     * reading that is not part of a longer word or number is taken.
+     * @param theStart index of a '$'.
+     * @param theEnd index one past the end of the run holding theStart.
+     * @return index after the finding, or theStart + 1.
+     * @throws IOException if a finding cannot be written.
+     */
+    private int amount(final int theStart, final int theEnd) throws IOException {
+        final int length = myWindow.length();
+        if (theStart > 0 && (classAt(theStart - 1) & WORD) != 0) {
+            return theStart + 1;
+        }
+        for (int end = Math.min(theEnd, theStart + LONGEST_AMOUNT); end - theStart >= 2; end--) {
+            if (!FormatScanners.isDigit(myWindow.charAt(end - 1))
+                    || (end < length && (classAt(end) & WORD) != 0) || continuesNumber(end)) {
+                continue;
+            }
+            myCandidate.reset(myWindow, theStart, end);
+            if (FormatScanners.parseUsCurrencyCents(myCandidate) != FormatScanners.INVALID) {
+                return report(ValidatorType.US_CURRENCY_TO_PENNY, theStart, end);
+            }
+        }
+        return theStart + 1;
+    }
+
+    /**
+     * Checks a candidate as Validators does, with the automaton DfaTables has
+     * for theType when there is one.
+     * @param theType the validator.
+     * @param theBounded the linear time expression of theType.
+     * @param theCandidate the text to check.
+     * @return true if theCandidate is valid for theType.
+     */
+    private static boolean matches(final ValidatorType theType, final BoundedPattern theBounded,
+                                   final CharSequence theCandidate) {
+        final Dfa dfa = DfaTables.get(theType);
+        return dfa != null ? dfa.matches(theCandidate) : theBounded.matches(theCandidate);
+    }
+
+    /**
+     * @param theIndex index just past the end of a possible value.
+     * @return true if its number goes on at theIndex, as $1,00 does in $1,00.00.
+     */
+    private boolean continuesNumber(final int theIndex) {
+        final int length = myWindow.length();
+        if (theIndex < length && FormatScanners.isDigit(myWindow.charAt(theIndex))) {
+            return true;
+        }
+        return theIndex + 1 < length && FormatScanners.isDigit(myWindow.charAt(theIndex + 1))
+                && (myWindow.charAt(theIndex) == ',' || myWindow.charAt(theIndex) == '.');
+    }
+
+    /**
+     * Tries to read an e-mail address around the '@' at theAt.
+     * @param theAt index of the '@'.
+     * @return index after the finding, or theAt + 1.
+     * @throws IOException if a finding cannot be written.
+     */
+    private int email(final int theAt) throws IOException {
+        int start = theAt;
+        while (start > 0 && (classAt(start - 1) & EMAIL) != 0) {
+            start--;
+        }
+        while (start < theAt && (myWindow.charAt(start) == '.' || myWindow.charAt(start) == '-')) {
+            start++;
+        }
+        int end = theAt + 1;
+        while (end < myWindow.length() && (classAt(end) & EMAIL) != 0) {
+            end++;
+        }
+        while (end > theAt + 1 && (myWindow.charAt(end - 1) == '.' || myWindow.charAt(end - 1) == '-')) {
+            end--;
+        }
+        if (start < theAt && end > theAt + 1
+                && matches(ValidatorType.EMAIL_ADDRESS, myEmail, myCandidate.reset(myWindow, start, end))) {
+            return report(ValidatorType.EMAIL_ADDRESS, start, end);
+        }
+        return theAt + 1;
+    }
+
+    /**
+     * Tries to read a URL around the "://" at theColon.
+     * @param theColon index of the ':'.
+     * @return index after the finding, or theColon + 1.
+     * @throws IOException if a finding cannot be written.
+     */
+    private int url(final int theColon) throws IOException {
+        final int length = myWindow.length();
+        if (theColon + 2 >= length || myWindow.charAt(theColon + 1) != '/' || myWindow.charAt(theColon + 2) != '/') {
+            return theColon + 1;
+        }
+        int start = theColon;
+        while (start > 0 && theColon - start < 5 && (classAt(start - 1) & LETTER) != 0) {
+            start--;
+        }
+        int end = theColon + 3;
+        while (end < length && (classAt(end) & URL) != 0) {
+            end++;
+        }
+        while (end > theColon + 3 && ".,;?'".indexOf(myWindow.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        if (start < theColon && matches(ValidatorType.URL_WITH_HTTP, myUrl, myCandidate.reset(myWindow, start, end))) {
+            return report(ValidatorType.URL_WITH_HTTP, start, end);
+        }
+        return theColon + 1;
+    }
+
+    /**
+     * Writes a finding.
+     * @param theType what was found.
+     * @param theStart index in the window of the first char.
+     * @param theEnd index in the window one past the last char.
+     * @return theEnd.
+     * @throws IOException if the finding cannot be written.
+     */
+    private int report(final ValidatorType theType, final int theStart, final int theEnd) throws IOException {
+        myCounts[theType.ordinal()]++;
+        myOutput.writeLong(myWindowStart + theStart);
+        myOutput.write('\t');
+        myOutput.writeAscii(theType.getOption());
+        myOutput.write('\t');
+        for (int i = theStart; i < theEnd; i++) {
+            myOutput.write(myWindow.charAt(i));
+        }
+        myOutput.write('\n');
+        return theEnd;
+    }
+
+    /** @return index of the first non digit at or after theStart. */
+    private int skipDigits(final int theStart) {
+        int i = theStart;
+        while (i < myWindow.length() && myBuffer.get(i) >= '0' && myBuffer.get(i) <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    /** @return the class bits of the char at theIndex of the window. */
+    private byte classAt(final int theIndex) {
+        return CLASS[myBuffer.get(theIndex) & 0xFF];
+    }
+}
@@ -0,0 +1,43 @@
+package RegexApplication.src;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+
+/**
+ * Locates the data files bundled in the res folder. A file is looked up on the
+ * classpath first, so a packaged build can ship res as a resource root, and then
+ * relative to the working directory as the original file based helpers did.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+final class Resources {
+
+    /** Folders searched, in order, when a resource is not on the classpath. */
+    private static final String[] SEARCH_PATH = {"RegexApplication/res/", "res/"};
+
+    /** Static helpers only. */
+    private Resources() {}
+
+    /**
+     * Opens a bundled data file.
+     * @param theFileName the name of the file inside res, e.g. "areaCodes.txt".
+     * @return an open stream the caller must close.
+     * @throws FileNotFoundException if no copy of the file can be found.
+     */
+    static InputStream open(final String theFileName) throws FileNotFoundException {
+        final InputStream resource = Resources.class.getResourceAsStream("/" + theFileName);
+        if (resource != null) {
+            return resource;
+        }
+        for (String folder : SEARCH_PATH) {
+            final File file = new File(folder + theFileName);
+            if (file.isFile()) {
+                return new FileInputStream(file);
+            }
+        }
+        throw new FileNotFoundException(SEARCH_PATH[0] + theFileName);
+    }
+}
@@ -0,0 +1,34 @@
+package RegexApplication.src;
+
+import java.io.IOException;
+
+/**
+ * Destination for validation results. Validators only return a result; whoever
+ * drives them decides where the result goes by choosing a sink: the console,
+ * a buffered channel, a set of counters, or nowhere at all.
+ *
+ * A sink is called from one thread at a time, in record order.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public interface ResultSink {
+
+    /** Sink that discards every result. */
+    ResultSink NONE = (theType, theRecord, theValid) -> { };
+
+    /**
+     * Receives the result of one validation.
+     * @param theType the validator that was run.
+     * @param theRecord one based number of the record, e.g. the line of a batch file.
+     * @param theValid the result.
+     * @throws IOException if the result cannot be written.
+     */
+    void accept(ValidatorType theType, long theRecord, boolean theValid) throws IOException;
+
+    /**
+     * Pushes out any buffered results.
+     * @throws IOException if the results cannot be written.
+     */
+    default void flush() throws IOException { }
+}
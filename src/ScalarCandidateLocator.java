@@ -0,0 +1,72 @@
+package RegexApplication.src;
+
+import java.nio.ByteBuffer;
+
+/**
+ * CandidateLocator that looks at one byte at a time through a lookup table,
+ * counting the digits of each run as it passes. Runs on any JVM.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ScalarCandidateLocator implements CandidateLocator {
+
+    /** Byte kinds. */
+    private static final byte OTHER = 0;
+    private static final byte DIGIT = 1;
+    private static final byte SEPARATOR = 2;
+    private static final byte DOLLAR = 3;
+    private static final byte TRIGGER = 4;
+
+    /** Kind of each byte value. */
+    private static final byte[] KIND = new byte[256];
+
+    static {
+        for (int b = 0; b < 256; b++) {
+            if (CandidateLocator.isTrigger((byte) b)) {
+                KIND[b] = TRIGGER;
+            } else if (CandidateLocator.isRunByte((byte) b)) {
+                KIND[b] = SEPARATOR;
+            }
+        }
+        for (int c = '0'; c <= '9'; c++) {
+            KIND[c] = DIGIT;
+        }
+        KIND['$'] = DOLLAR;
+    }
+
+    @Override
+    public long next(final ByteBuffer theBuffer, final int theFrom, final int theTo) {
+        int i = theFrom;
+        while (i < theTo) {
+            final byte kind = KIND[theBuffer.get(i) & 0xFF];
+            if (kind == OTHER) {
+                i++;
+                continue;
+            }
+            if (kind == TRIGGER) {
+                return CandidateLocator.window(i, i + 1);
+            }
+            final int start = i;
+            int digits = 0;
+            boolean money = false;
+            byte previous = OTHER;
+            while (i < theTo) {
+                final byte b = KIND[theBuffer.get(i) & 0xFF];
+                if (b == OTHER || b == TRIGGER) {
+                    break;
+                }
+                if (b == DIGIT) {
+                    digits++;
+                    money |= previous == DOLLAR;
+                }
+                previous = b;
+                i++;
+            }
+            if (digits >= MIN_DIGITS || money) {
+                return CandidateLocator.window(start, i);
+            }
+        }
+        return NONE;
+    }
+}
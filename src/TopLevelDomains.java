@@ -0,0 +1,314 @@
+package RegexApplication.src;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Set of real top level domains, loaded once from res/tlds.txt, one domain per
+ * line, for strict e-mail validation.
+ *
+ * The domains are compiled into a minimal perfect hash by hash and displace:
+ * each domain is hashed into one of a quarter as many buckets, and each bucket
+ * is given the first seed that sends all of its domains to slots no earlier
+ * bucket took. A lookup hashes the text twice, once for its bucket and once
+ * with that bucket's seed for its slot, and compares it with the one domain
+ * stored there: constant time, case insensitive and allocation free, reading
+ * the text in place. The domains are stored back to back in one byte array.
+ * As with AreaCodes, reload publishes a complete new table through a volatile
+ * field.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class TopLevelDomains {
+
+    /** Name of the bundled domain list. */
+    private static final String FILE_NAME = "tlds.txt";
+
+    /** Longest domain label allowed by DNS. */
+    private static final int MAX_LENGTH = 63;
+
+    /** Domains per bucket, on average. */
+    private static final int BUCKET_LOAD = 4;
+
+    /** Seeds tried per bucket before the build starts over with a new base seed. */
+    private static final int MAX_SEED = 1 << 16;
+
+    /** The current table, null until first use. */
+    private static volatile Table myTable;
+
+    /** Static helpers only. */
+    private TopLevelDomains() {}
+
+    /**
+     * Checks whether a domain is in the set, ignoring ASCII case.
+     * @param theInput the text holding the domain.
+     * @param theStart index of the first character of the domain.
+     * @param theEnd index one past the last character of the domain.
+     * @return true if theInput[theStart, theEnd) is a listed top level domain.
+     * @throws FileNotFoundException if the set has not been loaded and the list cannot be found.
+     */
+    public static boolean contains(final CharSequence theInput, final int theStart, final int theEnd)
+            throws FileNotFoundException {
+        return table().contains(theInput, theStart, theEnd);
+    }
+
+    /**
+     * Checks whether a domain is in the set, ignoring ASCII case.
+     * @param theDomain the domain, without a leading dot.
+     * @return true if theDomain is a listed top level domain.
+     * @throws FileNotFoundException if the set has not been loaded and the list cannot be found.
+     */
+    public static boolean contains(final CharSequence theDomain) throws FileNotFoundException {
+        return contains(theDomain, 0, theDomain.length());
+    }
+
+    /**
+     * @return number of domains in the set.
+     * @throws FileNotFoundException if the set has not been loaded and the list cannot be found.
+     */
+    public static int size() throws FileNotFoundException {
+        return table().myOffsets.length - 1;
+    }
+
+    /**
+     * Reloads the bundled list. Lookups running concurrently keep using the
+     * previous table until the new one is complete.
+     * @throws IOException if the list cannot be read.
+     */
+    public static void reload() throws IOException {
+        try (InputStream in = Resources.open(FILE_NAME)) {
+            myTable = Table.build(parse(in));
+        }
+    }
+
+    /**
+     * Replaces the set with the domains listed in theFile, one per line.
+     * @param theFile the list to load.
+     * @throws IOException if theFile cannot be read.
+     */
+    public static void reload(final Path theFile) throws IOException {
+        try (InputStream in = Files.newInputStream(theFile)) {
+            myTable = Table.build(parse(in));
+        }
+    }
+
+    /**
+     * @return the current table, loading the bundled list on first use.
+     * @throws FileNotFoundException if the bundled list cannot be found.
+     */
+    private static Table table() throws FileNotFoundException {
+        Table table = myTable;
+        if (table == null) {
+            synchronized (TopLevelDomains.class) {
+                table = myTable;
+                if (table == null) {
+                    try (InputStream in = Resources.open(FILE_NAME)) {
+                        table = Table.build(parse(in));
+                    } catch (FileNotFoundException e) {
+                        throw e;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    myTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Reads a domain list. Blank lines, comments starting with '#' and lines
+     * that are not 1 to 63 ASCII letters, digits or hyphens are skipped.
+     * @param theInput the list to read.
+     * @return the distinct domains in lower case.
+     * @throws IOException if theInput cannot be read.
+     */
+    private static List<String> parse(final InputStream theInput) throws IOException {
+        final Set<String> domains = new LinkedHashSet<>();
+        final BufferedReader reader =
+                new BufferedReader(new InputStreamReader(theInput, StandardCharsets.US_ASCII));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim().toLowerCase(Locale.ROOT);
+            if (!line.isEmpty() && line.length() <= MAX_LENGTH && line.chars().allMatch(
+                    c -> c >= 'a' && c <= 'z' || c >= '0' && c <= '9' || c == '-')) {
+                domains.add(line);
+            }
+        }
+        return new ArrayList<>(domains);
+    }
+
+    /**
+     * Hashes theInput[theStart, theEnd) with ASCII letters folded to lower case.
+     * @param theSeed selects one of a family of hash functions.
+     * @return the hash.
+     */
+    private static int hash(final CharSequence theInput, final int theStart, final int theEnd, final int theSeed) {
+        int hash = 0x811C9DC5 ^ theSeed * 0x9E3779B9;
+        for (int i = theStart; i < theEnd; i++) {
+            hash = (hash ^ lower(theInput.charAt(i))) * 0x01000193;
+        }
+        hash ^= hash >>> 15;
+        hash *= 0x2C1B3C6D;
+        return hash ^ hash >>> 13;
+    }
+
+    /** @return theChar with A-Z folded to a-z. */
+    private static char lower(final char theChar) {
+        return theChar >= 'A' && theChar <= 'Z' ? (char) (theChar | 0x20) : theChar;
+    }
+
+    /** Index of theHash in [0, theSize). */
+    private static int index(final int theHash, final int theSize) {
+        return (int) ((theHash & 0xFFFFFFFFL) % theSize);
+    }
+
+    /** An immutable minimal perfect hash of a domain list. */
+    private static final class Table {
+
+        /** Seed added to every bucket hash; changed only if a build fails. */
+        private final int myBaseSeed;
+
+        /** Slot seed of each bucket. */
+        private final int[] mySeeds;
+
+        /** The domains, in slot order, back to back. */
+        private final byte[] myChars;
+
+        /** Start of each slot's domain in myChars, plus the end of the last. */
+        private final int[] myOffsets;
+
+        /** Creates a table from its parts. */
+        private Table(final int theBaseSeed, final int[] theSeeds, final byte[] theChars, final int[] theOffsets) {
+            myBaseSeed = theBaseSeed;
+            mySeeds = theSeeds;
+            myChars = theChars;
+            myOffsets = theOffsets;
+        }
+
+        /** @return true if theInput[theStart, theEnd) is in the table. */
+        boolean contains(final CharSequence theInput, final int theStart, final int theEnd) {
+            final int size = myOffsets.length - 1;
+            if (size == 0 || theEnd - theStart < 1 || theEnd - theStart > MAX_LENGTH) {
+                return false;
+            }
+            final int bucket = index(hash(theInput, theStart, theEnd, myBaseSeed), mySeeds.length);
+            final int slot = index(hash(theInput, theStart, theEnd, mySeeds[bucket]), size);
+            final int offset = myOffsets[slot];
+            if (myOffsets[slot + 1] - offset != theEnd - theStart) {
+                return false;
+            }
+            for (int i = theStart; i < theEnd; i++) {
+                if (myChars[offset + i - theStart] != lower(theInput.charAt(i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Builds the perfect hash of theDomains.
+         * @param theDomains distinct lower case domains.
+         * @return the table.
+         */
+        static Table build(final List<String> theDomains) {
+            final int size = theDomains.size();
+            final int bucketCount = Math.max(1, size / BUCKET_LOAD);
+            for (int baseSeed = 0; ; baseSeed++) {
+                final Table table = tryBuild(theDomains, size, bucketCount, baseSeed);
+                if (table != null) {
+                    return table;
+                }
+            }
+        }
+
+        /** @return the table built with baseSeed, or null if some bucket found no seed. */
+        private static Table tryBuild(final List<String> theDomains, final int theSize, final int theBucketCount,
+                                      final int theBaseSeed) {
+            final List<List<String>> buckets = new ArrayList<>();
+            for (int b = 0; b < theBucketCount; b++) {
+                buckets.add(new ArrayList<>());
+            }
+            for (String domain : theDomains) {
+                buckets.get(index(hash(domain, 0, domain.length(), theBaseSeed), theBucketCount)).add(domain);
+            }
+            final Integer[] order = new Integer[theBucketCount];
+            for (int b = 0; b < theBucketCount; b++) {
+                order[b] = b;
+            }
+            Arrays.sort(order, (a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+            final int[] seeds = new int[theBucketCount];
+            final String[] slots = new String[theSize];
+            final int[] trial = new int[BUCKET_LOAD * 8];
+            for (int b : order) {
+                final List<String> bucket = buckets.get(b);
+                if (bucket.isEmpty()) {
+                    break;
+                }
+                if (bucket.size() > trial.length) {
+                    return null;
+                }
+                int seed = 1;
+                while (!place(bucket, seed, slots, trial)) {
+                    if (++seed == MAX_SEED) {
+                        return null;
+                    }
+                }
+                seeds[b] = seed;
+                for (int i = 0; i < bucket.size(); i++) {
+                    slots[trial[i]] = bucket.get(i);
+                }
+            }
+
+            final int[] offsets = new int[theSize + 1];
+            final StringBuilder chars = new StringBuilder();
+            for (int s = 0; s < theSize; s++) {
+                offsets[s] = chars.length();
+                chars.append(slots[s]);
+            }
+            offsets[theSize] = chars.length();
+            return new Table(theBaseSeed, seeds, chars.toString().getBytes(StandardCharsets.US_ASCII), offsets);
+        }
+
+        /**
+         * Tries a seed for a bucket.
+         * @param theBucket the bucket's domains.
+         * @param theSeed the seed to try.
+         * @param theSlots domains placed so far, null where free.
+         * @param theTrial receives the slot of each domain of theBucket.
+         * @return true if every domain of theBucket lands in a distinct free slot.
+         */
+        private static boolean place(final List<String> theBucket, final int theSeed, final String[] theSlots,
+                                     final int[] theTrial) {
+            for (int i = 0; i < theBucket.size(); i++) {
+                final String domain = theBucket.get(i);
+                final int slot = index(hash(domain, 0, domain.length(), theSeed), theSlots.length);
+                if (theSlots[slot] != null) {
+                    return false;
+                }
+                for (int j = 0; j < i; j++) {
+                    if (theTrial[j] == slot) {
+                        return false;
+                    }
+                }
+                theTrial[i] = slot;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package RegexApplication.src;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded cache of validation results for one validator, keyed by the input
+ * text. Eviction is a segmented CLOCK: a new entry starts in a probation
+ * segment, and a hit only sets the entry's reference bit. When room is needed,
+ * the probation entries at the tail that were hit since they got there move to
+ * a protected segment, 80% of the capacity, and the first one that was not is
+ * evicted. Entries seen only once are evicted first, so a burst of one-off
+ * values cannot flush out the values that keep coming back.
+ *
+ * Lookups take no lock: the hash chains are read through volatile links and
+ * the keys of published entries never change, so a hit costs a table walk and
+ * at most one write of the reference bit, none once it is set. Only put, which
+ * links, promotes and evicts entries, locks the shard. The cache is split into
+ * shards by hash, each with its own table, lists and lock, so writers only
+ * contend when they hit the same shard and there is no global lock. Lookups
+ * take any CharSequence, including a byte slice view, and allocate nothing;
+ * only inserting a new entry copies its key to a String.
+ *
+ * Hits, misses and evictions are counted with LongAdders, so the statistics
+ * cost no contention either.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ValidationCache {
+
+    /** Returned by lookup when the input is not cached. */
+    public static final int MISS = -1;
+
+    /** Share of each shard reserved for entries hit more than once, in percent. */
+    private static final int PROTECTED_PERCENT = 80;
+
+    /** Longest input that is cached; longer ones are validated every time. */
+    private static final int MAX_KEY_LENGTH = 256;
+
+    /** Most entries held, as given to the constructor. */
+    private final int myCapacity;
+
+    /** The shards, a power of two of them. */
+    private final Shard[] myShards;
+
+    /** Cache hits. */
+    private final LongAdder myHits = new LongAdder();
+
+    /** Cache misses. */
+    private final LongAdder myMisses = new LongAdder();
+
+    /** Entries evicted to make room. */
+    private final LongAdder myEvictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     * @param theCapacity the most entries the cache holds, at least 1.
+     */
+    public ValidationCache(final int theCapacity) {
+        if (theCapacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        myCapacity = theCapacity;
+        final int shards = Integer.highestOneBit(Math.max(1, Math.min(64, theCapacity / 64)));
+        myShards = new Shard[shards];
+        for (int i = 0; i < shards; i++) {
+            myShards[i] = new Shard(Math.max(1, (theCapacity + shards - 1 - i) / shards));
+        }
+    }
+
+    /**
+     * Looks up the cached result for theInput.
+     * @param theInput the validated text.
+     * @return 1 if cached as valid, 0 if cached as invalid, MISS if not cached.
+     */
+    public int lookup(final CharSequence theInput) {
+        if (theInput.length() > MAX_KEY_LENGTH) {
+            myMisses.increment();
+            return MISS;
+        }
+        final int hash = hash(theInput);
+        final int result = shard(hash).lookup(theInput, hash);
+        if (result == MISS) {
+            myMisses.increment();
+        } else {
+            myHits.increment();
+        }
+        return result;
+    }
+
+    /**
+     * Caches the result for theInput.
+     * @param theInput the validated text.
+     * @param theValid the result.
+     */
+    public void put(final CharSequence theInput, final boolean theValid) {
+        if (theInput.length() > MAX_KEY_LENGTH) {
+            return;
+        }
+        final int hash = hash(theInput);
+        if (shard(hash).put(theInput, hash, theValid)) {
+            myEvictions.increment();
+        }
+    }
+
+    /** Removes every entry; the statistics are kept. */
+    public void clear() {
+        for (Shard shard : myShards) {
+            shard.clear();
+        }
+    }
+
+    /** @return number of entries held. */
+    public int size() {
+        int size = 0;
+        for (Shard shard : myShards) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    /** @return most entries the cache holds. */
+    public int getCapacity() {
+        return myCapacity;
+    }
+
+    /** @return number of lookups answered from the cache. */
+    public long getHits() {
+        return myHits.sum();
+    }
+
+    /** @return number of lookups not answered from the cache. */
+    public long getMisses() {
+        return myMisses.sum();
+    }
+
+    /** @return number of entries evicted to make room. */
+    public long getEvictions() {
+        return myEvictions.sum();
+    }
+
+    /** @return share of lookups answered from the cache, 0 to 1. */
+    public double getHitRate() {
+        final long hits = getHits();
+        final long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "size " + size() + ", hits " + getHits() + ", misses " + getMisses()
+                + ", evictions " + getEvictions() + String.format(", hit rate %.1f%%", 100 * getHitRate());
+    }
+
+    /** @return the String hash of theInput, computed the same way for any CharSequence. */
+    private static int hash(final CharSequence theInput) {
+        int hash = 0;
+        for (int i = 0; i < theInput.length(); i++) {
+            hash = 31 * hash + theInput.charAt(i);
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    /** @return the shard for theHash. */
+    private Shard shard(final int theHash) {
+        return myShards[(theHash >>> 24) & (myShards.length - 1)];
+    }
+
+    /**
+     * Cache entry, both a hash chain link and a segment list node. The key
+     * never changes, so lock-free readers that reach a node always see the
+     * key it was published with; evicted nodes are dropped, not reused.
+     */
+    private static final class Node {
+
+        /** The input. */
+        private final String myKey;
+
+        /** Hash of myKey. */
+        private final int myHash;
+
+        /** The cached result. */
+        private volatile boolean myValid;
+
+        /** Set by a hit, cleared when eviction gives the node its second chance. */
+        private volatile boolean myReferenced;
+
+        /** True in the protected segment, false in probation; guarded by the shard lock. */
+        private boolean myProtected;
+
+        /** Next node in the same hash bucket. */
+        private volatile Node myChain;
+
+        /** Neighbours in the segment list, newest first; guarded by the shard lock. */
+        private Node myPrevious;
+        private Node myNext;
+
+        /**
+         * @param theKey the input.
+         * @param theHash hash of theKey.
+         * @param theValid the cached result.
+         */
+        Node(final String theKey, final int theHash, final boolean theValid) {
+            myKey = theKey;
+            myHash = theHash;
+            myValid = theValid;
+        }
+    }
+
+    /** One independently locked part of the cache; only writers take the lock. */
+    private static final class Shard {
+
+        /** Guards the lists, the sizes and every change to the table. */
+        private final ReentrantLock myLock = new ReentrantLock();
+
+        /** Hash buckets, read without the lock. */
+        private final AtomicReferenceArray<Node> myTable;
+
+        /** Most entries held. */
+        private final int myCapacity;
+
+        /** Most entries in the protected segment. */
+        private final int myProtectedCapacity;
+
+        /** Sentinel of the probation list. */
+        private final Node myProbation = sentinel();
+
+        /** Sentinel of the protected list. */
+        private final Node myProtectedList = sentinel();
+
+        /** Entries held. */
+        private int mySize;
+
+        /** Entries in the protected segment. */
+        private int myProtectedSize;
+
+        /** @param theCapacity most entries held. */
+        Shard(final int theCapacity) {
+            myCapacity = theCapacity;
+            myProtectedCapacity = theCapacity * PROTECTED_PERCENT / 100;
+            myTable = new AtomicReferenceArray<>(Integer.highestOneBit(Math.max(2, theCapacity * 2 - 1)) * 2);
+        }
+
+        /** @return the cached result for theInput, or MISS; takes no lock. */
+        int lookup(final CharSequence theInput, final int theHash) {
+            final Node node = find(theInput, theHash);
+            if (node == null) {
+                return MISS;
+            }
+            if (!node.myReferenced) {
+                node.myReferenced = true;
+            }
+            return node.myValid ? 1 : 0;
+        }
+
+        /** @return true if an entry was evicted to make room. */
+        boolean put(final CharSequence theInput, final int theHash, final boolean theValid) {
+            myLock.lock();
+            try {
+                final Node existing = find(theInput, theHash);
+                if (existing != null) {
+                    existing.myValid = theValid;
+                    return false;
+                }
+                boolean evicted = false;
+                if (mySize == myCapacity) {
+                    evict();
+                    evicted = true;
+                }
+                final Node node = new Node(theInput.toString(), theHash, theValid);
+                final int bucket = theHash & (myTable.length() - 1);
+                node.myChain = myTable.get(bucket);
+                linkFirst(myProbation, node);
+                mySize++;
+                myTable.set(bucket, node);
+                return evicted;
+            } finally {
+                myLock.unlock();
+            }
+        }
+
+        /**
+         * Removes one entry. Probation entries at the tail that were hit since
+         * they got there are promoted, or moved to the front when there is no
+         * protected segment, and the first one that was not is removed. After
+         * a full lap the tail is removed anyway, so readers that keep hitting
+         * every entry cannot hold the writer in the loop.
+         */
+        private void evict() {
+            for (int lap = 0; ; lap++) {
+                Node node = myProbation.myPrevious;
+                if (node == myProbation) {
+                    node = myProtectedList.myPrevious;
+                } else if (node.myReferenced && lap < myCapacity) {
+                    node.myReferenced = false;
+                    unlink(node);
+                    if (myProtectedCapacity > 0) {
+                        promote(node);
+                    } else {
+                        linkFirst(myProbation, node);
+                    }
+                    continue;
+                }
+                unlink(node);
+                removeFromTable(node);
+                if (node.myProtected) {
+                    myProtectedSize--;
+                }
+                mySize--;
+                return;
+            }
+        }
+
+        /** Moves theNode to the protected segment, demoting its oldest entry if it is full. */
+        private void promote(final Node theNode) {
+            theNode.myProtected = true;
+            myProtectedSize++;
+            linkFirst(myProtectedList, theNode);
+            if (myProtectedSize > myProtectedCapacity) {
+                final Node demoted = myProtectedList.myPrevious;
+                unlink(demoted);
+                demoted.myProtected = false;
+                myProtectedSize--;
+                linkFirst(myProbation, demoted);
+            }
+        }
+
+        /** Removes every entry. */
+        void clear() {
+            myLock.lock();
+            try {
+                for (int i = 0; i < myTable.length(); i++) {
+                    myTable.set(i, null);
+                }
+                myProbation.myNext = myProbation;
+                myProbation.myPrevious = myProbation;
+                myProtectedList.myNext = myProtectedList;
+                myProtectedList.myPrevious = myProtectedList;
+                mySize = 0;
+                myProtectedSize = 0;
+            } finally {
+                myLock.unlock();
+            }
+        }
+
+        /** @return entries held. */
+        int size() {
+            myLock.lock();
+            try {
+                return mySize;
+            } finally {
+                myLock.unlock();
+            }
+        }
+
+        /** @return the node whose key equals theInput, or null. */
+        private Node find(final CharSequence theInput, final int theHash) {
+            for (Node node = myTable.get(theHash & (myTable.length() - 1)); node != null; node = node.myChain) {
+                if (node.myHash == theHash && contentEquals(node.myKey, theInput)) {
+                    return node;
+                }
+            }
+            return null;
+        }
+
+        /** Removes theNode from its hash chain, leaving its own link for readers still on it. */
+        private void removeFromTable(final Node theNode) {
+            final int bucket = theNode.myHash & (myTable.length() - 1);
+            if (myTable.get(bucket) == theNode) {
+                myTable.set(bucket, theNode.myChain);
+                return;
+            }
+            for (Node node = myTable.get(bucket); node != null; node = node.myChain) {
+                if (node.myChain == theNode) {
+                    node.myChain = theNode.myChain;
+                    return;
+                }
+            }
+        }
+
+        /** @return a list sentinel linked to itself. */
+        private static Node sentinel() {
+            final Node sentinel = new Node(null, 0, false);
+            sentinel.myNext = sentinel;
+            sentinel.myPrevious = sentinel;
+            return sentinel;
+        }
+
+        /** Removes theNode from its list. */
+        private static void unlink(final Node theNode) {
+            theNode.myPrevious.myNext = theNode.myNext;
+            theNode.myNext.myPrevious = theNode.myPrevious;
+        }
+
+        /** Inserts theNode at the front of the list headed by theSentinel. */
+        private static void linkFirst(final Node theSentinel, final Node theNode) {
+            theNode.myNext = theSentinel.myNext;
+            theNode.myPrevious = theSentinel;
+            theSentinel.myNext.myPrevious = theNode;
+            theSentinel.myNext = theNode;
+        }
+
+        /** @return true if theKey has the same chars as theInput. */
+        private static boolean contentEquals(final String theKey, final CharSequence theInput) {
+            final int length = theKey.length();
+            if (length != theInput.length()) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (theKey.charAt(i) != theInput.charAt(i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,834 @@
+package RegexApplication.src;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Serves the twelve validators to other processes over a line protocol on a
+ * TCP socket. Requests and replies are UTF-8 lines ending in LF or CRLF:
+ *
+ *      (option A-L) (value)          one value; the reply is "true" or "false"
+ *      BATCH (option A-L) (count)    followed by count value lines; the reply is
+ *                                    one line of count characters, '1' for each
+ *                                    valid value and '0' for each invalid one
+ *      QUIT                          closes the connection
+ *
+ * The value is everything after the first space, so it may contain spaces.
+ * A malformed request, a batch of more than MAX_BATCH values or a validator
+ * that fails, e.g. because its data file is missing, is answered with
+ * "ERROR (reason)" in place of the reply; the lines of a failed batch are
+ * still read. Requests may be pipelined; replies are flushed whenever the
+ * client has nothing more queued.
+ *
+ * On a JDK with virtual threads each connection is served by its own virtual
+ * thread, blocking on the socket, so tens of thousands of idle or slow
+ * connections cost little more than their sockets. Older JDKs, 16 included,
+ * would need a platform thread per connection for that, so there connections
+ * are instead multiplexed over one non blocking Selector loop per core, and
+ * an open connection costs its socket and two small buffers. Either way the
+ * open file limit (ulimit -n) is what bounds the connection count; see
+ * LoadGenerator. -DRegexApplication.selector=true or false picks one or the
+ * other regardless of the JDK. Values are validated in place in the read
+ * buffer through Validators.validate on byte slices, so no String is built
+ * for ASCII values.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ValidationServer implements Closeable {
+
+    /** Port used when none is given. */
+    public static final int DEFAULT_PORT = 7070;
+
+    /** System property that picks the selector loops when true and a thread per connection when false. */
+    public static final String SELECTOR_PROPERTY = "RegexApplication.selector";
+
+    /** Longest request line accepted, in bytes. */
+    static final int MAX_LINE = 64 << 10;
+
+    /** Most values accepted in one BATCH request, whose reply is held until its last value. */
+    public static final int MAX_BATCH = 1 << 20;
+
+    /** First pause after a failed accept, in milliseconds; doubled on each further failure. */
+    private static final long MIN_ACCEPT_BACKOFF = 10;
+
+    /** Longest pause after a failed accept, in milliseconds. */
+    private static final long MAX_ACCEPT_BACKOFF = 1000;
+
+    /** Pending connections the operating system may queue. */
+    private static final int BACKLOG = 4096;
+
+    /** Initial read buffer of a connection served by a selector loop; it grows up to MAX_LINE. */
+    private static final int SELECTOR_READ_BUFFER = 512;
+
+    /** Pending reply bytes above which a selector loop stops answering a connection until they are sent. */
+    private static final int SELECTOR_WRITE_LIMIT = 8192;
+
+    /** Reply to a valid single value. */
+    private static final byte[] TRUE = "true\n".getBytes(StandardCharsets.US_ASCII);
+
+    /** Reply to an invalid single value. */
+    private static final byte[] FALSE = "false\n".getBytes(StandardCharsets.US_ASCII);
+
+    /** The listening socket. */
+    private final ServerSocket myServerSocket;
+
+    /** Runs one task per connection, or null when the selector loops serve them. */
+    private final ExecutorService myExecutor;
+
+    /** The selector loops, or null when each connection has its own thread. */
+    private final SelectorLoop[] myLoops;
+
+    /** Connections currently open. */
+    private final AtomicInteger myConnections = new AtomicInteger();
+
+    /** Values validated so far. */
+    private final LongAdder myValues = new LongAdder();
+
+    /** Accepts connections until the server is closed. */
+    private final Thread myAcceptor;
+
+    /**
+     * Starts a server on the loopback interface.
+     * @param thePort the port to listen on, or 0 for any free port.
+     * @throws IOException if the port cannot be bound.
+     */
+    public ValidationServer(final int thePort) throws IOException {
+        this(new InetSocketAddress(InetAddress.getLoopbackAddress(), thePort));
+    }
+
+    /**
+     * Starts a server.
+     * @param theAddress the address to listen on.
+     * @throws IOException if the address cannot be bound.
+     */
+    public ValidationServer(final InetSocketAddress theAddress) throws IOException {
+        myServerSocket = ServerSocketChannel.open().socket();
+        myServerSocket.setReuseAddress(true);
+        myServerSocket.bind(theAddress, BACKLOG);
+        final String mode = System.getProperty(SELECTOR_PROPERTY);
+        final ExecutorService virtual = "true".equals(mode) ? null : newVirtualThreadExecutor();
+        if ("true".equals(mode) || mode == null && virtual == null) {
+            myExecutor = null;
+            myLoops = new SelectorLoop[Runtime.getRuntime().availableProcessors()];
+            for (int i = 0; i < myLoops.length; i++) {
+                myLoops[i] = new SelectorLoop("validation-selector-" + getPort() + "-" + i);
+            }
+        } else {
+            myExecutor = virtual != null ? virtual : newConnectionExecutor();
+            myLoops = null;
+        }
+        myAcceptor = new Thread(this::acceptLoop, "validation-server-" + getPort());
+        myAcceptor.start();
+    }
+
+    /**
+     * Creates an executor that runs each task on a new virtual thread when the
+     * JDK has them, or on a cached pool of daemon platform threads otherwise.
+     * @return the executor.
+     */
+    public static ExecutorService newConnectionExecutor() {
+        final ExecutorService virtual = newVirtualThreadExecutor();
+        if (virtual != null) {
+            return virtual;
+        }
+        return Executors.newCachedThreadPool(task -> {
+            final Thread thread = new Thread(task);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /** @return an executor that runs each task on a new virtual thread, or null if the JDK has none. */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /** @return the port the server listens on. */
+    public int getPort() {
+        return myServerSocket.getLocalPort();
+    }
+
+    /** @return number of connections currently open. */
+    public int getConnections() {
+        return myConnections.get();
+    }
+
+    /** @return number of values validated since the server started. */
+    public long getValues() {
+        return myValues.sum();
+    }
+
+    /** @return true if connections are served by selector loops rather than a thread each. */
+    public boolean isSelector() {
+        return myLoops != null;
+    }
+
+    /**
+     * Stops accepting connections and stops the connection threads.
+     * @throws IOException if the listening socket cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        myServerSocket.close();
+        if (myExecutor != null) {
+            myExecutor.shutdownNow();
+        }
+        myAcceptor.interrupt();
+        try {
+            myAcceptor.join();
+            if (myLoops != null) {
+                for (SelectorLoop loop : myLoops) {
+                    loop.close();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Hands each new connection to the executor or, in turn, to a selector
+     * loop. A failed accept, e.g. when the process is out of file descriptors,
+     * is reported and retried after a pause that doubles with each consecutive
+     * failure, so a failure that persists does not keep a core busy.
+     */
+    private void acceptLoop() {
+        long backoff = MIN_ACCEPT_BACKOFF;
+        int next = 0;
+        while (!myServerSocket.isClosed()) {
+            final Socket socket;
+            try {
+                socket = myServerSocket.accept();
+                backoff = MIN_ACCEPT_BACKOFF;
+            } catch (IOException e) {
+                if (myServerSocket.isClosed()) {
+                    break;
+                }
+                System.err.println("Accept failed, retrying in " + backoff + " ms: " + e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+                backoff = Math.min(backoff * 2, MAX_ACCEPT_BACKOFF);
+                continue;
+            }
+            if (myLoops != null) {
+                myLoops[next].add(socket.getChannel());
+                next = next + 1 == myLoops.length ? 0 : next + 1;
+                continue;
+            }
+            try {
+                myExecutor.execute(() -> serve(socket));
+            } catch (RejectedExecutionException e) {
+                closeQuietly(socket);
+            }
+        }
+    }
+
+    /**
+     * Answers the requests on one connection until the client quits or
+     * disconnects, blocking on the socket.
+     * @param theSocket the connection.
+     */
+    private void serve(final Socket theSocket) {
+        myConnections.incrementAndGet();
+        try (Socket socket = theSocket) {
+            socket.setTcpNoDelay(true);
+            final LineReader in = new LineReader(socket.getInputStream());
+            final OutputStream out = new BufferedOutputStream(socket.getOutputStream(), 8192);
+            final Session session = new Session();
+            while (in.next()) {
+                if (!session.answer(in.buffer(), in.start(), in.length(), out)) {
+                    break;
+                }
+                if (!in.hasBuffered()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            // The client went away; nothing to report to.
+        } finally {
+            myConnections.decrementAndGet();
+        }
+    }
+
+    /**
+     * Writes an error reply.
+     * @return true, the connection stays open.
+     */
+    private static boolean error(final OutputStream theOut, final String theReason) throws IOException {
+        theOut.write(("ERROR " + theReason + "\n").getBytes(StandardCharsets.US_ASCII));
+        return true;
+    }
+
+    /** @return the reason a validator failed, on one line. */
+    private static String failure(final Exception theFailure) {
+        final String message = theFailure.getMessage();
+        final String reason = "validator failed: " + theFailure.getClass().getSimpleName()
+                + (message == null ? "" : ": " + message);
+        return reason.replace('\r', ' ').replace('\n', ' ');
+    }
+
+    /** @return true if the line starts with theText. */
+    private static boolean startsWith(final byte[] theLine, final int theStart, final int theLength,
+                                      final String theText) {
+        if (theLength < theText.length()) {
+            return false;
+        }
+        for (int i = 0; i < theText.length(); i++) {
+            if (theLine[theStart + i] != theText.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** @return the non negative decimal int in theLine[theStart, theEnd), or -1. */
+    private static int count(final byte[] theLine, final int theStart, final int theEnd) {
+        if (theStart == theEnd || theEnd - theStart > 9) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = theStart; i < theEnd; i++) {
+            if (theLine[i] < '0' || theLine[i] > '9') {
+                return -1;
+            }
+            value = value * 10 + theLine[i] - '0';
+        }
+        return value;
+    }
+
+    /** Closes theSocket, ignoring failures. */
+    private static void closeQuietly(final Socket theSocket) {
+        try {
+            theSocket.close();
+        } catch (IOException e) {
+            // Already broken.
+        }
+    }
+
+    /**
+     * The protocol state of one connection, fed a line at a time by whichever
+     * way the connection is served. Between the header and the last value of
+     * a BATCH request it holds the batch reply, so that a validator failure
+     * part way through can still be answered with a single ERROR line.
+     */
+    private final class Session {
+
+        /** Validator of the batch being read. */
+        private ValidatorType myBatchType;
+
+        /** Values of the batch still to be read; 0 outside a batch. */
+        private int myBatchLeft;
+
+        /** Reply to the batch so far, one byte per value. */
+        private byte[] myBatchReply = new byte[0];
+
+        /** Values of the batch read so far. */
+        private int myBatchCount;
+
+        /** Why the batch failed, or null. */
+        private String myBatchFailure;
+
+        /**
+         * Answers one line, a request or a value of the current batch.
+         * @param theLine the buffer holding the line.
+         * @param theStart index of the line in theLine.
+         * @param theLength length of the line, without its terminator.
+         * @param theOut the reply stream.
+         * @return false if the connection should be closed.
+         * @throws IOException if the reply cannot be written.
+         */
+        boolean answer(final byte[] theLine, final int theStart, final int theLength,
+                       final OutputStream theOut) throws IOException {
+            if (myBatchLeft > 0) {
+                return batchValue(theLine, theStart, theLength, theOut);
+            }
+            if (theLength == 4 && startsWith(theLine, theStart, theLength, "QUIT")) {
+                return false;
+            } else if (theLength >= 2 && theLine[theStart + 1] == ' '
+                    && ValidatorType.forOption(theLine[theStart]) != null) {
+                final ValidatorType type = ValidatorType.forOption(theLine[theStart]);
+                final boolean valid;
+                try {
+                    valid = Validators.validate(type, theLine, theStart + 2, theLength - 2);
+                } catch (FileNotFoundException | RuntimeException e) {
+                    return error(theOut, failure(e));
+                }
+                myValues.increment();
+                theOut.write(valid ? TRUE : FALSE);
+                return true;
+            } else if (startsWith(theLine, theStart, theLength, "BATCH ") && theLength >= 9
+                    && theLine[theStart + 7] == ' ' && ValidatorType.forOption(theLine[theStart + 6]) != null) {
+                final int count = count(theLine, theStart + 8, theStart + theLength);
+                if (count < 0 || count > MAX_BATCH) {
+                    return error(theOut, "bad batch count");
+                }
+                if (count == 0) {
+                    theOut.write('\n');
+                    return true;
+                }
+                myBatchType = ValidatorType.forOption(theLine[theStart + 6]);
+                myBatchLeft = count;
+                myBatchCount = 0;
+                myBatchFailure = null;
+                if (myBatchReply.length < count) {
+                    myBatchReply = new byte[Math.min(count, Math.max(64, myBatchReply.length * 2))];
+                }
+                return true;
+            }
+            return error(theOut, "expected \"<A-L> <value>\", \"BATCH <A-L> <count>\" or \"QUIT\"");
+        }
+
+        /**
+         * Validates one value of the current batch, and writes the reply after the last.
+         * @return true, the connection stays open.
+         */
+        private boolean batchValue(final byte[] theLine, final int theStart, final int theLength,
+                                   final OutputStream theOut) throws IOException {
+            if (myBatchFailure == null) {
+                try {
+                    final boolean valid = Validators.validate(myBatchType, theLine, theStart, theLength);
+                    if (myBatchCount == myBatchReply.length) {
+                        myBatchReply = Arrays.copyOf(myBatchReply, Math.min(myBatchCount + myBatchLeft,
+                                myBatchCount * 2));
+                    }
+                    myBatchReply[myBatchCount++] = (byte) (valid ? '1' : '0');
+                } catch (FileNotFoundException | RuntimeException e) {
+                    myBatchFailure = failure(e);
+                }
+            }
+            if (--myBatchLeft > 0) {
+                return true;
+            }
+            if (myBatchFailure != null) {
+                return error(theOut, myBatchFailure);
+            }
+            myValues.add(myBatchCount);
+            theOut.write(myBatchReply, 0, myBatchCount);
+            theOut.write('\n');
+            if (myBatchReply.length > SELECTOR_WRITE_LIMIT) {
+                // Do not keep a large batch's reply for the life of the connection.
+                myBatchReply = new byte[0];
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Serves its share of the connections from one thread through a Selector,
+     * reading and answering whatever each connection has ready without
+     * blocking on any of them. A connection whose replies are not being read
+     * is not answered further until they are sent.
+     */
+    private final class SelectorLoop implements Runnable {
+
+        /** Waits for the connections of this loop. */
+        private final Selector mySelector;
+
+        /** Connections accepted but not yet registered with mySelector. */
+        private final Queue<SocketChannel> myAdded = new ConcurrentLinkedQueue<>();
+
+        /** Runs the loop. */
+        private final Thread myThread;
+
+        /** Set when the server closes. */
+        private volatile boolean myClosed;
+
+        /**
+         * Starts a loop.
+         * @param theName name of its thread.
+         * @throws IOException if no Selector can be opened.
+         */
+        SelectorLoop(final String theName) throws IOException {
+            mySelector = Selector.open();
+            myThread = new Thread(this, theName);
+            myThread.setDaemon(true);
+            myThread.start();
+        }
+
+        /** @param theChannel a new connection for this loop to serve. */
+        void add(final SocketChannel theChannel) {
+            myAdded.add(theChannel);
+            mySelector.wakeup();
+        }
+
+        /** Stops the loop and closes its connections. */
+        void close() throws InterruptedException {
+            myClosed = true;
+            mySelector.wakeup();
+            myThread.join();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!myClosed) {
+                    mySelector.select();
+                    SocketChannel channel;
+                    while ((channel = myAdded.poll()) != null) {
+                        register(channel);
+                    }
+                    for (SelectionKey key : mySelector.selectedKeys()) {
+                        final Connection connection = (Connection) key.attachment();
+                        try {
+                            connection.ready(key);
+                        } catch (IOException e) {
+                            // The client went away; nothing to report to.
+                            connection.close(key);
+                        }
+                    }
+                    mySelector.selectedKeys().clear();
+                }
+            } catch (IOException | ClosedSelectorException e) {
+                System.err.println("Selector loop failed: " + e.getMessage());
+            } finally {
+                for (SelectionKey key : mySelector.keys()) {
+                    ((Connection) key.attachment()).close(key);
+                }
+                SocketChannel channel;
+                while ((channel = myAdded.poll()) != null) {
+                    closeQuietly(channel.socket());
+                }
+                try {
+                    mySelector.close();
+                } catch (IOException e) {
+                    // Nothing left to release.
+                }
+            }
+        }
+
+        /** Starts serving theChannel. */
+        private void register(final SocketChannel theChannel) {
+            try {
+                theChannel.configureBlocking(false);
+                theChannel.socket().setTcpNoDelay(true);
+                theChannel.register(mySelector, SelectionKey.OP_READ, new Connection(theChannel));
+                myConnections.incrementAndGet();
+            } catch (IOException e) {
+                closeQuietly(theChannel.socket());
+            }
+        }
+    }
+
+    /** One connection served by a SelectorLoop. */
+    private final class Connection {
+
+        /** The connection. */
+        private final SocketChannel myChannel;
+
+        /** Splits what has been read into lines. */
+        private final LineReader myIn;
+
+        /** Replies not yet sent. */
+        private final ReplyBuffer myOut = new ReplyBuffer();
+
+        /** The protocol state. */
+        private final Session mySession = new Session();
+
+        /** Set once the client has closed its side. */
+        private boolean myEnded;
+
+        /** Set once the client has quit. */
+        private boolean myQuit;
+
+        /** @param theChannel the connection, in non blocking mode. */
+        Connection(final SocketChannel theChannel) {
+            myChannel = theChannel;
+            myIn = new LineReader(theChannel, SELECTOR_READ_BUFFER);
+        }
+
+        /**
+         * Reads what has arrived, answers every complete request and sends
+         * the replies, for as long as the socket accepts them.
+         * @param theKey the key of this connection.
+         * @throws IOException if the connection fails.
+         */
+        void ready(final SelectionKey theKey) throws IOException {
+            if (theKey.isReadable() && myIn.fill() < 0) {
+                myEnded = true;
+            }
+            while (true) {
+                while (myOut.pending() < SELECTOR_WRITE_LIMIT && !myQuit && myIn.nextBuffered()) {
+                    myQuit = !mySession.answer(myIn.buffer(), myIn.start(), myIn.length(), myOut);
+                }
+                if (myEnded && !myQuit && myOut.pending() < SELECTOR_WRITE_LIMIT && !myIn.hasLine()
+                        && myIn.rest()) {
+                    myQuit = !mySession.answer(myIn.buffer(), myIn.start(), myIn.length(), myOut);
+                }
+                if (!myOut.send(myChannel)) {
+                    theKey.interestOps(SelectionKey.OP_WRITE);
+                    return;
+                }
+                if (myQuit || myEnded && !myIn.hasLine()) {
+                    close(theKey);
+                    return;
+                }
+                if (!myIn.hasLine()) {
+                    theKey.interestOps(SelectionKey.OP_READ);
+                    return;
+                }
+            }
+        }
+
+        /** Closes the connection. */
+        void close(final SelectionKey theKey) {
+            theKey.cancel();
+            if (myChannel.isOpen()) {
+                closeQuietly(myChannel.socket());
+                myConnections.decrementAndGet();
+            }
+        }
+    }
+
+    /** Replies waiting to be sent on a non blocking connection. */
+    private static final class ReplyBuffer extends OutputStream {
+
+        /** The bytes; those not yet sent are at [myStart, myEnd). */
+        private byte[] myBytes = new byte[64];
+
+        /** Index of the first byte not yet sent. */
+        private int myStart;
+
+        /** Index one past the last byte written. */
+        private int myEnd;
+
+        @Override
+        public void write(final int theByte) {
+            ensure(1);
+            myBytes[myEnd++] = (byte) theByte;
+        }
+
+        @Override
+        public void write(final byte[] theBytes, final int theOffset, final int theLength) {
+            ensure(theLength);
+            System.arraycopy(theBytes, theOffset, myBytes, myEnd, theLength);
+            myEnd += theLength;
+        }
+
+        /** @return number of bytes not yet sent. */
+        int pending() {
+            return myEnd - myStart;
+        }
+
+        /**
+         * Sends as much as theChannel takes without blocking.
+         * @return true if nothing is left to send.
+         * @throws IOException if the connection fails.
+         */
+        boolean send(final SocketChannel theChannel) throws IOException {
+            if (myStart < myEnd) {
+                myStart += theChannel.write(ByteBuffer.wrap(myBytes, myStart, myEnd - myStart));
+            }
+            if (myStart < myEnd) {
+                return false;
+            }
+            myStart = 0;
+            myEnd = 0;
+            if (myBytes.length > SELECTOR_WRITE_LIMIT) {
+                myBytes = new byte[64];
+            }
+            return true;
+        }
+
+        /** Makes room for theLength more bytes. */
+        private void ensure(final int theLength) {
+            if (myEnd + theLength > myBytes.length) {
+                System.arraycopy(myBytes, myStart, myBytes, 0, myEnd - myStart);
+                myEnd -= myStart;
+                myStart = 0;
+                if (myEnd + theLength > myBytes.length) {
+                    myBytes = Arrays.copyOf(myBytes, Math.max(myBytes.length * 2, myEnd + theLength));
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits a byte stream into lines in a reusable buffer. A line is exposed as
+     * buffer, start and length, without its terminator, until the next call.
+     * Reads either from a blocking stream, a line at a time through next, or
+     * from a non blocking channel through fill, nextBuffered and rest.
+     */
+    static final class LineReader {
+
+        /** Where the bytes come from, or null when reading from a channel. */
+        private final InputStream myInput;
+
+        /** Where the bytes come from, or null when reading from a stream. */
+        private final ReadableByteChannel myChannel;
+
+        /** Bytes read but not yet consumed start at myNext. */
+        private byte[] myBuffer;
+
+        /** Start of the current line. */
+        private int myStart;
+
+        /** Length of the current line, without its terminator. */
+        private int myLength;
+
+        /** Index of the first unconsumed byte. */
+        private int myNext;
+
+        /** Index up to which the unconsumed bytes are known to hold no line feed. */
+        private int myScan;
+
+        /** Index one past the last byte read. */
+        private int myLimit;
+
+        /** @param theInput the byte stream. */
+        LineReader(final InputStream theInput) {
+            myInput = theInput;
+            myChannel = null;
+            myBuffer = new byte[8192];
+        }
+
+        /**
+         * @param theChannel the byte channel.
+         * @param theCapacity initial size of the buffer.
+         */
+        LineReader(final ReadableByteChannel theChannel, final int theCapacity) {
+            myInput = null;
+            myChannel = theChannel;
+            myBuffer = new byte[theCapacity];
+        }
+
+        /**
+         * Moves to the next line, blocking until it has been read.
+         * @return false at the end of the stream.
+         * @throws IOException if the stream fails or a line is longer than MAX_LINE.
+         */
+        boolean next() throws IOException {
+            while (!nextBuffered()) {
+                if (fill() < 0) {
+                    return rest();
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Moves to the next complete line among the bytes already read.
+         * @return false if no complete line is buffered.
+         */
+        boolean nextBuffered() {
+            while (myScan < myLimit) {
+                if (myBuffer[myScan] == '\n') {
+                    myStart = myNext;
+                    int end = myScan;
+                    if (end > myStart && myBuffer[end - 1] == '\r') {
+                        end--;
+                    }
+                    myLength = end - myStart;
+                    myNext = myScan + 1;
+                    myScan = myNext;
+                    return true;
+                }
+                myScan++;
+            }
+            return false;
+        }
+
+        /**
+         * Moves to the unterminated last line, once the end of the stream is reached.
+         * @return false if no bytes are left.
+         */
+        boolean rest() {
+            if (myNext == myLimit) {
+                return false;
+            }
+            myStart = myNext;
+            myLength = myLimit - myNext;
+            myNext = myLimit;
+            myScan = myLimit;
+            return true;
+        }
+
+        /**
+         * Reads once from the source into the buffer.
+         * @return number of bytes read, 0 if a non blocking channel had none, or -1 at the end.
+         * @throws IOException if the source fails or a line is longer than MAX_LINE.
+         */
+        int fill() throws IOException {
+            if (myNext > 0) {
+                System.arraycopy(myBuffer, myNext, myBuffer, 0, myLimit - myNext);
+                myScan -= myNext;
+                myLimit -= myNext;
+                myNext = 0;
+            }
+            if (myLimit == myBuffer.length) {
+                if (myBuffer.length >= MAX_LINE) {
+                    throw new IOException("Request line longer than " + MAX_LINE + " bytes");
+                }
+                myBuffer = Arrays.copyOf(myBuffer, myBuffer.length * 2);
+            }
+            final int read = myInput != null ? myInput.read(myBuffer, myLimit, myBuffer.length - myLimit)
+                    : myChannel.read(ByteBuffer.wrap(myBuffer, myLimit, myBuffer.length - myLimit));
+            if (read > 0) {
+                myLimit += read;
+            }
+            return read;
+        }
+
+        /** @return true if a complete line is buffered and not yet consumed. */
+        boolean hasLine() {
+            for (int i = myScan; i < myLimit; i++) {
+                if (myBuffer[i] == '\n') {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /** @return true if unconsumed bytes are buffered or waiting on the stream. */
+        boolean hasBuffered() throws IOException {
+            return myNext < myLimit || myInput.available() > 0;
+        }
+
+        /** @return the buffer holding the current line. */
+        byte[] buffer() {
+            return myBuffer;
+        }
+
+        /** @return index of the current line in buffer(). */
+        int start() {
+            return myStart;
+        }
+
+        /** @return length of the current line. */
+        int length() {
+            return myLength;
+        }
+    }
+}
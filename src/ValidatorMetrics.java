@@ -0,0 +1,184 @@
+package RegexApplication.src;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Call counts, accept and reject counts and a latency histogram for one
+ * validator. Validators.validate records into these when metrics are enabled; the
+ * counts are LongAdders and the latencies go to a LatencyHistogram, so
+ * recording allocates nothing and never locks. When metrics are off the only
+ * cost to validate is one volatile read.
+ *
+ * The metrics of every validator are published through JMX when enabled, and
+ * report renders them all as text on demand.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ValidatorMetrics implements ValidatorMetricsMXBean {
+
+    /** JMX domain of the MBeans. */
+    public static final String DOMAIN = "RegexApplication";
+
+    /** Metrics of each validator, indexed by ordinal. */
+    private static final ValidatorMetrics[] ALL = new ValidatorMetrics[ValidatorType.values().length];
+
+    static {
+        for (ValidatorType type : ValidatorType.values()) {
+            ALL[type.ordinal()] = new ValidatorMetrics(type);
+        }
+    }
+
+    /** True while validate records metrics. */
+    private static volatile boolean ourEnabled;
+
+    /** The validator measured. */
+    private final ValidatorType myType;
+
+    /** Values accepted. */
+    private final LongAdder myAccepted = new LongAdder();
+
+    /** Values rejected. */
+    private final LongAdder myRejected = new LongAdder();
+
+    /** Time per call. */
+    private final LatencyHistogram myLatency = new LatencyHistogram();
+
+    /** @param theType the validator measured. */
+    private ValidatorMetrics(final ValidatorType theType) {
+        myType = theType;
+    }
+
+    /**
+     * @param theType a validator.
+     * @return the metrics of theType.
+     */
+    public static ValidatorMetrics of(final ValidatorType theType) {
+        return ALL[theType.ordinal()];
+    }
+
+    /**
+     * Starts recording and registers an MBean per validator with the platform
+     * MBean server. Calling it again only turns recording back on.
+     * @throws IllegalStateException if the MBeans cannot be registered.
+     */
+    public static synchronized void enable() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (ValidatorMetrics metrics : ALL) {
+            try {
+                server.registerMBean(metrics, metrics.objectName());
+            } catch (InstanceAlreadyExistsException e) {
+                // Registered by an earlier call.
+            } catch (JMException e) {
+                throw new IllegalStateException("Cannot register metrics of " + metrics.myType, e);
+            }
+        }
+        ourEnabled = true;
+    }
+
+    /** Stops recording; the MBeans stay registered and keep their counts. */
+    public static void disable() {
+        ourEnabled = false;
+    }
+
+    /** @return true while validate records metrics. */
+    public static boolean isEnabled() {
+        return ourEnabled;
+    }
+
+    /**
+     * Renders the metrics of every validator that has been called.
+     * @return one line per validator, with a header.
+     */
+    public static String report() {
+        final StringBuilder report = new StringBuilder(
+                String.format("%-38s %10s %10s %10s %9s %9s %9s %9s%n",
+                        "Validator", "Calls", "Accepted", "Rejected", "p50 us", "p99 us", "p99.9 us", "max us"));
+        for (ValidatorMetrics metrics : ALL) {
+            if (metrics.getCalls() > 0) {
+                report.append(metrics.getReport()).append(System.lineSeparator());
+            }
+        }
+        return report.toString();
+    }
+
+    /** Sets the counts of every validator back to zero. */
+    public static void resetAll() {
+        for (ValidatorMetrics metrics : ALL) {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Records one call.
+     * @param theValid the result.
+     * @param theNanos time taken in nanoseconds.
+     */
+    public void record(final boolean theValid, final long theNanos) {
+        (theValid ? myAccepted : myRejected).increment();
+        myLatency.record(theNanos);
+    }
+
+    @Override
+    public String getValidator() {
+        return myType.getOption() + " " + myType;
+    }
+
+    @Override
+    public long getCalls() {
+        return getAccepted() + getRejected();
+    }
+
+    @Override
+    public long getAccepted() {
+        return myAccepted.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        return myRejected.sum();
+    }
+
+    @Override
+    public double getP50Micros() {
+        return myLatency.getPercentile(0.5) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return myLatency.getPercentile(0.99) / 1000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return myLatency.getPercentile(0.999) / 1000.0;
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return myLatency.getMax() / 1000.0;
+    }
+
+    @Override
+    public String getReport() {
+        return String.format("%-38s %10d %10d %10d %9.2f %9.2f %9.2f %9.2f", getValidator(), getCalls(),
+                getAccepted(), getRejected(), getP50Micros(), getP99Micros(), getP999Micros(), getMaxMicros());
+    }
+
+    @Override
+    public void reset() {
+        myAccepted.reset();
+        myRejected.reset();
+        myLatency.reset();
+    }
+
+    /** @return the JMX name of this validator's MBean. */
+    private ObjectName objectName() throws JMException {
+        return new ObjectName(DOMAIN + ":type=Validator,name=" + myType.getOption());
+    }
+}
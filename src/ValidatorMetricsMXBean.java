@@ -0,0 +1,42 @@
+package RegexApplication.src;
+
+/**
+ * JMX view of one validator's metrics, registered as
+ * "RegexApplication:type=Validator,name=(option letter)". Latencies are in
+ * microseconds, rounded up to the histogram bucket.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public interface ValidatorMetricsMXBean {
+
+    /** @return the validator's option letter and name. */
+    String getValidator();
+
+    /** @return number of values validated. */
+    long getCalls();
+
+    /** @return number of values accepted. */
+    long getAccepted();
+
+    /** @return number of values rejected. */
+    long getRejected();
+
+    /** @return median latency in microseconds. */
+    double getP50Micros();
+
+    /** @return 99th percentile latency in microseconds. */
+    double getP99Micros();
+
+    /** @return 99.9th percentile latency in microseconds. */
+    double getP999Micros();
+
+    /** @return highest latency in microseconds. */
+    double getMaxMicros();
+
+    /** @return the metrics as one line of the text report. */
+    String getReport();
+
+    /** Sets every count back to zero. */
+    void reset();
+}
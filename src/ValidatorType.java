@@ -0,0 +1,190 @@
+package RegexApplication.src;
+
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * Registry of the regular expressions used by Validators, one per menu option.
+ * Each expression is compiled exactly once, the first time it is asked for, and
+ * the resulting Pattern is shared by every call and every thread. Pattern is
+ * immutable and safe for concurrent use; only the Matcher it creates is not.
+ * Compiling on demand keeps startup cheap: validators served by a scanner or
+ * a DfaTables automaton never compile their expression at all.
+ *
+ * Each validator is also a thread safe Predicate over its input, so library
+ * code can call ValidatorType.EMAIL_ADDRESS.test(value) or filter a stream
+ * with it without going near the RegEx console.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public enum ValidatorType implements Predicate<CharSequence> {
+
+    /** A. Social Security Number. */
+    SOCIAL_SECURITY_NUMBER("A",
+            "^(?!666|000|9\\d{2})\\d{3}[-\s]?(?!00)\\d{2}[-\s]?(?!0{4})\\d{4}$"),
+
+    /** B. US Phone number. */
+    US_PHONE_NUMBER("B",
+            "^[(]?[2-9]\\d{2}[)]?[-\s]?\\d{3}[-\s]?\\d{4}$"),
+
+    /** C. E-mail address. */
+    EMAIL_ADDRESS("C",
+            "^([a-zA-Z0-9]+(?:[.-]?[a-zA-Z0-9]+)*@[a-zA-Z0-9]+(?:[.-]?[a-zA-Z0-9]+)*\\.[a-zA-Z]{2,7})$"),
+
+    /** D. Name on a class roster - Last name, First name, MI. */
+    LAST_NAME_FIRST_NAME_MIDDLE_INITIAL("D",
+            "^([a-zA-ZàáâäãåąčćęèéêëėįìíîïłńòóôöõøùúûüųūÿýżźñçčšžÀÁÂÄÃÅĄĆČĖĘÈÉÊËÌÍÎÏĮŁŃÒÓÔÖÕØÙÚÛÜŲŪŸÝŻŹÑßÇŒÆČŠŽ∂ð,'-]*,) ([a-zA-ZàáâäãåąčćęèéêëėįìíîïłńòóôöõøùúûüųūÿýżźñçčšžÀÁÂÄÃÅĄĆČĖĘÈÉÊËÌÍÎÏĮŁŃÒÓÔÖÕØÙÚÛÜŲŪŸÝŻŹÑßÇŒÆČŠŽ∂ð']?)+((([\\s][A-Za-zàáâäãåąčćęèéêëėįìíîïłńòóôöõøùúûüųūÿýżźñçčšžÀÁÂÄÃÅĄĆČĖĘÈÉÊËÌÍÎÏĮŁŃÒÓÔÖÕØÙÚÛÜŲŪŸÝŻŹÑßÇŒÆČŠŽ∂ð])[.])*|([\\s][A-Za-zàáâäãåąčćęèéêëėįìíîïłńòóôöõøùúûüųūÿýżźñçčšžÀÁÂÄÃÅĄĆČĖĘÈÉÊËÌÍÎÏĮŁŃÒÓÔÖÕØÙÚÛÜŲŪŸÝŻŹÑßÇŒÆČŠŽ∂ð])*)$"),
+
+    /** E. Date in MM-DD-YYYY format. */
+    MM_DD_YYYY("E",
+            "(0\\d{1}|1[0-2])-([0-2]\\d{1}|3[0-1])-([0-9]){2}\\d{2}"),
+
+    /** F. House address - Street number, street name, abbreviation. */
+    HOUSE_ADDRESS("F",
+            "^(\\d{3,})\\s?(\\w{0,5})\\s([a-zA-Z]{2,30})\\s([a-zA-Z]{2,15})\\.?\\s?(\\w{0,5})$"),
+
+    /** G. City followed by state followed by zip. */
+    CITY_STATE_ZIP("G",
+            "^(([\\w[\\s]?]+,) (A[KLRZ]|C[AOT]|D[CE]|FL|GA|HI|I[ADLN]|K[SY]|LA|M[ADEINOST]|N[CDEHJMVY]|O[HKR]|P[AR]|RI|S[CD]|T[NX]|UT|V[AIT]|W[AIVY]) (\\d{5}(-\\d{4})?))$"),
+
+    /** H. Military time, including seconds. */
+    MILITARY_TIME_WITH_SECONDS("H",
+            "^((([0]?[1-9])(:|\\.)[0-5][0-9]((:|\\.)[0-5][0-9])?)|(([0]?[0-9]|1[0-9]|2[0-3])(:|\\.)[0-5][0-9]((:|\\.)[0-5][0-9])))$"),
+
+    /** I. US Currency down to the penny. */
+    US_CURRENCY_TO_PENNY("I",
+            "^\\$([0-9]{1,3},([0-9]{3},)*[0-9]{3}|[0-9]+)(.[0-9][0-9])?$"),
+
+    /** J. URL, including http://. */
+    URL_WITH_HTTP("J",
+            "^((((H|h)(T|t)|(F|f))(T|t)(P|p)((S|s)?))\\://)?(www.|[a-zA-Z0-9].)[a-zA-Z0-9\\-\\.]+\\.[a-zA-Z]{2,6}(\\:[0-9]{1,5})*(/($|[a-zA-Z0-9\\.\\,\\;\\?\\'\\+&amp;%\\$#\\=~_\\-]+))*$"),
+
+    /** K. Password with length, character class and repetition rules. */
+    PASSWORD("K",
+            "^(?=.{10,}$)(?=.*\\d)(?=.*[a-z])(?=.*[A-Z])(?=.*[^a-zA-Z0-9])(?!.*([a-z])\\1{2}).*$"),
+
+    /** L. Words containing an odd number of characters, ending in "ion". */
+    ODD_CHARACTERS_ENDING_ION("L",
+            "^(..)*(ion)$");
+
+    /** Cached copy of values() so lookups by option do not clone the array. */
+    private static final ValidatorType[] VALUES = values();
+
+    /** The menu option letter that selects this validator. */
+    private final String myOption;
+
+    /** The source expression. */
+    private final String myRegex;
+
+    /** The compiled, shared expression, null until first use. */
+    private volatile Pattern myPattern;
+
+    /** The same expression with bounded match time, null until first use. */
+    private volatile BoundedPattern myBoundedPattern;
+
+    /**
+     * Registers theRegex, to be compiled once on first use.
+     * @param theOption the menu option letter.
+     * @param theRegex the expression.
+     */
+    ValidatorType(final String theOption, final String theRegex) {
+        myOption = theOption;
+        myRegex = theRegex;
+    }
+
+    /** @return the menu option letter that selects this validator. */
+    public String getOption() {
+        return myOption;
+    }
+
+    /** @return the source expression. */
+    public String getRegex() {
+        return myRegex;
+    }
+
+    /** @return the compiled expression, shared by all callers. */
+    public Pattern getPattern() {
+        Pattern pattern = myPattern;
+        if (pattern == null) {
+            synchronized (this) {
+                pattern = myPattern;
+                if (pattern == null) {
+                    pattern = Pattern.compile(myRegex);
+                    myPattern = pattern;
+                }
+            }
+        }
+        return pattern;
+    }
+
+    /**
+     * @return the expression with bounded match time: linear time when it has no
+     *         lookaround or backreferences, step budgeted java.util.regex otherwise.
+     */
+    public BoundedPattern getBoundedPattern() {
+        BoundedPattern bounded = myBoundedPattern;
+        if (bounded == null) {
+            final Pattern pattern = getPattern();
+            synchronized (this) {
+                bounded = myBoundedPattern;
+                if (bounded == null) {
+                    bounded = new BoundedPattern(pattern);
+                    myBoundedPattern = bounded;
+                }
+            }
+        }
+        return bounded;
+    }
+
+    /**
+     * Validates theInput with this validator, as Validators.validate does.
+     * Safe to call from any thread; steady state calls allocate nothing.
+     * @param theInput the text to validate.
+     * @return true if theInput is valid.
+     * @throws UncheckedIOException if the area code list cannot be loaded.
+     */
+    @Override
+    public boolean test(final CharSequence theInput) {
+        try {
+            return Validators.validate(this, theInput);
+        } catch (FileNotFoundException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Looks up the validator selected by a menu option letter.
+     * @param theOption the option letter, A through L.
+     * @return the matching validator type, or null if theOption is not an option.
+     */
+    public static ValidatorType forOption(final String theOption) {
+        if (theOption == null || theOption.length() != 1) {
+            return null;
+        }
+        return forOption(theOption.charAt(0));
+    }
+
+    /**
+     * Looks up the validator selected by a menu option letter given as a char
+     * or an ASCII byte, so a request can be dispatched without building a String.
+     * @param theOption the option letter, 'A' through 'L'.
+     * @return the matching validator type, or null if theOption is not an option.
+     */
+    public static ValidatorType forOption(final int theOption) {
+        final int index = theOption - 'A';
+        return index >= 0 && index < VALUES.length ? VALUES[index] : null;
+    }
+
+    /**
+     * Looks up the compiled expression selected by a menu option letter.
+     * @param theOption the option letter, A through L.
+     * @return the compiled expression, or null if theOption is not an option.
+     */
+    public static Pattern patternFor(final String theOption) {
+        final ValidatorType type = forOption(theOption);
+        return type == null ? null : type.getPattern();
+    }
+}
@@ -0,0 +1,537 @@
+package RegexApplication.src;
+
+import java.io.FileNotFoundException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The twelve validators, usable as a library apart from the RegEx console.
+ * Every method is static and thread safe: each thread reuses its own Matcher
+ * per validator through reset, and its own view of byte slices, so validating
+ * allocates nothing once a thread has warmed up. ValidatorType.test is the
+ * shortest way in; the methods here add byte slices, result caches and
+ * checked area code loading failures.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class Validators {
+
+    /** Validators whose expressions accept no character outside ASCII. */
+    private static final Set<ValidatorType> ASCII_ONLY = EnumSet.of(ValidatorType.SOCIAL_SECURITY_NUMBER,
+            ValidatorType.US_PHONE_NUMBER, ValidatorType.EMAIL_ADDRESS, ValidatorType.MM_DD_YYYY,
+            ValidatorType.HOUSE_ADDRESS, ValidatorType.CITY_STATE_ZIP, ValidatorType.MILITARY_TIME_WITH_SECONDS);
+
+    /** Per thread matchers and byte slice view. */
+    private static final ThreadLocal<Slices> SLICES = ThreadLocal.withInitial(Slices::new);
+
+    /** Optional result cache of each validator, indexed by ordinal; null when off. */
+    private static final AtomicReferenceArray<ValidationCache> CACHES =
+            new AtomicReferenceArray<>(ValidatorType.values().length);
+
+    /** True when emailAddress also checks the top level domain against TopLevelDomains. */
+    private static volatile boolean myStrictEmail;
+
+    /** True when cityStateZip also checks that the ZIP code belongs to the state. */
+    private static volatile boolean myZipStateCheck;
+
+    /** Static methods only. */
+    private Validators() {}
+
+    /**
+     * Validates theInputString as a Social Security Number.
+     * https://www.ssa.gov/history/ssn/geocard.html#:~:text=Number%20Has%20Three%20Parts,digits%20is%20the%20Serial%20Number
+     * https://www.geeksforgeeks.org/how-to-validate-ssn-social-security-number-using-regular-expression/
+     * FormatScanners reads the three groups and rejects the area, group and
+     * serial values the expression's lookaheads exclude, without backtracking.
+     * @param theInputString The string to validate.
+     * @return true if theInputString is accepted by the SSN expression in ValidatorType.
+     */
+    private static boolean socialSecurityNumber(final CharSequence theInputString) {
+        return FormatScanners.socialSecurityNumber(theInputString);
+    }
+
+    /**
+     * Validates theInputString as a 10 digit US Phone number.
+     * Valid formats:
+     *              (234)5555555
+     *              (234)555-5555
+     *              (234)-555-5555
+     *              234-555-5555
+     *              2345555555
+     * List of valid area codes obtained from:
+     * https://textlists.info/geography/list-of-u-s-area-codes-and-states/
+     * FormatScanners.parseUsPhoneNumber reads the digits and looks the area
+     * code up in AreaCodes as soon as its third digit is read.
+     * @param theInputString The string to validate.
+     * @return true if theInputString has one of the formats above and a listed area code.
+     */
+    private static boolean usPhoneNumber(final CharSequence theInputString) throws FileNotFoundException {
+        return FormatScanners.parseUsPhoneNumber(theInputString) != FormatScanners.INVALID;
+    }
+
+    /**
+     * Uses RegEx to validate theInputString as a valid E-mail address.
+     * https://regexlib.com/REDetails.aspx?regexp_id=1855
+     * The nested (?:[.-]?[a-zA-Z0-9]+)* groups backtrack exponentially on inputs
+     * like "aaaa...a!", so this never runs under java.util.regex: see checkBounded.
+     * In strict e-mail mode the top level domain may be up to 63 letters long
+     * but must be listed in TopLevelDomains.
+     * @param theInputString The string to validate against the RegEx in ValidatorType.
+     * @return true if theInputString matches the e-mail expression in ValidatorType,
+     *         or in strict mode the strict expression with a listed top level domain.
+     */
+    private static boolean emailAddress(final CharSequence theInputString) throws FileNotFoundException {
+        if (!myStrictEmail) {
+            return checkBounded(theInputString, ValidatorType.EMAIL_ADDRESS);
+        }
+        if (!StrictEmail.PATTERN.matches(theInputString)) {
+            return false;
+        }
+        final int end = theInputString.length();
+        int dot = end - 1;
+        while (theInputString.charAt(dot) != '.') {
+            dot--;
+        }
+        return TopLevelDomains.contains(theInputString, dot + 1, end);
+    }
+
+
+    /**
+     * Uses RegEx to validate theInputString as a Name on a class roster,
+     * assuming one or more middle initials - Last name, First name, MI
+     * valid: Last, First R M S
+     *        Last, First R
+     *        Last, First R.
+     *        Last, First R. M. S.
+     * Accepts hyphenated last names.
+     * invalid: Last, First RMS and otherwise
+     * support for international characters is included.
+     * Never runs under java.util.regex, see checkBounded; ([...']?)+ followed
+     * by (...)* backtracks exponentially there.
+     *
+     * @param theInputString The string to validate against the RegEx in ValidatorType.
+     * @return true if theInputString matches the name expression in ValidatorType.
+     */
+    private static boolean lastNameFirstNameMiddleInitial(final CharSequence theInputString) {
+        return checkBounded(theInputString, ValidatorType.LAST_NAME_FIRST_NAME_MIDDLE_INITIAL);
+    }
+
+
+    /**
+     * Validates theInputString as a Date in MM-DD-YYYY format.
+     * Valid : MM-DD-YYYY
+     * Invalid: MMDDYYYY and otherwise, including days a month does not have,
+     * such as 02-29 outside a leap year.
+     *
+     * CalendarDate reads the digits in place and covers both the format and the
+     * calendar check in one pass.
+     * @param theInputString The string to validate.
+     * @return true if theInputString is a real calendar date in MM-DD-YYYY format.
+     */
+    private static boolean mmDDYYYY(final CharSequence theInputString) {
+        return CalendarDate.parse(theInputString) != CalendarDate.INVALID;
+    }
+
+
+    /**
+     * Uses RegEx to validate theInputString as a House address -
+     *                                      Street number,
+     *                                      street name,
+     *                                      abbreviation for road, street, boulevard or avenue
+     * I wanted to make this one more precise but I ran out of time.
+     * @param theInputString The string to validate against the RegEx in ValidatorType.
+     * @return true if theInputString matches the house address expression in ValidatorType.
+     */
+    private static boolean houseAddress(final CharSequence theInputString) {
+        return checkPattern(theInputString, ValidatorType.HOUSE_ADDRESS);
+    }
+
+
+    /**
+     * Uses RegEx to validate theInputString as
+     *                                  City followed by
+     *                                  state followed by
+     *                                  zip as it should appear on a letter
+     * With the ZIP state check on, the first three digits of the zip must also
+     * belong to the state, per ZipPrefixes.
+     * @param theInputString The string to validate against the RegEx in ValidatorType.
+     * @return true if theInputString matches the city, state and zip expression in
+     *         ValidatorType and, with the ZIP state check on, its ZIP code belongs to the state.
+     */
+    private static boolean cityStateZip(final CharSequence theInputString) throws FileNotFoundException {
+        if (!checkPattern(theInputString, ValidatorType.CITY_STATE_ZIP)) {
+            return false;
+        }
+        if (!myZipStateCheck) {
+            return true;
+        }
+        final int length = theInputString.length();
+        final int zip = theInputString.charAt(length - 5) == '-' ? length - 10 : length - 5;
+        return ZipPrefixes.matches(theInputString, zip - 3, zip);
+    }
+
+
+    /**
+     * Validates theInputString as Military time, including seconds.
+     * Accepted as HH:MM:SS, invalid otherwise.
+     * FormatScanners.parseMilitaryTimeWithSeconds reads the fields in place.
+     * @param theInputString The string to validate.
+     * @return true if theInputString is accepted by the time expression in ValidatorType.
+     */
+    private static boolean militaryTimeWithSeconds(final CharSequence theInputString) {
+        return FormatScanners.militaryTimeWithSeconds(theInputString);
+    }
+
+    /**
+     * Validates theInputString as US Currency down to the penny (ex: $123,456,789.23).
+     * Required to have $ at start of string, pennies can be validated but are optional.
+     * $123,456,789 is valid
+     * 123,456,789.23 is invalid
+     * FormatScanners.parseUsCurrencyCents reads the amount, and its value in
+     * cents is discarded here.
+     *
+     * @param theInputString The string to validate.
+     * @return true if theInputString is accepted by the currency expression in ValidatorType.
+     */
+    private static boolean usCurrencyToPenny(final CharSequence theInputString) {
+        return FormatScanners.parseUsCurrencyCents(theInputString) != FormatScanners.INVALID;
+    }
+
+    /**
+     * Uses RegEx to validate theInputString as URL, including http:// (upper and lower case should be accepted).
+     * https://regexlib.com/UserPatterns.aspx?authorId=0efd0ef1-6d4c-4835-89b2-336941ca3c67
+     * Never runs under java.util.regex, see checkBounded, since the repeated
+     * host and path groups backtrack heavily there.
+     * @param theInputString The string to validate against the RegEx in ValidatorType.
+     * @return true if theInputString matches the URL expression in ValidatorType.
+     */
+    private static boolean urlWithHttp(final CharSequence theInputString) {
+        return checkBounded(theInputString, ValidatorType.URL_WITH_HTTP);
+    }
+
+    /**
+     * Validates theInputString as a password that contains at least
+     *                10 characters
+     *                and includes at least:
+     *                one upper case character,
+     *                lower case character,
+     *                digit,
+     *                punctuation mark,
+     *                and does not repeat a lower case character 3 times in a row
+     * Checked in one pass by PasswordRules, which also reports which rules failed.
+     *
+     * @param theInputString The string to validate.
+     * @return true if theInputString breaks none of the rules.
+     */
+    private static boolean password(final CharSequence theInputString) {
+        return PasswordRules.isValid(theInputString);
+    }
+
+
+    /**
+     * Uses RegEx to validate theInputString as All words
+     * containing an odd number of alphabetic characters,
+     * ending in "ion".
+     * @param theInputString The string to validate against the RegEx in ValidatorType.
+     * @return true if theInputString matches the odd length "ion" word expression in ValidatorType.
+     */
+    private static boolean oddCharactersEndingIon(final CharSequence theInputString) {
+        return checkPattern(theInputString, ValidatorType.ODD_CHARACTERS_ENDING_ION);
+    }
+
+
+    /**
+     * RegEx pattern checker. Uses the automaton built ahead of time for theType
+     * when DfaTables has one. Otherwise uses the expression precompiled by
+     * ValidatorType rather than compiling a new Pattern on every call, through
+     * a Matcher kept per thread and per validator rather than a new Matcher on
+     * every call.
+     * @param theInputString is the string to match.
+     * @param theType is the validator whose regex to match against.
+     */
+    private static boolean checkPattern(final CharSequence theInputString, final ValidatorType theType){
+        final Dfa dfa = DfaTables.get(theType);
+        if (dfa != null) {
+            return dfa.matches(theInputString);
+        }
+        final Matcher matcher = SLICES.get().matcher(theType);
+        try {
+            return matcher.reset(theInputString).matches();
+        } finally {
+            matcher.reset("");
+        }
+    }
+
+    /**
+     * Bounded time pattern checker, for the expressions that backtrack badly
+     * under java.util.regex. Uses the automaton built ahead of time for theType
+     * when DfaTables has one, and the linear time engine otherwise.
+     * @param theInputString is the string to match.
+     * @param theType is the validator whose regex to match against.
+     */
+    private static boolean checkBounded(final CharSequence theInputString, final ValidatorType theType) {
+        final Dfa dfa = DfaTables.get(theType);
+        return dfa != null ? dfa.matches(theInputString) : theType.getBoundedPattern().matches(theInputString);
+    }
+
+    /**
+     * Validates theInputString with the validator selected by theType. Nothing is
+     * printed; callers report the result through a ResultSink of their choosing.
+     * If theType has a result cache, the cache is consulted first. While
+     * ValidatorMetrics is enabled the call is counted and timed.
+     * @param theType the validator to run.
+     * @param theInputString The String to be used for RegEx validation.
+     * @return true if theInputString is valid for theType.
+     */
+    public static boolean validate(final ValidatorType theType, final CharSequence theInputString)
+            throws FileNotFoundException {
+        if (!ValidatorMetrics.isEnabled()) {
+            return cachedValidate(theType, theInputString);
+        }
+        final long start = System.nanoTime();
+        final boolean valid = cachedValidate(theType, theInputString);
+        ValidatorMetrics.of(theType).record(valid, System.nanoTime() - start);
+        return valid;
+    }
+
+    /**
+     * Validates theInputString, through the result cache of theType if it has one.
+     * @param theType the validator to run.
+     * @param theInputString The String to be used for RegEx validation.
+     * @return true if theInputString is valid for theType.
+     */
+    private static boolean cachedValidate(final ValidatorType theType, final CharSequence theInputString)
+            throws FileNotFoundException {
+        final ValidationCache cache = CACHES.get(theType.ordinal());
+        if (cache == null) {
+            return dispatch(theType, theInputString);
+        }
+        final int cached = cache.lookup(theInputString);
+        if (cached != ValidationCache.MISS) {
+            return cached == 1;
+        }
+        final boolean valid = dispatch(theType, theInputString);
+        cache.put(theInputString, valid);
+        return valid;
+    }
+
+    /**
+     * Runs the validator selected by theType.
+     * @param theType the validator to run.
+     * @param theInputString The String to be used for RegEx validation.
+     * @return true if theInputString is valid for theType.
+     */
+    private static boolean dispatch(final ValidatorType theType, final CharSequence theInputString)
+            throws FileNotFoundException {
+        return switch (theType) {
+            case SOCIAL_SECURITY_NUMBER -> socialSecurityNumber(theInputString);
+            case US_PHONE_NUMBER -> usPhoneNumber(theInputString);
+            case EMAIL_ADDRESS -> emailAddress(theInputString);
+            case LAST_NAME_FIRST_NAME_MIDDLE_INITIAL -> lastNameFirstNameMiddleInitial(theInputString);
+            case MM_DD_YYYY -> mmDDYYYY(theInputString);
+            case HOUSE_ADDRESS -> houseAddress(theInputString);
+            case CITY_STATE_ZIP -> cityStateZip(theInputString);
+            case MILITARY_TIME_WITH_SECONDS -> militaryTimeWithSeconds(theInputString);
+            case US_CURRENCY_TO_PENNY -> usCurrencyToPenny(theInputString);
+            case URL_WITH_HTTP -> urlWithHttp(theInputString);
+            case PASSWORD -> password(theInputString);
+            case ODD_CHARACTERS_ENDING_ION -> oddCharactersEndingIon(theInputString);
+        };
+    }
+
+    /**
+     * Turns the ZIP state check of the city, state and zip validator on or off.
+     * It is off by default, matching the regular expression alone; on, a ZIP
+     * code must also belong to the state, so "Seattle, FL 98101" is rejected.
+     * A cache of that validator is replaced by an empty one; see renewCache.
+     * @param theCheck true to check the ZIP code against the state.
+     */
+    public static void setZipStateCheck(final boolean theCheck) {
+        myZipStateCheck = theCheck;
+        renewCache(ValidatorType.CITY_STATE_ZIP);
+    }
+
+    /** @return true if the ZIP state check is on. */
+    public static boolean isZipStateCheck() {
+        return myZipStateCheck;
+    }
+
+    /**
+     * Turns strict mode of the e-mail validator on or off. It is off by
+     * default, accepting any top level domain of 2 to 7 letters as the regular
+     * expression does; on, the top level domain must be one listed in
+     * res/tlds.txt, of any length, in any case. A cache of the e-mail
+     * validator is replaced by an empty one; see renewCache.
+     * @param theStrict true to check top level domains against the list.
+     */
+    public static void setStrictEmail(final boolean theStrict) {
+        myStrictEmail = theStrict;
+        renewCache(ValidatorType.EMAIL_ADDRESS);
+    }
+
+    /** @return true if strict e-mail mode is on. */
+    public static boolean isStrictEmail() {
+        return myStrictEmail;
+    }
+
+    /**
+     * Replaces the cache of theType, if it has one, with an empty cache of the
+     * same capacity, after a mode change. Clearing the cache in place would
+     * not do: a validation still running under the old mode could put its
+     * result after the clear. Such a late result goes to the old cache, which
+     * is no longer read. Callers set the mode before renewing, and
+     * cachedValidate reads the cache before the mode, so a result put in the
+     * new cache is always one computed under the new mode.
+     * @param theType the validator whose mode changed.
+     */
+    private static void renewCache(final ValidatorType theType) {
+        final ValidationCache cache = CACHES.get(theType.ordinal());
+        if (cache != null) {
+            // A cache enabled or disabled meanwhile already reflects the new mode.
+            CACHES.compareAndSet(theType.ordinal(), cache, new ValidationCache(cache.getCapacity()));
+        }
+    }
+
+    /**
+     * Turns on a result cache for theType, replacing any cache it had. Worth it
+     * for the expensive validators on feeds that repeat values: e-mail
+     * addresses, names and URLs. Results are cached as computed, so a phone
+     * number cache must be cleared after AreaCodes.reload.
+     * @param theType the validator to cache.
+     * @param theCapacity the most results to keep.
+     * @return the new cache, for its statistics.
+     */
+    public static ValidationCache enableCache(final ValidatorType theType, final int theCapacity) {
+        final ValidationCache cache = new ValidationCache(theCapacity);
+        CACHES.set(theType.ordinal(), cache);
+        return cache;
+    }
+
+    /**
+     * Turns off the result cache of theType.
+     * @param theType the validator.
+     */
+    public static void disableCache(final ValidatorType theType) {
+        CACHES.set(theType.ordinal(), null);
+    }
+
+    /**
+     * @param theType the validator.
+     * @return the result cache of theType, or null if it has none.
+     */
+    public static ValidationCache getCache(final ValidatorType theType) {
+        return CACHES.get(theType.ordinal());
+    }
+
+    /**
+     * Validates UTF-8 text held in a ByteBuffer without copying or decoding it
+     * when it is plain ASCII, which covers nearly every record. The bytes are
+     * read in place through a per thread AsciiSequence, so no String is built.
+     * A slice holding non ASCII bytes is rejected outright by the validators
+     * that only accept ASCII, and decoded to a String for the others.
+     * @param theType the validator to run.
+     * @param theBuffer the bytes, UTF-8 encoded; its position and limit are ignored.
+     * @param theOffset absolute index of the first byte of the value.
+     * @param theLength number of bytes in the value.
+     * @return true if the value is valid for theType.
+     */
+    public static boolean validate(final ValidatorType theType, final ByteBuffer theBuffer,
+                                   final int theOffset, final int theLength) throws FileNotFoundException {
+        final AsciiSequence slice = SLICES.get().mySlice.reset(theBuffer, theOffset, theLength);
+        try {
+            return validateSlice(theType, slice);
+        } finally {
+            // Do not keep the caller's buffer, which may be a whole mapped window, reachable from this thread.
+            slice.reset(Slices.EMPTY, 0, 0);
+        }
+    }
+
+    /**
+     * Validates a slice viewed by the per thread AsciiSequence.
+     * @param theType the validator to run.
+     * @param theSlice the bytes of the value.
+     * @return true if the value is valid for theType.
+     */
+    private static boolean validateSlice(final ValidatorType theType, final AsciiSequence theSlice)
+            throws FileNotFoundException {
+        final ByteBuffer buffer = theSlice.buffer();
+        final int offset = theSlice.offset();
+        final int length = theSlice.length();
+        final boolean timed = ValidatorMetrics.isEnabled();
+        final long start = timed ? System.nanoTime() : 0;
+        for (int i = offset; i < offset + length; i++) {
+            if (buffer.get(i) < 0) {
+                if (ASCII_ONLY.contains(theType)) {
+                    if (timed) {
+                        // Timed like any other call, so early rejections do not pull the percentiles down.
+                        ValidatorMetrics.of(theType).record(false, System.nanoTime() - start);
+                    }
+                    return false;
+                }
+                final byte[] bytes = new byte[length];
+                buffer.get(offset, bytes, 0, length);
+                return validate(theType, new String(bytes, StandardCharsets.UTF_8));
+            }
+        }
+        return validate(theType, theSlice);
+    }
+
+    /**
+     * Validates UTF-8 text held in a byte array, as validate(ValidatorType,
+     * ByteBuffer, int, int) does.
+     * @param theType the validator to run.
+     * @param theBytes the bytes, UTF-8 encoded.
+     * @param theOffset index of the first byte of the value.
+     * @param theLength number of bytes in the value.
+     * @return true if the value is valid for theType.
+     */
+    public static boolean validate(final ValidatorType theType, final byte[] theBytes,
+                                   final int theOffset, final int theLength) throws FileNotFoundException {
+        return validate(theType, ByteBuffer.wrap(theBytes), theOffset, theLength);
+    }
+
+    /**
+     * The e-mail expression with the top level domain allowed any length DNS
+     * allows, for strict mode, where the domain list bounds it instead. Held
+     * apart so it is only compiled once strict mode is used.
+     */
+    private static final class StrictEmail {
+
+        /** The strict e-mail expression. */
+        private static final BoundedPattern PATTERN = new BoundedPattern(Pattern.compile(
+                "^([a-zA-Z0-9]+(?:[.-]?[a-zA-Z0-9]+)*@[a-zA-Z0-9]+(?:[.-]?[a-zA-Z0-9]+)*\\.[a-zA-Z]{2,63})$"));
+    }
+
+    /**
+     * Reusable state for one thread: a Matcher per validator and a byte slice
+     * view. Neither keeps the text of a call once it returns, so an idle pool
+     * thread does not pin a caller's batch or mapped window.
+     */
+    private static final class Slices {
+
+        /** What the slice view points at between calls. */
+        private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+        /** Matchers indexed by ValidatorType ordinal, created on first use. */
+        private final Matcher[] myMatchers = new Matcher[ValidatorType.values().length];
+
+        /** View of the slice being validated. */
+        private final AsciiSequence mySlice = new AsciiSequence();
+
+        /** @return this thread's matcher for theType. */
+        private Matcher matcher(final ValidatorType theType) {
+            Matcher matcher = myMatchers[theType.ordinal()];
+            if (matcher == null) {
+                matcher = theType.getPattern().matcher("");
+                myMatchers[theType.ordinal()] = matcher;
+            }
+            return matcher;
+        }
+    }
+}
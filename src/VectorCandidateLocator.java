@@ -0,0 +1,150 @@
+package RegexApplication.src;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * CandidateLocator that classifies a whole SIMD register of bytes per step,
+ * 32 with AVX2 and 64 with AVX-512 or anything wider, using the incubating
+ * Vector API. Lane wise compares turn a block into masks of its digits, run
+ * bytes, '$' and triggers, and the block is then walked from digit to digit:
+ * where the run holding a digit starts and ends are the last and first non
+ * run lanes around it, and its digits are counted in one step. Only
+ * firstTrue, lastTrue, trueCount and anyTrue are taken from a mask, as
+ * VectorMask.toLong is not an intrinsic on JDK 17 and costs more than the
+ * scalar loop. A block with no digit or trigger is passed over after a
+ * single test, so long stretches of words and short runs never reach the
+ * walk. A '$' is rare enough to be checked against the byte after it one at
+ * a time.
+ *
+ * Bytes after the last full register, and a run still open when they are
+ * reached, are left to the scalar loop. Needs the jdk.incubator.vector
+ * module at compile and run time; only CandidateLocator.create refers to
+ * this class, and only by name.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class VectorCandidateLocator implements CandidateLocator {
+
+    /**
+     * Widest register the hardware has, capped at 64 lanes: lane indexes and
+     * the positions compared against them are signed bytes, which hold 127
+     * at most, and a 128 lane SVE register would wrap them.
+     */
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED.length() > 64
+            ? ByteVector.SPECIES_512 : ByteVector.SPECIES_PREFERRED;
+
+    /** Bytes per register. */
+    private static final int LANES = SPECIES.length();
+
+    /** Lane i holds i, compared against to mask the lanes before or after one. */
+    private static final ByteVector INDEX = ByteVector.zero(SPECIES).addIndex(1);
+
+    /** Handles the bytes after the last full register. */
+    private final ScalarCandidateLocator myTail = new ScalarCandidateLocator();
+
+    @Override
+    public long next(final ByteBuffer theBuffer, final int theFrom, final int theTo) {
+        // Start of the run reaching the current block, with its digits so far, or -1.
+        int runStart = -1;
+        int digits = 0;
+        boolean money = false;
+        int i = theFrom;
+        for (; i + LANES <= theTo; i += LANES) {
+            final ByteVector bytes = ByteVector.fromByteBuffer(SPECIES, theBuffer, i, ByteOrder.nativeOrder());
+            final VectorMask<Byte> digit = bytes.compare(VectorOperators.GE, (byte) '0')
+                    .and(bytes.compare(VectorOperators.LE, (byte) '9'));
+            final VectorMask<Byte> trigger = bytes.compare(VectorOperators.EQ, (byte) '@')
+                    .or(bytes.compare(VectorOperators.EQ, (byte) ':'));
+            if (runStart < 0 && !digit.or(trigger).anyTrue()) {
+                // No run that ends in this block can qualify; only one reaching into the next may.
+                int k = LANES;
+                while (k > 0 && CandidateLocator.isRunByte(theBuffer.get(i + k - 1))) {
+                    k--;
+                }
+                if (k < LANES) {
+                    runStart = i + k;
+                    digits = 0;
+                    money = dollarDigit(theBuffer, i + LANES - 1, theTo);
+                }
+                continue;
+            }
+            // '(' and ')' differ only in the low bit, and ',' '-' '.' are adjacent.
+            final VectorMask<Byte> other = digit.or(bytes.compare(VectorOperators.EQ, (byte) '$'))
+                    .or(bytes.and((byte) 0xFE).compare(VectorOperators.EQ, (byte) '('))
+                    .or(bytes.compare(VectorOperators.GE, (byte) ',')
+                            .and(bytes.compare(VectorOperators.LE, (byte) '.')))
+                    .or(bytes.compare(VectorOperators.EQ, (byte) ' '))
+                    .not();
+            int pos = 0;
+            while (true) {
+                if (runStart < 0) {
+                    final VectorMask<Byte> after = INDEX.compare(VectorOperators.GE, (byte) pos);
+                    final int d = digit.and(after).firstTrue();
+                    final int t = trigger.and(after).firstTrue();
+                    // Lanes before pos end in a non run byte, so the run holding d starts after them.
+                    final int start = d == LANES ? LANES
+                            : other.and(INDEX.compare(VectorOperators.LT, (byte) d)).lastTrue() + 1;
+                    if (t < start) {
+                        return CandidateLocator.window(i + t, i + t + 1);
+                    }
+                    if (d == LANES) {
+                        final int last = other.lastTrue();
+                        if (last < LANES - 1) {
+                            runStart = i + last + 1;
+                            digits = 0;
+                            money = dollarDigit(theBuffer, i + LANES - 1, theTo);
+                        }
+                        break;
+                    }
+                    runStart = i + start;
+                    digits = 0;
+                    money = false;
+                    pos = start;
+                }
+                final VectorMask<Byte> after = INDEX.compare(VectorOperators.GE, (byte) pos);
+                final int end = other.and(after).firstTrue();
+                final VectorMask<Byte> span = after.and(INDEX.compare(VectorOperators.LT, (byte) end));
+                digits += digit.and(span).trueCount();
+                if (!money) {
+                    VectorMask<Byte> dollar = bytes.compare(VectorOperators.EQ, (byte) '$').and(span);
+                    while (!money && dollar.anyTrue()) {
+                        final int k = dollar.firstTrue();
+                        money = dollarDigit(theBuffer, i + k, theTo);
+                        dollar = dollar.and(INDEX.compare(VectorOperators.GT, (byte) k));
+                    }
+                }
+                if (end == LANES) {
+                    break;
+                }
+                if (digits >= MIN_DIGITS || money) {
+                    return CandidateLocator.window(runStart, i + end);
+                }
+                runStart = -1;
+                pos = end;
+            }
+        }
+        // The scalar loop walks an open run again from its start, which it finds qualifying or not the same way.
+        return myTail.next(theBuffer, runStart < 0 ? i : runStart, theTo);
+    }
+
+    /**
+     * @param theBuffer the text.
+     * @param theIndex index of a byte.
+     * @param theTo index to stop at.
+     * @return true if theIndex holds a '$' and the byte after it, before theTo, a digit.
+     */
+    private static boolean dollarDigit(final ByteBuffer theBuffer, final int theIndex, final int theTo) {
+        if (theIndex + 1 >= theTo || theBuffer.get(theIndex) != '$') {
+            return false;
+        }
+        final byte next = theBuffer.get(theIndex + 1);
+        return next >= '0' && next <= '9';
+    }
+}
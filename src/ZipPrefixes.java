@@ -0,0 +1,180 @@
+package RegexApplication.src;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Table of the state each three digit ZIP code prefix belongs to, loaded once
+ * from res/zipPrefixes.txt. Each line of the list is a prefix or an inclusive
+ * range of prefixes followed by a two letter state:
+ *      006-007 PR
+ *      008 VI
+ *
+ * The table is a 1000 entry char array indexed directly by the prefix, each
+ * entry holding the two letters of its state packed into one char, or 0 for an
+ * unassigned prefix. Checking a ZIP against a state is a single array read and
+ * allocates nothing. As with AreaCodes, reload publishes a complete new table
+ * through a volatile field.
+ *
+ * @author Dustin Ray
+ * @version Summer 2021
+ */
+public final class ZipPrefixes {
+
+    /** Name of the bundled prefix list. */
+    private static final String FILE_NAME = "zipPrefixes.txt";
+
+    /** Number of possible three digit prefixes. */
+    private static final int PREFIX_COUNT = 1000;
+
+    /** Packed state of each prefix, null until first use. */
+    private static volatile char[] myStates;
+
+    /** Static helpers only. */
+    private ZipPrefixes() {}
+
+    /**
+     * Checks whether a ZIP code belongs to a state.
+     * @param theInput the text holding both.
+     * @param theStateOffset index of the two letter state.
+     * @param theZipOffset index of the first digit of the ZIP code.
+     * @return true if the first three digits of the ZIP code are a prefix of the state.
+     * @throws FileNotFoundException if the table has not been loaded and the list cannot be found.
+     */
+    public static boolean matches(final CharSequence theInput, final int theStateOffset, final int theZipOffset)
+            throws FileNotFoundException {
+        if (theStateOffset < 0 || theStateOffset + 2 > theInput.length()
+                || theZipOffset < 0 || theZipOffset + 3 > theInput.length()) {
+            return false;
+        }
+        int prefix = 0;
+        for (int i = theZipOffset; i < theZipOffset + 3; i++) {
+            final int digit = theInput.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return false;
+            }
+            prefix = prefix * 10 + digit;
+        }
+        final char state = table()[prefix];
+        return state != 0 && state == pack(theInput.charAt(theStateOffset), theInput.charAt(theStateOffset + 1));
+    }
+
+    /**
+     * @param thePrefix a three digit ZIP code prefix, 0 through 999.
+     * @return the two letter state of thePrefix, or null if it is unassigned.
+     * @throws FileNotFoundException if the table has not been loaded and the list cannot be found.
+     */
+    public static String stateFor(final int thePrefix) throws FileNotFoundException {
+        if (thePrefix < 0 || thePrefix >= PREFIX_COUNT) {
+            return null;
+        }
+        final char state = table()[thePrefix];
+        return state == 0 ? null : new String(new char[] {(char) (state >>> 8), (char) (state & 0xFF)});
+    }
+
+    /**
+     * Reloads the bundled list. Lookups running concurrently keep using the
+     * previous table until the new one is complete.
+     * @throws IOException if the list cannot be read.
+     */
+    public static void reload() throws IOException {
+        try (InputStream in = Resources.open(FILE_NAME)) {
+            myStates = parse(in);
+        }
+    }
+
+    /**
+     * Replaces the table with the prefixes listed in theFile.
+     * @param theFile the list to load, in the format of the bundled list.
+     * @throws IOException if theFile cannot be read.
+     */
+    public static void reload(final Path theFile) throws IOException {
+        try (InputStream in = Files.newInputStream(theFile)) {
+            myStates = parse(in);
+        }
+    }
+
+    /**
+     * @return the current table, loading the bundled list on first use.
+     * @throws FileNotFoundException if the bundled list cannot be found.
+     */
+    private static char[] table() throws FileNotFoundException {
+        char[] states = myStates;
+        if (states == null) {
+            synchronized (ZipPrefixes.class) {
+                states = myStates;
+                if (states == null) {
+                    try (InputStream in = Resources.open(FILE_NAME)) {
+                        states = parse(in);
+                    } catch (FileNotFoundException e) {
+                        throw e;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    myStates = states;
+                }
+            }
+        }
+        return states;
+    }
+
+    /** @return the two letters packed into one char. */
+    private static char pack(final char theFirst, final char theSecond) {
+        return theFirst > 0xFF || theSecond > 0xFF ? 0 : (char) (theFirst << 8 | theSecond);
+    }
+
+    /**
+     * Builds a new table from a prefix list. Blank lines, comments starting
+     * with '#' and lines not of the form "ddd[-ddd] XX" are skipped.
+     * @param theInput the list to read.
+     * @return the populated table.
+     * @throws IOException if theInput cannot be read.
+     */
+    private static char[] parse(final InputStream theInput) throws IOException {
+        final char[] states = new char[PREFIX_COUNT];
+        final BufferedReader reader =
+                new BufferedReader(new InputStreamReader(theInput, StandardCharsets.US_ASCII));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            final int space = line.indexOf(' ');
+            if (line.startsWith("#") || space < 0 || line.length() != space + 3) {
+                continue;
+            }
+            final String range = line.substring(0, space);
+            final int dash = range.indexOf('-');
+            final int first = prefix(dash < 0 ? range : range.substring(0, dash));
+            final int last = dash < 0 ? first : prefix(range.substring(dash + 1));
+            if (first >= 0 && last >= first) {
+                final char state = pack(line.charAt(space + 1), line.charAt(space + 2));
+                for (int p = first; p <= last; p++) {
+                    states[p] = state;
+                }
+            }
+        }
+        return states;
+    }
+
+    /** @return theText as a three digit prefix, or -1 if it is not one. */
+    private static int prefix(final String theText) {
+        if (theText.length() != 3) {
+            return -1;
+        }
+        int prefix = 0;
+        for (int i = 0; i < 3; i++) {
+            final int digit = theText.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            prefix = prefix * 10 + digit;
+        }
+        return prefix;
+    }
+}